@@ -0,0 +1,229 @@
+package com.mygdx.pirategame;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Asset Cache
+ * Shares the textures and sounds of the game between every object using them, so each is loaded from disk once
+ * rather than once per object. Built on an AssetManager, which counts the references to each asset: every get is
+ * matched by a release once the object is done with the asset, and the asset is disposed when nothing references it.
+ * The images of the objects drawn in the game are packed into a texture atlas instead, so the sprite batch draws
+ * them all without switching textures
+ *
+ * @author Dan Wade
+ */
+public final class AssetCache {
+
+    /**
+     * The images packed into the atlas, each region is found by the internal path of its image
+     */
+    public static final String[] ATLAS_IMAGES = {
+            "entity/bolt.png",
+            "entity/cannonBall.png",
+            "entity/coin.png",
+            "entity/gun.png",
+            "entity/heart.png",
+            "entity/ice.png",
+            "entity/magnet.png",
+            "entity/tornado.png",
+            "college/Ships/alcuin_ship.png",
+            "college/Ships/anne_lister_ship.png",
+            "college/Ships/constantine_ship.png",
+            "college/Ships/derwent_ship.png",
+            "college/Ships/enemyShip1.png",
+            "college/Ships/goodricke_ship.png",
+            "college/Ships/player_ship.png",
+            "college/Ships/ship.png",
+            "college/Ships/ship1.png",
+            "college/Ships/unaligned_ship.png",
+            "college/Flags/alcuin_flag.png",
+            "college/Flags/anne_lister_flag.png",
+            "college/Flags/constantine_flag.png",
+            "college/Flags/derwent_flag.png",
+            "college/Flags/goodricke_flag.png",
+            "college/Flags/halifax_flag.png",
+            "college/Flags/james_flag.png",
+            "college/Flags/langwith_flag.png",
+            "college/Flags/vanbrugh_flag.png",
+            "sea_monster/idleSpriteSheet.png",
+            "sea_monster/movingSpriteSheet.png",
+            "sea_monster/waterslash.png",
+            "HealthBar.png"
+    };
+
+    /**
+     * The width and height of each page of the atlas
+     */
+    public static final int ATLAS_PAGE_SIZE = 1024;
+
+    /**
+     * Images wider and taller than this are shrunk until their longest side fits. None of the objects are drawn
+     * anywhere near this size, so the power up and tornado images, over 1000 pixels wide, only lose detail that was
+     * never shown. Long, thin sprite sheets keep their size so they still split into whole frames
+     */
+    public static final int ATLAS_MAX_IMAGE_SIZE = 256;
+
+    /**
+     * The sounds of the objects that come and go throughout a game, held by the game screen while it is open so
+     * they are not unloaded and loaded again each time the last one goes
+     */
+    public static final String[] GAME_SOUNDS = {
+            "sfx_and_music/explosion.wav",
+            "sfx_and_music/coin-pickup.mp3",
+            "sfx_and_music/ship-explosion-2.wav",
+            "sfx_and_music/ship-hit.wav"
+    };
+
+    private static AssetManager manager;
+    private static TextureAtlas atlas;
+
+    private AssetCache() {
+    }
+
+    /**
+     * Get a texture, loading it if it is not already loaded. Must be matched by a release
+     *
+     * @param path The internal path of the texture
+     * @return The texture shared by every object using it
+     */
+    public static Texture getTexture(String path) {
+        return get(path, Texture.class);
+    }
+
+    /**
+     * Get a sound, loading it if it is not already loaded. Must be matched by a release
+     *
+     * @param path The internal path of the sound
+     * @return The sound shared by every object using it
+     */
+    public static Sound getSound(String path) {
+        return get(path, Sound.class);
+    }
+
+    private static synchronized <T> T get(String path, Class<T> type) {
+        if (manager == null) {
+            manager = new AssetManager();
+        }
+        // loading an asset that is already loaded only adds a reference to it
+        manager.load(path, type);
+        manager.finishLoading();
+        return manager.get(path, type);
+    }
+
+    /**
+     * Get the region of the atlas holding an image, packing the atlas if it has not been packed. The atlas is kept
+     * until the cache is disposed so regions are not released
+     *
+     * @param path The internal path of the image, one of ATLAS_IMAGES
+     * @return The region of the image
+     * @throws IllegalArgumentException If the image is not in the atlas
+     */
+    public static synchronized TextureRegion getRegion(String path) {
+        if (atlas == null) {
+            atlas = packAtlas();
+        }
+        TextureRegion region = atlas.findRegion(path);
+        if (region == null) {
+            throw new IllegalArgumentException(path + " is not in the atlas");
+        }
+        return region;
+    }
+
+    /**
+     * @return The atlas, null if it has not been packed
+     */
+    public static synchronized TextureAtlas getAtlas() {
+        return atlas;
+    }
+
+    private static TextureAtlas packAtlas() {
+        // padding the regions and duplicating their borders so filtering never samples a neighbouring image
+        PixmapPacker packer = new PixmapPacker(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, true);
+        for (String path : ATLAS_IMAGES) {
+            Pixmap image = new Pixmap(Gdx.files.internal(path));
+            Pixmap packed = shrink(image);
+            packer.pack(path, packed);
+            if (packed != image) {
+                packed.dispose();
+            }
+            image.dispose();
+        }
+        TextureAtlas packedAtlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        // the pages given textures are kept until their textures are disposed along with the atlas
+        packer.dispose();
+        return packedAtlas;
+    }
+
+    private static Pixmap shrink(Pixmap image) {
+        if (Math.min(image.getWidth(), image.getHeight()) <= ATLAS_MAX_IMAGE_SIZE) {
+            return image;
+        }
+        float scale = (float) ATLAS_MAX_IMAGE_SIZE / Math.max(image.getWidth(), image.getHeight());
+        Pixmap shrunk = new Pixmap(Math.round(image.getWidth() * scale), Math.round(image.getHeight() * scale), Pixmap.Format.RGBA8888);
+        shrunk.setBlending(Pixmap.Blending.None);
+        shrunk.setFilter(Pixmap.Filter.BiLinear);
+        shrunk.drawPixmap(image, 0, 0, image.getWidth(), image.getHeight(), 0, 0, shrunk.getWidth(), shrunk.getHeight());
+        return shrunk;
+    }
+
+    /**
+     * Drop a reference to an asset, disposing the asset once nothing references it
+     *
+     * @param path The internal path of the asset
+     */
+    public static synchronized void release(String path) {
+        if (manager != null && manager.isLoaded(path)) {
+            manager.unload(path);
+        }
+    }
+
+    /**
+     * @param path The internal path of the asset
+     * @return The number of references to the asset, 0 if it is not loaded
+     */
+    public static synchronized int getReferenceCount(String path) {
+        if (manager == null || !manager.isLoaded(path)) {
+            return 0;
+        }
+        return manager.getReferenceCount(path);
+    }
+
+    /**
+     * Add a reference to each of the sounds in GAME_SOUNDS
+     */
+    public static void holdGameAssets() {
+        for (String path : GAME_SOUNDS) {
+            getSound(path);
+        }
+    }
+
+    /**
+     * Drop the references added by holdGameAssets
+     */
+    public static void releaseGameAssets() {
+        for (String path : GAME_SOUNDS) {
+            release(path);
+        }
+    }
+
+    /**
+     * Dispose of every asset however many references it has along with the atlas, used when the game closes
+     */
+    public static synchronized void dispose() {
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.mygdx.pirategame;
 
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.mygdx.pirategame.gameobjects.enemy.Enemy;
 
 /**
@@ -13,12 +13,14 @@ import com.mygdx.pirategame.gameobjects.enemy.Enemy;
  * Displays the health of enemy ships
  * Creates and displays a health bar for entities with health
  *
- *@author Sam Pearson
+ *@author Sam Pearson, Dan Wade
  *@version 1.0
  */
 public class HealthBar {
+    private static final String TEXTURE = "HealthBar.png";
+
     private Sprite healthBar;
-    private Texture image;
+    private TextureRegion image;
 
     private Enemy owner;
 
@@ -30,7 +32,7 @@ public class HealthBar {
      */
     public HealthBar(Enemy owner){
         this.owner = owner;
-        image = new Texture("HealthBar.png");
+        image = AssetCache.getRegion(TEXTURE);
         healthBar = new Sprite(image);
         //Sets size of the health bar
         healthBar.setScale(0.0155f);
@@ -70,4 +72,4 @@ public class HealthBar {
         //Changes bar size when damaged
         healthBar.setSize(healthBar.getWidth() - value, healthBar.getHeight());
     }
-}
\ No newline at end of file
+}
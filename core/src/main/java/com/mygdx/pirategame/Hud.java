@@ -25,6 +25,9 @@ import org.w3c.dom.Element;
  * @version 1.0
  */
 public class Hud implements Disposable {
+    private static final String[] TEXTURES = {"hp.png", "hudBG.png", "entity/coin.png", "entity/magnet.png",
+            "entity/bolt.png", "entity/heart.png", "entity/gun.png", "entity/ice.png"};
+
     public static Stage stage;
     private final Viewport viewport;
 
@@ -84,9 +87,9 @@ public class Hud implements Disposable {
         coins = 0;
         coinMulti = 1;
         //Set images
-        hp = new Texture("hp.png");
-        boxBackground = new Texture("hudBG.png");
-        coinPic = new Texture("entity/coin.png");
+        hp = AssetCache.getTexture(TEXTURES[0]);
+        boxBackground = AssetCache.getTexture(TEXTURES[1]);
+        coinPic = AssetCache.getTexture(TEXTURES[2]);
 
         hpImg = new Image(hp);
         box = new Image(boxBackground);
@@ -133,11 +136,11 @@ public class Hud implements Disposable {
         }
 
         // Set images
-        magnet = new Texture("entity/magnet.png");
-        bolt = new Texture("entity/bolt.png");
-        heart = new Texture("entity/heart.png");
-        gun = new Texture("entity/gun.png");
-        ice = new Texture("entity/ice.png");
+        magnet = AssetCache.getTexture(TEXTURES[3]);
+        bolt = AssetCache.getTexture(TEXTURES[4]);
+        heart = AssetCache.getTexture(TEXTURES[5]);
+        gun = AssetCache.getTexture(TEXTURES[6]);
+        ice = AssetCache.getTexture(TEXTURES[7]);
 
         magnetImg = new Image(magnet);
         boltImg = new Image(bolt);
@@ -508,6 +511,9 @@ public class Hud implements Disposable {
     @Override
     public void dispose() {
         stage.dispose();
+        for (String texture : TEXTURES) {
+            AssetCache.release(texture);
+        }
     }
 }
 
@@ -220,6 +220,7 @@ public class PirateGame extends Game {
 	@Override
 	public void dispose () {
 		batch.dispose();
+		AssetCache.dispose();
 	}
 
 	public boolean isGameRunning() {
@@ -1,12 +1,14 @@
 package com.mygdx.pirategame.gameobjects;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.save.GameScreen;
 
@@ -19,25 +21,62 @@ import com.mygdx.pirategame.save.GameScreen;
  *@author Ethan Alabaster, Marc Perales Salomo, James McNair, Robert Murphy, Dan Wade
  *@version 1.0
  */
-public class CannonFire extends Sprite {
+public class CannonFire extends Sprite implements Pool.Poolable, Disposable {
+    /**
+     * The most cannonballs kept for reuse, the player fires at most a few a second and each lasts under a second
+     */
+    public static final int POOL_SIZE = 16;
+
+    private static final String TEXTURE = "entity/cannonBall.png";
+    private static final String FIRE_SOUND = "sfx_and_music/explosion.wav";
+
     private World world;
     private float stateTime;
     private boolean destroyed;
     private boolean setToDestroy;
     private Body b2body;
     private double angle;
-    private float velocity;
     private Sound fireNoise;
-    private final Texture texture;
+    private final TextureRegion texture;
     private float sourceX, sourceY;
-    private float x, y;
     private Vector2 mouse;
     private float targetX, targetY;
 
     /**
-     * Instantiates cannon fire
+     * Instantiates a cannonball ready to be fired, its body is switched off until it is
+     *
+     * @param world The world the cannonball is fired in
+     */
+    public CannonFire(World world) {
+        this.world = world;
+
+        //set cannonBall dimensions for the texture
+        this.texture = AssetCache.getRegion(TEXTURE);
+        setRegion(texture);
+        setBounds(0, 0, 10 / PirateGame.PPM, 10 / PirateGame.PPM);
+        //set collision bounds
+        defineCannonBall();
+        //set sound for fire
+        fireNoise = AssetCache.getSound(FIRE_SOUND);
+    }
+
+    /**
+     * @param world The world the cannonballs are fired in
+     * @return A pool of cannonballs holding up to POOL_SIZE
+     */
+    public static ProjectilePool<CannonFire> createPool(final World world) {
+        return new ProjectilePool<CannonFire>(POOL_SIZE) {
+            @Override
+            protected CannonFire newObject() {
+                return new CannonFire(world);
+            }
+        };
+    }
+
+    /**
+     * Fires the cannonball
      * Determines general cannonball data
-     * Determines firing sound
+     * Plays the firing sound
      *
      * For assessment 2, the method of firing cannons for the player has changed from using the keyboard to mouse click.
      * Additionally, the cannon now fires in the direction of the mouse, not just from the side of the ship like before.
@@ -48,10 +87,7 @@ public class CannonFire extends Sprite {
      * @param camera game scaling camera
      * @param velocity velocity of the cannonball
      */
-    public CannonFire(GameScreen screen, Body body, OrthographicCamera camera, float velocity) {
-        this.velocity = velocity;
-        this.world = screen.getWorld();
-
+    public void fire(GameScreen screen, Body body, OrthographicCamera camera, float velocity) {
         // Get values of mouse location, scaled to size of screen
         mouse = PirateGame.getScaledMouseLocation(camera);
         targetX = mouse.x;
@@ -61,34 +97,34 @@ public class CannonFire extends Sprite {
         sourceX = camera.viewportWidth /2;
         sourceY = camera.viewportHeight /2;
 
-        // Value of player source used to set where the cannonball comes from
-        x = body.getPosition().x;
-        y = body.getPosition().y;
-
         // Uses a triangle to calculate the new trajectory
         angle = Math.atan2(targetY - sourceY, targetX - sourceX);
 
-        //set cannonBall dimensions for the texture
-        this.texture = new Texture("entity/cannonBall.png");
-        setRegion(texture);
-        setBounds(x, y, 10 / PirateGame.PPM, 10 / PirateGame.PPM);
-        //set collision bounds
-        defineCannonBall();
-        //set sound for fire and play if on
-        fireNoise = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/explosion.wav"));
+        // The cannonball comes from the centre of the source
+        b2body.setTransform(body.getPosition(), 0);
+        b2body.setLinearVelocity(0, 0);
+        b2body.setActive(true);
+
+        float velX = (float) (Math.cos(angle) * velocity);
+        float velY = (float) (Math.sin(angle) * velocity);
+        b2body.applyLinearImpulse(velX, velY, b2body.getWorldCenter().x, b2body.getWorldCenter().y, true);
+        setPosition(b2body.getPosition().x - getWidth() / 2, b2body.getPosition().y - getHeight() / 2);
+
+        //play the fire sound if on
         if (screen.game != null && screen.game.getPreferences().isEffectsEnabled()) {
             fireNoise.play(screen.game.getPreferences().getEffectsVolume());
         }
     }
 
     /**
-     * Defines the existence, direction, shape and size of a cannonball
+     * Defines the existence, shape and size of a cannonball, switched off until fired
      */
     public void defineCannonBall() {
         //sets the body definitions
         BodyDef bDef = new BodyDef();
         bDef.position.set(getX(), getY());
         bDef.type = BodyDef.BodyType.DynamicBody;
+        bDef.active = false;
         b2body = world.createBody(bDef);
 
         //Sets collision boundaries
@@ -103,11 +139,7 @@ public class CannonFire extends Sprite {
         fDef.shape = shape;
         fDef.isSensor = true;
         b2body.createFixture(fDef).setUserData(this);
-
-        float velX = (float) (Math.cos(angle) * velocity);
-        float velY = (float) (Math.sin(angle) * velocity);
-
-        b2body.applyLinearImpulse(new Vector2(velX, velY), b2body.getWorldCenter(), true);
+        shape.dispose();
     }
 
     /**
@@ -121,9 +153,9 @@ public class CannonFire extends Sprite {
         //Update position of ball
         setPosition(b2body.getPosition().x - getWidth() / 2, b2body.getPosition().y - getHeight() / 2);
 
-        //If ball is set to destroy and isn't, destroy it
+        //If ball is set to destroy and isn't, switch its body off until it is fired again
         if((setToDestroy) && !destroyed) {
-            world.destroyBody(b2body);
+            b2body.setActive(false);
             destroyed = true;
         }
         // determines cannonball range
@@ -145,4 +177,24 @@ public class CannonFire extends Sprite {
     public boolean isDestroyed(){
         return destroyed;
     }
+
+    /**
+     * Readies the cannonball to be fired again once it is freed to its pool
+     */
+    @Override
+    public void reset() {
+        b2body.setActive(false);
+        stateTime = 0;
+        setToDestroy = false;
+        destroyed = false;
+    }
+
+    /**
+     * Destroys the body of the cannonball and releases its sound
+     */
+    @Override
+    public void dispose() {
+        world.destroyBody(b2body);
+        AssetCache.release(FIRE_SOUND);
+    }
 }
@@ -1,9 +1,12 @@
 package com.mygdx.pirategame.gameobjects;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.save.GameScreen;
 
@@ -14,70 +17,102 @@ import java.util.Random;
  * Defines college attack method
  * Defines college cannonball projectiles
  *
- *@author Ethan Alabaster, Marc Perales Salomo, Charlie Crosley, Robert Murphy
+ *@author Ethan Alabaster, Marc Perales Salomo, Charlie Crosley, Robert Murphy, Dan Wade
  *@version 1.0
  */
 
-public class CollegeFire extends Sprite {
+public class CollegeFire extends Sprite implements Pool.Poolable, Disposable {
+    /**
+     * The most cannonballs kept for reuse, each college fires one a second and each ship attacking the player a little
+     * more often, each lasting two seconds
+     */
+    public static final int POOL_SIZE = 64;
+
+    private static final String TEXTURE = "entity/cannonBall.png";
+    // adding randomness to cannon firing
+    private static final Random rnd = new Random();
+
     private World world;
-    private Texture cannonBall;
+    private TextureRegion cannonBall;
     private float stateTime;
     private boolean destroyed;
     private boolean setToDestroy;
     private Body b2body;
-    private Vector2 playerPos;
+    private final Vector2 playerPos = new Vector2();
     private float collisionRadius;
+    // custom projectiles turn to face the direction they are fired in
+    private boolean rotates;
 
     /**
-     * Defines player position
-     * Defines cannonballs
+     * Defines cannonballs, switched off until fired
      *
-     * @param screen Visual data
-     * @param x starting x position of projectile
-     * @param y starting y position of projectile
+     * @param world The world the cannonball is fired in
      */
-    public CollegeFire(GameScreen screen, float x, float y) {
-        this.world = screen.getWorld();
-        playerPos = screen.getCenteredPlayerPos();
+    public CollegeFire(World world) {
+        this.world = world;
 
-        cannonBall = new Texture("entity/cannonBall.png");
-        //Set the position and size of the ball
+        cannonBall = AssetCache.getRegion(TEXTURE);
+        //Set the size of the ball
         setRegion(cannonBall);
-        setBounds(x, y, 10 / PirateGame.PPM, 10 / PirateGame.PPM);
+        setBounds(0, 0, 10 / PirateGame.PPM, 10 / PirateGame.PPM);
         collisionRadius = 5;
         defineCannonBall();
     }
 
     /**
-     * Defines player position
-     * Defines custom projectile
+     * Defines custom projectile, switched off until fired
      *
-     * @param screen Visual data
-     * @param texture The texture of the bullet
-     * @param x starting x position of projectile
-     * @param y starting y position of projectile
+     * @param world The world the projectile is fired in
+     * @param texture The image of the bullet
      * @param width width of sprite
      * @param height height of sprite
-     * @param angle angle of sprite
+     * @param collisionRadius radius of the projectile's body
      */
-    public CollegeFire(GameScreen screen, Texture texture, float x, float y, float width, float height, float angle) {
-        this.world = screen.getWorld();
-        playerPos = screen.getCenteredPlayerPos();
+    public CollegeFire(World world, TextureRegion texture, float width, float height, float collisionRadius) {
+        this.world = world;
 
         cannonBall = texture;
-        //Set the position and size of the ball
+        //Set the size of the ball
         setRegion(cannonBall);
-        setBounds(x, y, width / PirateGame.PPM, height / PirateGame.PPM);
-        collisionRadius = 50;
+        setBounds(0, 0, width / PirateGame.PPM, height / PirateGame.PPM);
+        this.collisionRadius = collisionRadius;
+        rotates = true;
         defineCannonBall();
 
         // Set origin to center of sprite
         setOriginCenter();
+    }
+
+    /**
+     * @param world The world the cannonballs are fired in
+     * @return A pool of cannonballs holding up to POOL_SIZE
+     */
+    public static ProjectilePool<CollegeFire> createPool(final World world) {
+        return new ProjectilePool<CollegeFire>(POOL_SIZE) {
+            @Override
+            protected CollegeFire newObject() {
+                return new CollegeFire(world);
+            }
+        };
+    }
 
-        // Rotate projectile to match direction of movement
-        angle = (float) Math.atan2(b2body.getLinearVelocity().y, b2body.getLinearVelocity().x);
-        b2body.setTransform(b2body.getWorldCenter(), angle - ((float) Math.PI) / 2.0f) ;
-        setRotation((float) (b2body.getAngle() * 180 / Math.PI));
+    /**
+     * @param world The world the projectiles are fired in
+     * @param texture The image of the bullet
+     * @param width width of sprite
+     * @param height height of sprite
+     * @param collisionRadius radius of the projectile's body
+     * @param max The most projectiles kept for reuse
+     * @return A pool of custom projectiles
+     */
+    public static ProjectilePool<CollegeFire> createPool(final World world, final TextureRegion texture, final float width,
+                                                        final float height, final float collisionRadius, int max) {
+        return new ProjectilePool<CollegeFire>(max) {
+            @Override
+            protected CollegeFire newObject() {
+                return new CollegeFire(world, texture, width, height, collisionRadius);
+            }
+        };
     }
 
     /**
@@ -89,6 +124,7 @@ public class CollegeFire extends Sprite {
         BodyDef bDef = new BodyDef();
         bDef.position.set(getX(), getY());
         bDef.type = BodyDef.BodyType.DynamicBody;
+        bDef.active = false;
         b2body = world.createBody(bDef);
         MassData mass = new MassData();
         mass.mass = (float) 0.01;
@@ -104,52 +140,26 @@ public class CollegeFire extends Sprite {
 
         fDef.shape = shape;
         b2body.createFixture(fDef).setUserData(this);
-
-        // Math for firing the cannonball at the player
-        playerPos.sub(b2body.getPosition());
-
-        // adding randomness to cannon firing
-        Random rnd = new Random();
-        float rndX = (float) (rnd.nextInt(2) - 1 + rnd.nextDouble());
-        float rndY = (float) (rnd.nextInt(2) - 1 + rnd.nextDouble());
-        playerPos.sub(rndX, rndY);
-
-        playerPos.nor();
-        float speed = 5f;
-        b2body.setLinearVelocity(playerPos.scl(speed));
+        shape.dispose();
     }
 
     /**
-     * Defines water slash data
-     * Defines water slash shape
+     * Fires the projectile at the player
+     *
+     * @param screen Visual data
+     * @param x starting x position of projectile
+     * @param y starting y position of projectile
      */
-    private void defineWaterSlash() {
-    //sets the body definitions
-        BodyDef bDef = new BodyDef();
-        bDef.position.set(getX(), getY());
-        bDef.type = BodyDef.BodyType.DynamicBody;
-        b2body = world.createBody(bDef);
-        MassData mass = new MassData();
-        mass.mass = (float) 0.01;
-        b2body.setMassData(mass);
-        //Sets collision boundaries
-        FixtureDef fDef = new FixtureDef();
-        CircleShape shape = new CircleShape();
-        //Rectangle shape = new Rectangle();
-        shape.setRadius(collisionRadius / PirateGame.PPM);
-        // setting BIT identifier
-        fDef.filter.categoryBits = PirateGame.COLLEGE_FIRE_BIT;
-        // determining what this BIT can collide with
-        fDef.filter.maskBits = PirateGame.PLAYER_BIT;
-
-        fDef.shape = shape;
-        b2body.createFixture(fDef).setUserData(this);
+    public void fire(GameScreen screen, float x, float y) {
+        setPosition(x, y);
+        b2body.setTransform(x, y, 0);
+        b2body.setActive(true);
 
         // Math for firing the cannonball at the player
+        playerPos.set(screen.getCenteredPlayerPos());
         playerPos.sub(b2body.getPosition());
 
         // adding randomness to cannon firing
-        Random rnd = new Random();
         float rndX = (float) (rnd.nextInt(2) - 1 + rnd.nextDouble());
         float rndY = (float) (rnd.nextInt(2) - 1 + rnd.nextDouble());
         playerPos.sub(rndX, rndY);
@@ -157,6 +167,13 @@ public class CollegeFire extends Sprite {
         playerPos.nor();
         float speed = 5f;
         b2body.setLinearVelocity(playerPos.scl(speed));
+
+        if (rotates) {
+            // Rotate projectile to match direction of movement
+            float angle = (float) Math.atan2(b2body.getLinearVelocity().y, b2body.getLinearVelocity().x);
+            b2body.setTransform(b2body.getWorldCenter(), angle - ((float) Math.PI) / 2.0f);
+            setRotation((float) (b2body.getAngle() * 180 / Math.PI));
+        }
     }
 
     /**
@@ -167,11 +184,11 @@ public class CollegeFire extends Sprite {
      */
     public void update(float dt){
         stateTime += dt;
-        //If college is set to destroy and isn't, destroy it
+        //If college is set to destroy and isn't, switch its body off until it is fired again
         setPosition(b2body.getPosition().x - getWidth() / 2, b2body.getPosition().y - getHeight() / 2);
 
         if((setToDestroy) && !destroyed) {
-            world.destroyBody(b2body);
+            b2body.setActive(false);
             destroyed = true;
         }
         // determines cannonball range
@@ -193,4 +210,23 @@ public class CollegeFire extends Sprite {
     public boolean isDestroyed(){
         return destroyed;
     }
+
+    /**
+     * Readies the projectile to be fired again once it is freed to its pool
+     */
+    @Override
+    public void reset() {
+        b2body.setActive(false);
+        stateTime = 0;
+        setToDestroy = false;
+        destroyed = false;
+    }
+
+    /**
+     * Destroys the body of the projectile
+     */
+    @Override
+    public void dispose() {
+        world.destroyBody(b2body);
+    }
 }
@@ -1,15 +1,15 @@
 package com.mygdx.pirategame.gameobjects;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
 import com.mygdx.pirategame.Hud;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.save.GameScreen;
 import org.w3c.dom.Document;
@@ -22,7 +22,7 @@ import org.w3c.dom.Element;
  */
 public class Player extends Sprite {
     private final GameScreen screen;
-    private Texture ship;
+    private TextureRegion ship;
     public World world;
     public Body b2body;
     private Sound breakSound, cannonballHitSound;
@@ -42,7 +42,7 @@ public class Player extends Sprite {
     public Player(GameScreen screen) {
         // Retrieves world data and creates ship texture
         this.screen = screen;
-        ship = new Texture("college/Ships/player_ship.png");
+        ship = AssetCache.getRegion("college/Ships/player_ship.png");
         this.world = screen.getWorld();
 
         // Defines a player, and the players position on screen and world
@@ -52,9 +52,9 @@ public class Player extends Sprite {
         setOrigin(32 / PirateGame.PPM,55 / PirateGame.PPM);
 
         // Sound effect for terrain collision
-        breakSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/wood-bump.mp3"));
+        breakSound = AssetCache.getSound("sfx_and_music/wood-bump.mp3");
         // Sound effect for cannonball hit
-        cannonballHitSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-hit.wav"));
+        cannonballHitSound = AssetCache.getSound("sfx_and_music/ship-hit.wav");
 
         // Sets cannonball array
         cannonBalls = new Array<>();
@@ -95,8 +95,10 @@ public class Player extends Sprite {
         // Updates cannonball data
         for(CannonFire ball : cannonBalls) {
             ball.update(dt);
-            if(ball.isDestroyed())
+            if(ball.isDestroyed()) {
                 cannonBalls.removeValue(ball, true);
+                screen.getCannonFirePool().free(ball);
+            }
         }
 
         if (inTornadoRange) {
@@ -106,7 +108,7 @@ public class Player extends Sprite {
             float sourceX = b2body.getPosition().x;
             float sourceY = b2body.getPosition().y;
 
-            double tornadoDistance = GameScreen.getNearestTornado().getDistance();
+            double tornadoDistance = screen.getNearestTornado().getDistance();
 
             if (tornadoDistance > 7) {
                 Player.inTornadoRange = false;
@@ -202,7 +204,9 @@ public class Player extends Sprite {
     public void fire(OrthographicCamera camera) {
         // Fires cannon if specified delay time has passed
         if (timeFired > GameScreen.getShootingDelay()) {
-            cannonBalls.add(new CannonFire(screen, b2body, camera, cannonVelocity));
+            CannonFire ball = screen.getCannonFirePool().obtain();
+            ball.fire(screen, b2body, camera, cannonVelocity);
+            cannonBalls.add(ball);
             timeFired = 0;
         }
     }
@@ -0,0 +1,38 @@
+package com.mygdx.pirategame.gameobjects;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Projectile Pool
+ * A pool of one type of projectile shared by everything firing it. A projectile freed to the pool keeps its physics
+ * body, switched off, so firing it again re-arms the body rather than creating a new one. Projectiles freed while the
+ * pool is full are disposed of, destroying their body
+ *
+ * @param <T> The type of projectile
+ * @author Dan Wade
+ */
+public abstract class ProjectilePool<T extends Pool.Poolable & Disposable> extends Pool<T> implements Disposable {
+
+    /**
+     * @param max The most projectiles kept for reuse, the most expected in flight at once
+     */
+    public ProjectilePool(int max) {
+        super(max, max);
+    }
+
+    @Override
+    protected void discard(T projectile) {
+        projectile.dispose();
+    }
+
+    /**
+     * Dispose of every projectile in the pool, must be done before the world they are in is disposed
+     */
+    @Override
+    public void dispose() {
+        while (getFree() > 0) {
+            discard(obtain());
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.mygdx.pirategame.gameobjects.enemy;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.utils.Array;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.Hud;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.CollegeFire;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
 import com.mygdx.pirategame.save.GameScreen;
 import com.mygdx.pirategame.world.AvailableSpawn;
 import org.w3c.dom.Document;
@@ -18,6 +21,7 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -31,11 +35,25 @@ import java.util.Random;
  */
 
 public class College extends Enemy {
-    private final Texture enemyCollege;
+    private static final String HIT_SOUND = "sfx_and_music/explode.mp3";
+
+    /**
+     * The number of patrol circuits laid out around each college
+     */
+    public static final int PATROL_CIRCUITS = 2;
+
+    /**
+     * The number of waypoints around each patrol circuit
+     */
+    public static final int PATROL_WAYPOINTS = 8;
+
+    private final TextureRegion enemyCollege;
     public Random rand = new Random();
     public final Array<CollegeFire> cannonBalls;
     private final AvailableSpawn noSpawn;
     public ArrayList<EnemyShip> fleet = new ArrayList<>();
+    // the groups of the fleet that move together, each following its own leader
+    private final List<FleetController> fleets = new ArrayList<>();
     private final Sound cannonballHitSound;
     private final CollegeMetadata collegeMeta;
     private final String flag;
@@ -57,7 +75,7 @@ public class College extends Enemy {
         ship = "college/Ships/" + college + "_ship.png";
 
         noSpawn = invalidSpawn;
-        enemyCollege = new Texture(flag);
+        enemyCollege = AssetCache.getRegion(flag);
         //Set the position and size of the college
         setBounds(0, 0, 64 / PirateGame.PPM, 110 / PirateGame.PPM);
         setRegion(enemyCollege);
@@ -80,9 +98,10 @@ public class College extends Enemy {
             }
             fleet.add(new EnemyShip(screen, ranX, ranY, ship, collegeMeta));
         }
+        assignPatrolCircuits();
 
         // explosion sound effect
-        cannonballHitSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/explode.mp3"));
+        cannonballHitSound = AssetCache.getSound(HIT_SOUND);
     }
 
     /**
@@ -103,7 +122,7 @@ public class College extends Enemy {
         ship = "college/Ships/" + college + "_ship.png";
 
         noSpawn = invalidSpawn;
-        enemyCollege = new Texture(flag);
+        enemyCollege = AssetCache.getRegion(flag);
         //Set the position and size of the college
         setBounds(0, 0, 64 / PirateGame.PPM, 110 / PirateGame.PPM);
         setRegion(enemyCollege);
@@ -116,9 +135,39 @@ public class College extends Enemy {
         for (int i = 0; i < shipList.getLength(); i++) {
             fleet.add(new EnemyShip(screen, ship, ((Element) shipList.item(i)), collegeMeta));
         }
+        assignPatrolCircuits();
 
         // explosion sound effect
-        cannonballHitSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/explode.mp3"));
+        cannonballHitSound = AssetCache.getSound(HIT_SOUND);
+    }
+
+    /**
+     * Split the fleet between the patrol circuits laid out around the college, the ships take turns between the
+     * circuits. Each group of ships moves as one fleet, with only its leader patrolling the circuit and planning paths.
+     * If no circuits can be laid out the whole fleet follows a single leader patrolling random destinations
+     */
+    private void assignPatrolCircuits() {
+        PathFinder pathFinder = screen.getPathFinder();
+        if (pathFinder == null || fleet.isEmpty()) {
+            return;
+        }
+        float size = EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET;
+        List<PatrolCircuit> circuits = new ArrayList<>();
+        for (int i = 0; i < PATROL_CIRCUITS; i++) {
+            PatrolCircuit circuit = pathFinder.createPatrolCircuit(size, size, collegeMeta.getX() * PirateGame.PPM, collegeMeta.getY() * PirateGame.PPM,
+                    PatrolPath.PATROL_RANGE * 0.8f * (i + 1) / PATROL_CIRCUITS, PATROL_WAYPOINTS, rand);
+            if (circuit != null) {
+                circuits.add(circuit);
+            }
+        }
+        int groups = Math.max(1, circuits.size());
+        for (int group = 0; group < groups && group < fleet.size(); group++) {
+            List<EnemyShip> ships = new ArrayList<>();
+            for (int i = group; i < fleet.size(); i += groups) {
+                ships.add(fleet.get(i));
+            }
+            fleets.add(new FleetController(screen, ships, circuits.isEmpty() ? null : circuits.get(group)));
+        }
     }
 
     /**
@@ -149,6 +198,7 @@ public class College extends Enemy {
         if (setToDestroy && !destroyed) {
             world.destroyBody(b2body);
             destroyed = true;
+            AssetCache.release(HIT_SOUND);
 
             //If it is the player ally college, end the game for the player
             if (collegeMeta == CollegeMetadata.ALCUIN) {
@@ -171,11 +221,16 @@ public class College extends Enemy {
         if (health <= 0) {
             setToDestroy = true;
         }
+        for (FleetController group : fleets) {
+            group.update();
+        }
         //Update cannon balls
         for (CollegeFire ball : cannonBalls) {
             ball.update(dt);
-            if (ball.isDestroyed())
+            if (ball.isDestroyed()) {
                 cannonBalls.removeValue(ball, true);
+                screen.getCollegeFirePool().free(ball);
+            }
         }
     }
 
@@ -257,7 +312,16 @@ public class College extends Enemy {
      * Fires cannonballs
      */
     public void fire() {
-        cannonBalls.add(new CollegeFire(screen, b2body.getPosition().x, b2body.getPosition().y));
+        CollegeFire ball = screen.getCollegeFirePool().obtain();
+        ball.fire(screen, b2body.getPosition().x, b2body.getPosition().y);
+        cannonBalls.add(ball);
+    }
+
+    /**
+     * @return The groups of the fleet that move together
+     */
+    public List<FleetController> getFleets() {
+        return fleets;
     }
 
     /**
@@ -36,6 +36,13 @@ public enum CollegeMetadata {
         throw new Error("Invalid college ID provided");
     }
 
+    /**
+     * @return The college controlled by the player
+     */
+    public static CollegeMetadata getPlayerCollege() {
+        return ALCUIN;
+    }
+
     private final int collegeID;
     private final String filePath;
     private final float x;
@@ -111,7 +118,7 @@ public enum CollegeMetadata {
      * @return If this college is controlled by the player
      */
     public boolean isPlayer() {
-        return this == ALCUIN;
+        return this == getPlayerCollege();
     }
 }
 
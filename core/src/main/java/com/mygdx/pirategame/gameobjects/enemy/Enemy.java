@@ -78,6 +78,14 @@ public abstract class Enemy extends Sprite {
      */
     public abstract void onContactOther();
 
+    /**
+     * Method for handling contact with another enemy, handled the same as any other contact unless overridden
+     * @param other The enemy that was hit
+     */
+    public void onContactOther(Enemy other) {
+        onContactOther();
+    }
+
     /**
      * Method for handling enemy updates
      * @param dt Time since last update
@@ -3,20 +3,29 @@ package com.mygdx.pirategame.gameobjects.enemy;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.utils.Array;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.DebugUtils;
 import com.mygdx.pirategame.Hud;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.CollegeFire;
-import com.mygdx.pirategame.pathfinding.Checkpoint;
+import com.mygdx.pirategame.pathfinding.AvoidanceAgent;
+import com.mygdx.pirategame.pathfinding.DStarLite;
+import com.mygdx.pirategame.pathfinding.LocalAvoidance;
 import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.PathTelemetry;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.pathfinding.pathManager.AttackPath;
+import com.mygdx.pirategame.pathfinding.pathManager.FollowPath;
 import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
 import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
 import com.mygdx.pirategame.pathfinding.pathManager.RandomPath;
@@ -24,9 +33,6 @@ import com.mygdx.pirategame.save.GameScreen;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Enemy Ship
  * Generates enemy ship data
@@ -35,14 +41,16 @@ import java.util.List;
  * @author Ethan Alabaster, Sam Pearson, Edward Poulter, James McNair, Marc Perales Salomo, Charlie Crosley, Robert Murphy, Dan Wade
  * @version 1.0
  */
-public class EnemyShip extends Enemy {
+public class EnemyShip extends Enemy implements AvoidanceAgent, PathTelemetry.Requester {
 
     public static final int COLLISIONRADIUS = 55;
     public static final int COLLISIONOFFSET = 15;
+    private static final String DESTROY_SOUND = "sfx_and_music/ship-explosion-2.wav";
+    private static final String HIT_SOUND = "sfx_and_music/ship-hit.wav";
     public static boolean movement = true;
     public static boolean fire = true;
 
-    private Texture enemyShip;
+    private TextureRegion enemyShip;
     public CollegeMetadata collegeMeta;
     private final Sound destroy;
     private final Sound hit;
@@ -55,7 +63,20 @@ public class EnemyShip extends Enemy {
      */
     private int updateDelay = 0;
 
-    public List<Checkpoint> path;
+    public TilePath path;
+    // the velocity towards the tile being headed to
+    private final Vector2 velocity = new Vector2();
+
+    // repairs the path around other objects the ship runs into, created on the first collision
+    private DStarLite replanner;
+
+    // receives paths requested from the path request service
+    private final PathRequestService.Listener pathListener = new PathRequestService.Listener() {
+        @Override
+        public void onPathFound(TilePath newPath) {
+            setPath(newPath);
+        }
+    };
 
     /**
      * Instantiates enemy ship
@@ -68,12 +89,12 @@ public class EnemyShip extends Enemy {
      */
     public EnemyShip(GameScreen screen, float x, float y, String path, CollegeMetadata collegeMeta) {
         super(screen, x, y);
-        enemyShip = new Texture(path);
+        enemyShip = AssetCache.getRegion(path);
         //Assign college
         this.collegeMeta = collegeMeta;
         //Set audios
-        destroy = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-explosion-2.wav"));
-        hit = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-hit.wav"));
+        destroy = AssetCache.getSound(DESTROY_SOUND);
+        hit = AssetCache.getSound(HIT_SOUND);
 
         cannonBalls = new Array<>();
         //Set the position and size of the college
@@ -100,12 +121,12 @@ public class EnemyShip extends Enemy {
      */
     public EnemyShip(GameScreen screen, String path, Element element, CollegeMetadata collegeMeta){
         super(screen, element);
-        enemyShip = new Texture(path);
+        enemyShip = AssetCache.getRegion(path);
         //Assign college
         this.collegeMeta = collegeMeta;
         //Set audios
-        destroy = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-explosion-2.wav"));
-        hit = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-hit.wav"));
+        destroy = AssetCache.getSound(DESTROY_SOUND);
+        hit = AssetCache.getSound(HIT_SOUND);
 
         cannonBalls = new Array<>();
         //Set the position and size of the college
@@ -127,19 +148,92 @@ public class EnemyShip extends Enemy {
      * Used to generate a new path from the current location to a random point on the map
      */
     public void generateNewPath() {
+        if (pathManager instanceof FollowPath && ((FollowPath) pathManager).canSteer()) {
+            // the ship steers after its leader without a path
+            return;
+        }
+
+        float x = b2body.getPosition().x * PirateGame.PPM;
+        float y = b2body.getPosition().y * PirateGame.PPM;
+        if (pathManager instanceof AttackPath) {
+            // attackers follow the flow field towards the player rather than each searching for a path
+            TilePath flowPath = ((AttackPath) pathManager).followFlowField(x, y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+            if (flowPath != null) {
+                cancelPathRequest();
+                setPath(flowPath);
+                return;
+            }
+        }
+
+        PathFinder pathFinder = screen.getPathFinder();
+        if (pathManager instanceof PatrolPath) {
+            // once the ship has joined its patrol circuit it travels laps of it without searching
+            TilePath lap = ((PatrolPath) pathManager).followCircuit(x, y);
+            if (lap != null) {
+                cancelPathRequest();
+                if (pathFinder.getReservationTable() != null) {
+                    pathFinder.getReservationTable().reserve(this, lap.toArray());
+                }
+                setPath(lap);
+                return;
+            }
+        }
 
         Vector2 destination = pathManager.generateDestination();
         if (destination == null) {
             // destination will be regenerated next update
             return;
         }
-        path = screen.getPathFinder().getPath((b2body.getPosition().x * PirateGame.PPM), (b2body.getPosition().y * PirateGame.PPM), destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+        // ships of a fleet plan one after another around the tiles the rest of the fleet has reserved
+        boolean cooperative = collegeMeta != null && pathFinder.getReservationTable() != null;
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            // the ship keeps its current heading until the path arrives
+            if (cooperative) {
+                pathRequests.requestCooperative(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathListener);
+            } else {
+                pathRequests.request(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathListener, pathManager.shouldSmoothPath());
+            }
+            return;
+        }
+        if (cooperative) {
+            setPath(pathFinder.findCooperativePath(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET));
+            return;
+        }
+        setPath(pathFinder.findPath(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathManager.shouldSmoothPath()));
+    }
+
+    /**
+     * Follow a newly found path
+     *
+     * @param newPath The path found, null if no path could be found
+     */
+    private void setPath(TilePath newPath) {
+        path = newPath;
         if (path != null && path.size() > 1) {
             // removing the start node from the path as ship is already at it
-            path.remove(0);
+            path.advance();
+        }
+    }
+
+    /**
+     * Cancel any path still being searched for
+     */
+    private void cancelPathRequest() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            pathRequests.cancel(this);
         }
     }
 
+    /**
+     * @return If a path has been requested and is still being searched for
+     */
+    private boolean isPathPending() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        return pathRequests != null && pathRequests.isPending(this);
+    }
+
     /**
      * Updates the state of each object with delta time
      * Checks for ship destruction
@@ -150,8 +244,10 @@ public class EnemyShip extends Enemy {
         //Update cannon balls
         for(CollegeFire ball : cannonBalls) {
             ball.update(dt);
-            if(ball.isDestroyed())
+            if(ball.isDestroyed()) {
                 cannonBalls.removeValue(ball, true);
+                screen.getCollegeFirePool().free(ball);
+            }
         }
 
         //If ship is set to destroy and isn't, destroy it
@@ -166,6 +262,9 @@ public class EnemyShip extends Enemy {
             }
             world.destroyBody(b2body);
             destroyed = true;
+            // the rest of the fleet can use the tiles the ship had reserved
+            screen.getPathFinder().releaseReservations(this);
+            releaseAssets();
             //Change player coins and points
             Hud.changePoints(20);
             Hud.changeCoins(10);
@@ -195,28 +294,63 @@ public class EnemyShip extends Enemy {
         // updating the pathing manager
         pathManager.update(dt);
 
+        final float speed;
+        if (movement) {
+            speed = 100f * dt;
+        } else {
+            speed = 0;
+        }
+
+        if (pathManager instanceof FollowPath) {
+            Vector2 steering = ((FollowPath) pathManager).steer(speed);
+            if (steering != null) {
+                // keeping formation with the leader, any path taken to get around land is no longer needed
+                if (path != null && !path.isEmpty()) {
+                    cancelPathRequest();
+                    screen.getPathFinder().releaseReservations(this);
+                    path = TilePath.EMPTY;
+                }
+                b2body.setLinearVelocity(avoid(steering, speed * FollowPath.CATCH_UP, dt));
+                return;
+            }
+        }
+
         if (path == null || path.isEmpty()) {
-            generateNewPath();
+            if (!isPathPending()) {
+                generateNewPath();
+            }
             return;
         }
 
-        Checkpoint cp = path.get(0);
+        // read before moving on, so the tile is still headed towards this update
+        float targetX = path.getX();
+        float targetY = path.getY();
 
-        if (cp.getVector2().dst(b2body.getPosition().scl(PirateGame.PPM)) < PirateGame.PPM / 2) {
-            path.remove(cp);
+        if (Vector2.dst(targetX, targetY, b2body.getPosition().x * PirateGame.PPM, b2body.getPosition().y * PirateGame.PPM) < PirateGame.PPM / 2) {
+            path.advance();
             if (path.isEmpty()) {
                 generateNewPath();
             }
         }
 
-        final float speed;
-        if (movement) {
-            speed = 100f * dt;
-        } else {
-            speed = 0;
+        Vector2 v = travelToCheckpoint(speed, targetX, targetY);
+        b2body.setLinearVelocity(avoid(v, speed, dt));
+    }
+
+    /**
+     * Steers the velocity around the ships, monsters and tornadoes nearby
+     *
+     * @param velocity The velocity the ship wants, adjusted in place
+     * @param maxSpeed The fastest the ship can travel
+     * @param dt       The delta time of the update
+     * @return The velocity to apply to the ship
+     */
+    private Vector2 avoid(Vector2 velocity, float maxSpeed, float dt) {
+        LocalAvoidance avoidance = screen.getLocalAvoidance();
+        if (avoidance == null) {
+            return velocity;
         }
-        Vector2 v = travelToCheckpoint(speed, cp);
-        b2body.setLinearVelocity(v);
+        return avoidance.avoid(this, velocity, maxSpeed, dt);
     }
 
     @Override
@@ -228,13 +362,13 @@ public class EnemyShip extends Enemy {
      * Used
      *
      * @param maxDistance The max distance that can be travelled
-     * @param cp          The checkpoint to travel towards
+     * @param x           The x coord of the tile to travel towards
+     * @param y           The y coord of the tile to travel towards
      * @return The vector that needs to be applied to travel towards the checkpoint
      */
-    private Vector2 travelToCheckpoint(float maxDistance, Checkpoint cp) {
-        Vector2 v = new Vector2(cp.x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, cp.y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2);
-
-        return v.limit(maxDistance);
+    private Vector2 travelToCheckpoint(float maxDistance, float x, float y) {
+        // the same vector is reused every update, the velocity is copied out of it when set
+        return velocity.set(x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2).limit(maxDistance);
     }
 
     /**
@@ -266,8 +400,8 @@ public class EnemyShip extends Enemy {
 
                 for (int i = 0; i < path.size() - 1; i++) {
 
-                    DebugUtils.drawDebugLine(path.get(i).getVector2().scl(1 / PirateGame.PPM), path.get(i + 1).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), Color.RED);
-                    DebugUtils.drawDebugDot(path.get(i).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), dotColor);
+                    DebugUtils.drawDebugLine(path.getCheckpoint(i).getVector2().scl(1 / PirateGame.PPM), path.getCheckpoint(i + 1).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), Color.RED);
+                    DebugUtils.drawDebugDot(path.getCheckpoint(i).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), dotColor);
                 }
                 batch.begin();
             }
@@ -326,6 +460,47 @@ public class EnemyShip extends Enemy {
         generateNewPath();
     }
 
+    /**
+     * Called when the ship collides with another enemy, the path is repaired around the other enemy
+     *
+     * @param other The enemy that was hit
+     */
+    @Override
+    public void onContactOther(Enemy other) {
+        updateDelay = 50;
+        repairPath(other.b2body.getPosition().x * PirateGame.PPM, other.b2body.getPosition().y * PirateGame.PPM,
+                Math.max(other.getWidth(), other.getHeight()) * PirateGame.PPM);
+    }
+
+    /**
+     * Repair the current path around an obstacle, rejoining it a few tiles past the obstacle (see PathFinder.repairPath),
+     * a new path is generated if there is no path to repair or the way round is too long to repair
+     *
+     * @param obstacleX    the x location of the centre of the obstacle
+     * @param obstacleY    the y location of the centre of the obstacle
+     * @param obstacleSize The size of the obstacle
+     */
+    private void repairPath(float obstacleX, float obstacleY, float obstacleSize) {
+        if (path == null || path.isEmpty()) {
+            generateNewPath();
+            return;
+        }
+        PathFinder pathFinder = screen.getPathFinder();
+        if (replanner == null) {
+            replanner = pathFinder.createReplanner(COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+        }
+        if (!pathFinder.repairPath(replanner, path, b2body.getPosition().x * PirateGame.PPM, b2body.getPosition().y * PirateGame.PPM,
+                obstacleX, obstacleY, obstacleSize, COLLISIONRADIUS + COLLISIONOFFSET, pathManager.shouldSmoothPath())) {
+            generateNewPath();
+            return;
+        }
+        cancelPathRequest();
+        if (collegeMeta != null && pathFinder.getReservationTable() != null) {
+            // the rest of the fleet plans around the repaired path rather than the one the ship has left
+            pathFinder.getReservationTable().reserve(this, path.toArray());
+        }
+    }
+
     /**
      * Updates the ship image. Particularly change texture on college destruction
      *
@@ -334,17 +509,25 @@ public class EnemyShip extends Enemy {
      */
     public void updateTexture(Integer alignment, String path) {
         collegeMeta = CollegeMetadata.getCollegeMetaFromId(alignment);
-        enemyShip = new Texture(path);
+        enemyShip = AssetCache.getRegion(path);
         setRegion(enemyShip);
     }
 
+    /**
+     * Releases the sounds of the ship once it is destroyed
+     */
+    private void releaseAssets() {
+        AssetCache.release(DESTROY_SOUND);
+        AssetCache.release(HIT_SOUND);
+    }
+
     /**
      * Checks if the ship should pathfind or just sit still (used to reduce needless load)
      *
      * @return If the ship is in range of the player
      */
     public boolean inPlayerRange() {
-        return screen.getPlayerPos().dst(b2body.getPosition()) < 30;
+        return screen.inPlayerRange(this, b2body.getPosition(), 30);
     }
 
     /**
@@ -364,15 +547,54 @@ public class EnemyShip extends Enemy {
      */
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
+        // any path still being searched for was requested by the old manager
+        cancelPathRequest();
         // dumping old path
-        path = new ArrayList<>();
+        path = TilePath.EMPTY;
         generateNewPath();
     }
 
+    /**
+     * @return The current pathing manager for the ship
+     */
+    @Override
+    public PathManager getPathManager() {
+        return pathManager;
+    }
+
+    /**
+     * Used to set the loop the ship patrols, the ship keeps the loop while attacking and returns to it afterwards
+     * @param circuit The loop shared by the fleet
+     * @param offset  The offset the ship joins the loop at
+     */
+    public void setPatrolCircuit(PatrolCircuit circuit, int offset) {
+        if (pathManager instanceof PatrolPath) {
+            ((PatrolPath) pathManager).setCircuit(circuit, offset);
+        }
+    }
+
     /**
      * Fires cannonballs
      */
     public void fire() {
-        cannonBalls.add(new CollegeFire(screen, b2body.getPosition().x, b2body.getPosition().y));
+        CollegeFire ball = screen.getCollegeFirePool().obtain();
+        ball.fire(screen, b2body.getPosition().x, b2body.getPosition().y);
+        cannonBalls.add(ball);
+    }
+
+    /**
+     * @return The body of the ship, null once the ship is destroyed
+     */
+    @Override
+    public Body getBody() {
+        return destroyed ? null : b2body;
+    }
+
+    /**
+     * @return The radius of the ship in world units
+     */
+    @Override
+    public float getAvoidanceRadius() {
+        return COLLISIONRADIUS / PirateGame.PPM;
     }
 }
@@ -0,0 +1,127 @@
+package com.mygdx.pirategame.gameobjects.enemy;
+
+import com.mygdx.pirategame.PirateGame;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.pathManager.AttackPath;
+import com.mygdx.pirategame.pathfinding.pathManager.FollowPath;
+import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
+import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
+import com.mygdx.pirategame.save.GameScreen;
+
+import java.util.List;
+
+/**
+ * Fleet Controller
+ * Moves a group of college ships as one fleet. Only the leader patrols and plans paths,
+ * the rest of the fleet follow it in formation (see FollowPath)
+ *
+ * @author Dan Wade
+ */
+public class FleetController {
+
+    private final GameScreen screen;
+    private final List<EnemyShip> ships;
+    private final PatrolCircuit circuit;
+    private EnemyShip leader;
+
+    /**
+     * @param screen  Visual data
+     * @param ships   The ships of the fleet, the first ship still afloat leads
+     * @param circuit The loop the leader patrols, null to patrol random destinations
+     */
+    public FleetController(GameScreen screen, List<EnemyShip> ships, PatrolCircuit circuit) {
+        this.screen = screen;
+        this.ships = ships;
+        this.circuit = circuit;
+        chooseLeader();
+    }
+
+    /**
+     * Hands the lead to the next ship once the leader is sunk
+     */
+    public void update() {
+        if (leader != null && (leader.destroyed || leader.setToDestroy)) {
+            chooseLeader();
+        }
+    }
+
+    /**
+     * Make the first ship still afloat the leader and line the rest up behind it. Ships attacking the player carry on
+     * attacking and take up their new place in the fleet once the attack ends
+     */
+    private void chooseLeader() {
+        leader = null;
+        int slot = 0;
+        for (EnemyShip ship : ships) {
+            if (ship.destroyed || ship.setToDestroy) {
+                continue;
+            }
+            PathManager role = getRole(ship);
+            if (leader == null) {
+                leader = ship;
+                PatrolPath patrol = role instanceof PatrolPath ? (PatrolPath) role : new PatrolPath(ship, screen);
+                setRole(ship, patrol);
+                if (circuit != null) {
+                    // joining the circuit at the point closest to where the ship takes the lead
+                    int tile = screen.getPathFinder().getTile(ship.b2body.getPosition().x * PirateGame.PPM, ship.b2body.getPosition().y * PirateGame.PPM);
+                    patrol.setCircuit(circuit, tile == -1 ? 0 : circuit.getNearestOffset(tile));
+                }
+            } else if (role instanceof FollowPath) {
+                ((FollowPath) role).setSlot(slot++);
+            } else {
+                setRole(ship, new FollowPath(ship, screen, this, slot++));
+            }
+        }
+    }
+
+    /**
+     * @param ship The ship
+     * @return The pathing manager of the ship, or the one it returns to if it is attacking
+     */
+    private static PathManager getRole(EnemyShip ship) {
+        PathManager pathManager = ship.getPathManager();
+        if (pathManager instanceof AttackPath) {
+            return ((AttackPath) pathManager).getPreviousPath();
+        }
+        return pathManager;
+    }
+
+    /**
+     * Give a ship its place in the fleet, a ship attacking the player takes it up once the attack ends
+     *
+     * @param ship The ship
+     * @param role The pathing manager for its place in the fleet
+     */
+    private static void setRole(EnemyShip ship, PathManager role) {
+        PathManager pathManager = ship.getPathManager();
+        if (pathManager == role) {
+            return;
+        }
+        if (pathManager instanceof AttackPath) {
+            ((AttackPath) pathManager).setPreviousPath(role);
+        } else {
+            ship.setPathManager(role);
+        }
+    }
+
+    /**
+     * @return The ship the rest of the fleet follows, null once every ship is sunk
+     */
+    public EnemyShip getLeader() {
+        return leader;
+    }
+
+    /**
+     * @return The ships of the fleet
+     */
+    public List<EnemyShip> getShips() {
+        return ships;
+    }
+
+    /**
+     * @return The loop the leader patrols, null if it patrols random destinations
+     */
+    public PatrolCircuit getCircuit() {
+        return circuit;
+    }
+}
@@ -3,21 +3,29 @@ package com.mygdx.pirategame.gameobjects.enemy;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.DebugUtils;
 import com.mygdx.pirategame.Hud;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.CollegeFire;
-import com.mygdx.pirategame.pathfinding.Checkpoint;
+import com.mygdx.pirategame.gameobjects.ProjectilePool;
+import com.mygdx.pirategame.pathfinding.AvoidanceAgent;
+import com.mygdx.pirategame.pathfinding.DStarLite;
+import com.mygdx.pirategame.pathfinding.LocalAvoidance;
 import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.PathTelemetry;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.pathfinding.pathManager.AttackPath;
 import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
 import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
@@ -25,17 +33,24 @@ import com.mygdx.pirategame.save.GameScreen;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Class to control the functionality of the sea monster
  * @author Charlie Crosley, James McNair, Dan Wade
  */
-public class SeaMonster extends Enemy {
+public class SeaMonster extends Enemy implements AvoidanceAgent, PathTelemetry.Requester {
 
     public static final int COLLISIONRADIUS = 100;
     public static final int COLLISIONOFFSET = 30;
+    /**
+     * The most water slashes kept for reuse, each sea monster attacking the player fires one a little under every
+     * second, each lasting two seconds
+     */
+    public static final int PROJECTILE_POOL_SIZE = 16;
+    private static final String DESTROY_SOUND = "sfx_and_music/ship-explosion-2.wav";
+    private static final String HIT_SOUND = "sfx_and_music/ship-hit.wav";
+    private static final String WATER_SLASH_TEXTURE = "sea_monster/waterslash.png";
+    private static final String IDLE_TEXTURE = "sea_monster/idleSpriteSheet.png";
+    private static final String MOVING_TEXTURE = "sea_monster/movingSpriteSheet.png";
     public boolean movement = false;
     public boolean fire = true;
     float angle;
@@ -43,7 +58,6 @@ public class SeaMonster extends Enemy {
     private static Sound destroy;
     private static Sound hit;
     private Array<CollegeFire> projectiles;
-    private static Texture waterSlashTexture;
 
     public PathManager pathManager = null;
 
@@ -52,7 +66,20 @@ public class SeaMonster extends Enemy {
      */
     private int updateDelay = 0;
 
-    public List<Checkpoint> path;
+    public TilePath path;
+    // the velocity towards the tile being headed to
+    private final Vector2 velocity = new Vector2();
+
+    // repairs the path around other objects the sea monster runs into, created on the first collision
+    private DStarLite replanner;
+
+    // receives paths requested from the path request service
+    private final PathRequestService.Listener pathListener = new PathRequestService.Listener() {
+        @Override
+        public void onPathFound(TilePath newPath) {
+            setPath(newPath);
+        }
+    };
 
     /**
      * Instantiates the sea monster enemy
@@ -64,11 +91,10 @@ public class SeaMonster extends Enemy {
     public SeaMonster(GameScreen screen, float x, float y) {
         super(screen, x, y);
         //Set audios
-        destroy = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-explosion-2.wav"));
-        hit = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-hit.wav"));
+        destroy = AssetCache.getSound(DESTROY_SOUND);
+        hit = AssetCache.getSound(HIT_SOUND);
 
         projectiles = new Array<>();
-        waterSlashTexture = new Texture(Gdx.files.internal("sea_monster/waterslash.png"));
 
         // use idle animation by default
         loadAnimation();
@@ -90,11 +116,10 @@ public class SeaMonster extends Enemy {
         super(screen, element);
 
         //Set audios
-        destroy = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-explosion-2.wav"));
-        hit = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/ship-hit.wav"));
+        destroy = AssetCache.getSound(DESTROY_SOUND);
+        hit = AssetCache.getSound(HIT_SOUND);
 
         projectiles = new Array<>();
-        waterSlashTexture = new Texture(Gdx.files.internal("sea_monster/waterslash.png"));
 
         // use idle animation by default
         loadAnimation();
@@ -116,16 +141,24 @@ public class SeaMonster extends Enemy {
     private float state_time = 0f;
 
     /**
-     * Handle animation of sea monster
+     * @param world The world the water slashes are fired in
+     * @return A pool of the water slashes sea monsters fire, holding up to PROJECTILE_POOL_SIZE
+     */
+    public static ProjectilePool<CollegeFire> createProjectilePool(World world) {
+        return CollegeFire.createPool(world, AssetCache.getRegion(WATER_SLASH_TEXTURE), 120, 120, 50, PROJECTILE_POOL_SIZE);
+    }
+
+    /**
+     * Handle animation of sea monster, splits each sprite sheet in the atlas into its frames
      */
     public static void loadAnimation() {
         int idleCols = 7;
         int movingCols = 8;
-        Texture idleSpriteSheet = new Texture(Gdx.files.internal("sea_monster/idleSpriteSheet.png"));
-        Texture movingSpriteSheet =new Texture(Gdx.files.internal("sea_monster/movingSpriteSheet.png"));
+        TextureRegion idleSpriteSheet = AssetCache.getRegion(IDLE_TEXTURE);
+        TextureRegion movingSpriteSheet = AssetCache.getRegion(MOVING_TEXTURE);
 
-        TextureRegion[][] idleTmp = TextureRegion.split(idleSpriteSheet, idleSpriteSheet.getWidth()/idleCols, idleSpriteSheet.getHeight());
-        TextureRegion[][] movingTmp = TextureRegion.split(movingSpriteSheet, movingSpriteSheet.getWidth()/movingCols, movingSpriteSheet.getHeight());
+        TextureRegion[][] idleTmp = idleSpriteSheet.split(idleSpriteSheet.getRegionWidth()/idleCols, idleSpriteSheet.getRegionHeight());
+        TextureRegion[][] movingTmp = movingSpriteSheet.split(movingSpriteSheet.getRegionWidth()/movingCols, movingSpriteSheet.getRegionHeight());
 
         TextureRegion[] idle_animation_frames = new TextureRegion[idleCols];
         TextureRegion[] moving_animation_frames = new TextureRegion[movingCols];
@@ -151,18 +184,63 @@ public class SeaMonster extends Enemy {
      */
     public void generateNewPath() {
 
+        float x = b2body.getPosition().x * PirateGame.PPM;
+        float y = b2body.getPosition().y * PirateGame.PPM;
+        if (pathManager instanceof AttackPath) {
+            // attackers follow the flow field towards the player rather than each searching for a path
+            TilePath flowPath = ((AttackPath) pathManager).followFlowField(x, y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+            if (flowPath != null) {
+                cancelPathRequest();
+                setPath(flowPath);
+                return;
+            }
+        }
+
         Vector2 destination = pathManager.generateDestination();
         if (destination == null) {
             // destination will be regenerated next update
             return;
         }
-        path = screen.getPathFinder().getPath((b2body.getPosition().x * PirateGame.PPM), (b2body.getPosition().y * PirateGame.PPM), destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            // the sea monster keeps its current heading until the path arrives
+            pathRequests.request(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathListener, pathManager.shouldSmoothPath());
+            return;
+        }
+        setPath(screen.getPathFinder().findPath(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathManager.shouldSmoothPath()));
+    }
+
+    /**
+     * Follow a newly found path
+     *
+     * @param newPath The path found, null if no path could be found
+     */
+    private void setPath(TilePath newPath) {
+        path = newPath;
         if (path != null && path.size() > 1) {
             // removing the start node from the path as ship is already at it
-            path.remove(0);
+            path.advance();
         }
     }
 
+    /**
+     * Cancel any path still being searched for
+     */
+    private void cancelPathRequest() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            pathRequests.cancel(this);
+        }
+    }
+
+    /**
+     * @return If a path has been requested and is still being searched for
+     */
+    private boolean isPathPending() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        return pathRequests != null && pathRequests.isPending(this);
+    }
+
     /**
      * Defines characteristics of Sea Monster
      */
@@ -212,13 +290,53 @@ public class SeaMonster extends Enemy {
         if (pathManager != null) generateNewPath();
     }
 
+    /**
+     * Called when the sea monster collides with another enemy, the path is repaired around the other enemy
+     *
+     * @param other The enemy that was hit
+     */
+    @Override
+    public void onContactOther(Enemy other) {
+        updateDelay = 50;
+        repairPath(other.b2body.getPosition().x * PirateGame.PPM, other.b2body.getPosition().y * PirateGame.PPM,
+                Math.max(other.getWidth(), other.getHeight()) * PirateGame.PPM);
+    }
+
+    /**
+     * Repair the current path around an obstacle, rejoining it a few tiles past the obstacle (see PathFinder.repairPath),
+     * a new path is generated if there is no path to repair or the way round is too long to repair
+     *
+     * @param obstacleX    the x location of the centre of the obstacle
+     * @param obstacleY    the y location of the centre of the obstacle
+     * @param obstacleSize The size of the obstacle
+     */
+    private void repairPath(float obstacleX, float obstacleY, float obstacleSize) {
+        if (pathManager == null) {
+            return;
+        }
+        if (path == null || path.isEmpty()) {
+            generateNewPath();
+            return;
+        }
+        PathFinder pathFinder = screen.getPathFinder();
+        if (replanner == null) {
+            replanner = pathFinder.createReplanner(COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+        }
+        if (!pathFinder.repairPath(replanner, path, b2body.getPosition().x * PirateGame.PPM, b2body.getPosition().y * PirateGame.PPM,
+                obstacleX, obstacleY, obstacleSize, COLLISIONRADIUS + COLLISIONOFFSET, pathManager.shouldSmoothPath())) {
+            generateNewPath();
+            return;
+        }
+        cancelPathRequest();
+    }
+
     /**
      * Checks if the ship should pathfind or just sit still (used to reduce needless load)
      *
      * @return If the ship is in range of the player
      */
     public boolean inPlayerRange() {
-        return screen.getPlayerPos().dst(b2body.getPosition()) < 7;
+        return screen.inPlayerRange(this, b2body.getPosition(), 7);
     }
 
     /**
@@ -229,20 +347,20 @@ public class SeaMonster extends Enemy {
      * @return If the ship can go there
      */
     public boolean isTraversable(float x, float y) {
-        return screen.getPathFinder().isTraversable(x, y, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+        return screen.getPathFinder().isTraversable(x, y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
     }
 
     /**
      * Move sea monster towards checkpoint
      *
      * @param maxDistance The max distance that can be travelled
-     * @param cp          The checkpoint to travel towards
+     * @param x           The x coord of the tile to travel towards
+     * @param y           The y coord of the tile to travel towards
      * @return The vector that needs to be applied to travel towards the checkpoint
      */
-    private Vector2 travelToCheckpoint(float maxDistance, Checkpoint cp) {
-        Vector2 v = new Vector2(cp.x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, cp.y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2);
-
-        return v.limit(maxDistance);
+    private Vector2 travelToCheckpoint(float maxDistance, float x, float y) {
+        // the same vector is reused every update, the velocity is copied out of it when set
+        return velocity.set(x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2).limit(maxDistance);
     }
 
     /**
@@ -250,7 +368,9 @@ public class SeaMonster extends Enemy {
      */
     public void fire() {
 
-        projectiles.add(new CollegeFire(screen, waterSlashTexture, b2body.getPosition().x, b2body.getPosition().y, 120, 120, angle));
+        CollegeFire slash = screen.getWaterSlashPool().obtain();
+        slash.fire(screen, b2body.getPosition().x, b2body.getPosition().y);
+        projectiles.add(slash);
     }
 
     /**
@@ -258,11 +378,21 @@ public class SeaMonster extends Enemy {
      */
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
+        // any path still being searched for was requested by the old manager
+        cancelPathRequest();
         // dumping old path
-        path = new ArrayList<>();
+        path = TilePath.EMPTY;
         if (pathManager != null) generateNewPath();
     }
 
+    /**
+     * @return The current pathing manager for the sea monster
+     */
+    @Override
+    public PathManager getPathManager() {
+        return pathManager;
+    }
+
     /**
      * update the location and targeting of the sea monster
      * @param dt Time since last update
@@ -272,8 +402,10 @@ public class SeaMonster extends Enemy {
         // Update projectiles
         for(CollegeFire ball : projectiles) {
             ball.update(dt);
-            if(ball.isDestroyed())
+            if(ball.isDestroyed()) {
                 projectiles.removeValue(ball, true);
+                screen.getWaterSlashPool().free(ball);
+            }
         }
 
         //If ship is set to destroy and isn't, destroy it
@@ -330,7 +462,9 @@ public class SeaMonster extends Enemy {
 
         // If there is no path set, generate a new one
         if ((path == null || path.isEmpty()) && pathManager != null) {
-            generateNewPath();
+            if (!isPathPending()) {
+                generateNewPath();
+            }
             return;
         }
         else {
@@ -342,10 +476,12 @@ public class SeaMonster extends Enemy {
             if (path  == null) return;
 
             if (path.isEmpty()) return;
-            Checkpoint cp = path.get(0);
+            // read before moving on, so the tile is still headed towards this update
+            float targetX = path.getX();
+            float targetY = path.getY();
 
-            if (cp.getVector2().dst(b2body.getPosition().scl(PirateGame.PPM)) < PirateGame.PPM / 2) {
-                path.remove(cp);
+            if (Vector2.dst(targetX, targetY, b2body.getPosition().x * PirateGame.PPM, b2body.getPosition().y * PirateGame.PPM) < PirateGame.PPM / 2) {
+                path.advance();
                 if (path.isEmpty()) {
                     generateNewPath();
                 }
@@ -357,7 +493,12 @@ public class SeaMonster extends Enemy {
             } else {
                 speed = 0;
             }
-            Vector2 v = travelToCheckpoint(speed, cp);
+            Vector2 v = travelToCheckpoint(speed, targetX, targetY);
+            // steering around the ships, monsters and tornadoes nearby
+            LocalAvoidance avoidance = screen.getLocalAvoidance();
+            if (avoidance != null) {
+                avoidance.avoid(this, v, speed, dt);
+            }
             b2body.setLinearVelocity(v);
         }
     }
@@ -373,6 +514,7 @@ public class SeaMonster extends Enemy {
         }
         world.destroyBody(b2body);
         destroyed = true;
+        releaseAssets();
         //Change player coins and points
         Hud.changePoints(50);
         Hud.changeCoins(50);
@@ -419,8 +561,8 @@ public class SeaMonster extends Enemy {
 
                 for (int i = 0; i < path.size() - 1; i++) {
 
-                    DebugUtils.drawDebugLine(path.get(i).getVector2().scl(1 / PirateGame.PPM), path.get(i + 1).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), Color.RED);
-                    DebugUtils.drawDebugDot(path.get(i).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), dotColor);
+                    DebugUtils.drawDebugLine(path.getCheckpoint(i).getVector2().scl(1 / PirateGame.PPM), path.getCheckpoint(i + 1).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), Color.RED);
+                    DebugUtils.drawDebugDot(path.getCheckpoint(i).getVector2().scl(1 / PirateGame.PPM), batch.getProjectionMatrix(), dotColor);
                 }
                 batch.begin();
             }
@@ -428,11 +570,26 @@ public class SeaMonster extends Enemy {
     }
 
     /**
-     * Dispose of textures when not needed anymore
+     * Releases the sounds the sea monster took from the asset cache once it is destroyed
      */
-    public static void dispose(){
-        waterSlashTexture.dispose();
-        hit.dispose();
-        destroy.dispose();
+    private void releaseAssets() {
+        AssetCache.release(HIT_SOUND);
+        AssetCache.release(DESTROY_SOUND);
+    }
+
+    /**
+     * @return The body of the sea monster, null once it is destroyed
+     */
+    @Override
+    public Body getBody() {
+        return destroyed ? null : b2body;
+    }
+
+    /**
+     * @return The radius of the sea monster in world units
+     */
+    @Override
+    public float getAvoidanceRadius() {
+        return COLLISIONRADIUS / PirateGame.PPM;
     }
 }
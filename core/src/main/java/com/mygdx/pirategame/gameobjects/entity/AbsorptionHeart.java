@@ -2,7 +2,7 @@ package com.mygdx.pirategame.gameobjects.entity;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
@@ -15,7 +15,7 @@ import com.mygdx.pirategame.save.GameScreen;
  * @author Robert Murphy, Charlie Crosley, James McNair, Dan Wade
  */
 public class AbsorptionHeart extends PowerUp {
-    private Texture absorptionHeart;
+    private TextureRegion absorptionHeart;
 
     /**
      * Instantiates Absorption Heart entity
@@ -29,7 +29,7 @@ public class AbsorptionHeart extends PowerUp {
         super(screen, x, y);
 
         // Set speed boost image
-        absorptionHeart = new Texture("entity/heart.png");
+        absorptionHeart = loadTexture("entity/heart.png");
         //Set the position and size of the speed boost
         setBounds(0,0,48 / PirateGame.PPM, 48 / PirateGame.PPM);
         //Set the texture
@@ -48,6 +48,7 @@ public class AbsorptionHeart extends PowerUp {
         if(setToDestroyed && !destroyed) {
             world.destroyBody(b2body); 
             destroyed = true;
+            releaseAssets();
         }
         //Update position of power up
         else if(!destroyed) {
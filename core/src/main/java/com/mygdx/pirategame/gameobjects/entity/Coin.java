@@ -1,11 +1,11 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.Hud;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.Player;
@@ -20,7 +20,10 @@ import com.mygdx.pirategame.save.GameScreen;
  *@version 1.0
  */
 public class Coin extends Entity {
-    private Texture coin;
+    private static final String TEXTURE = "entity/coin.png";
+    private static final String PICKUP_SOUND = "sfx_and_music/coin-pickup.mp3";
+
+    private TextureRegion coin;
     private Sound coinPickup;
     private Player player;
     public boolean coinMagnetActive = false, inMagnetRange = false;
@@ -36,14 +39,14 @@ public class Coin extends Entity {
     public Coin(GameScreen screen, float x, float y) {
         super(screen, x, y);
         //Set coin image
-        coin = new Texture("entity/coin.png");
+        coin = AssetCache.getRegion(TEXTURE);
         //Set the position and size of the coin
         setBounds(0,0,48 / PirateGame.PPM, 48 / PirateGame.PPM);
         //Set the texture
         setRegion(coin);
         //Sets origin of the coin
         setOrigin(24 / PirateGame.PPM,24 / PirateGame.PPM);
-        coinPickup = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/coin-pickup.mp3"));
+        coinPickup = AssetCache.getSound(PICKUP_SOUND);
 
         // keep reference to the player object for coin magnet power up
         player = screen.getPlayer();
@@ -59,6 +62,7 @@ public class Coin extends Entity {
         if (setToDestroyed && !destroyed) {
             world.destroyBody(b2body);
             destroyed = true;
+            AssetCache.release(PICKUP_SOUND);
         }
         //Update position of coin
         if (!destroyed) {
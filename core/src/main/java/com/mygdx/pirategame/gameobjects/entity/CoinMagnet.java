@@ -1,7 +1,7 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
@@ -16,7 +16,7 @@ import com.mygdx.pirategame.save.GameScreen;
  * @author Charlie Crosley, Robert Murphy, James McNair, Dan Wade
  */
 public class CoinMagnet extends PowerUp {
-    private Texture coinMagnet;
+    private TextureRegion coinMagnet;
     public boolean toggleCoinMagnet = false;
 
     /**
@@ -32,7 +32,7 @@ public class CoinMagnet extends PowerUp {
         super(screen, x, y);
 
         // Set speed boost image
-        coinMagnet = new Texture("entity/magnet.png");
+        coinMagnet = loadTexture("entity/magnet.png");
         //Set the position and size of the speed boost
         setBounds(0,0,48 / PirateGame.PPM, 48 / PirateGame.PPM);
         //Set the texture
@@ -100,6 +100,7 @@ public class CoinMagnet extends PowerUp {
         if(setToDestroyed && !destroyed) {
             world.destroyBody(b2body);
             destroyed = true;
+            releaseAssets();
         }
         //Update position of power up
         else if(!destroyed) {setPosition(b2body.getPosition().x - getWidth() / 2f, b2body.getPosition().y - getHeight() / 2f);
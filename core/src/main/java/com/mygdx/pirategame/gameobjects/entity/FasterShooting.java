@@ -1,7 +1,7 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
@@ -15,7 +15,7 @@ import com.mygdx.pirategame.save.GameScreen;
  * @author Robert Murphy, James McNair, Dan Wade
  */
 public class FasterShooting extends PowerUp {
-    private Texture fasterShooting;
+    private TextureRegion fasterShooting;
 
     /**
      * x
@@ -30,7 +30,7 @@ public class FasterShooting extends PowerUp {
         super(screen, x, y);
 
         // Set speed boost image
-        fasterShooting = new Texture("entity/gun.png");
+        fasterShooting = loadTexture("entity/gun.png");
         //Set the position and size of the speed boost
         setBounds(0,0,48 / PirateGame.PPM, 48 / PirateGame.PPM);
         //Set the texture
@@ -50,6 +50,7 @@ public class FasterShooting extends PowerUp {
         if(setToDestroyed && !destroyed) {
             world.destroyBody(b2body);
             destroyed = true;
+            releaseAssets();
         }
         // Update position of coin
         else if(!destroyed) {
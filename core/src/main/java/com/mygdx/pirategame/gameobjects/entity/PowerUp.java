@@ -1,8 +1,9 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.save.GameScreen;
 
 /**
@@ -10,6 +11,8 @@ import com.mygdx.pirategame.save.GameScreen;
  * @author Charlie Crosley, Robert Murphy, James McNair, Dan Wade
  */
 public abstract class PowerUp extends Entity {
+    private static final String PICKUP_SOUND = "sfx_and_music/coin-pickup.mp3";
+
     private Sound pickupSound;
     public boolean active = false;
     public float timer = 0;
@@ -33,7 +36,24 @@ public abstract class PowerUp extends Entity {
         defineEntity();
 
         // Sets pickup sound
-        pickupSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/coin-pickup.mp3"));
+        pickupSound = AssetCache.getSound(PICKUP_SOUND);
+    }
+
+    /**
+     * Take the image of the power up from the atlas of the asset cache
+     *
+     * @param path The internal path of the image
+     * @return The region of the atlas holding the image
+     */
+    protected TextureRegion loadTexture(String path) {
+        return AssetCache.getRegion(path);
+    }
+
+    /**
+     * Release the pickup sound once the power up has been picked up and destroyed
+     */
+    protected void releaseAssets() {
+        AssetCache.release(PICKUP_SOUND);
     }
 
     /**
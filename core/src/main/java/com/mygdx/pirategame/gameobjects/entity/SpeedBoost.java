@@ -1,7 +1,7 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
@@ -11,10 +11,10 @@ import com.mygdx.pirategame.save.GameScreen;
 
 /**
  * Speed boost powerup which makes the player able to move faster
- * @author Robert Murphy, Charlie Crosley
+ * @author Robert Murphy, Charlie Crosley, Dan Wade
  */
 public class SpeedBoost extends PowerUp {
-    private Texture speedBoost;
+    private TextureRegion speedBoost;
 
     /**
      * x
@@ -29,7 +29,7 @@ public class SpeedBoost extends PowerUp {
         super(screen, x, y);
 
         // Set speed boost image
-        speedBoost = new Texture("entity/bolt.png");
+        speedBoost = loadTexture("entity/bolt.png");
         //Set the position and size of the speed boost
         setBounds(0,0,48 / PirateGame.PPM, 48 / PirateGame.PPM);
         //Set the texture
@@ -50,6 +50,7 @@ public class SpeedBoost extends PowerUp {
         if(setToDestroyed && !destroyed) {
             world.destroyBody(b2body);
             destroyed = true;
+            releaseAssets();
         }
         //Update power up of coin
         else if(!destroyed) {
@@ -1,33 +1,34 @@
 package com.mygdx.pirategame.gameobjects.entity;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.Player;
-import com.mygdx.pirategame.pathfinding.Checkpoint;
+import com.mygdx.pirategame.pathfinding.AvoidanceAgent;
+import com.mygdx.pirategame.pathfinding.LocalAvoidance;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.PathTelemetry;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.pathfinding.pathManager.AttackPath;
 import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
 import com.mygdx.pirategame.save.GameScreen;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Tornado
  * Creates an object for each tornado
  * Extends the entity class to define tornado as an entity
  *
- * @author Robert Murphy
+ * @author Robert Murphy, Dan Wade
  * @version 1.0
  */
-public class Tornado extends Entity {
-    private final Texture tornado;
+public class Tornado extends Entity implements AvoidanceAgent, PathTelemetry.Requester {
+    private final TextureRegion tornado;
     private final Sound tornadoSound;
     public Player player;
     public Body b2bodyTornado;
@@ -39,7 +40,17 @@ public class Tornado extends Entity {
     public static final int COLLISIONRADIUS = 55;
     public static final int COLLISIONOFFSET = 15;
     private PathManager pathManager = null;
-    private List<Checkpoint> path;
+    private TilePath path;
+    // the velocity towards the tile being headed to
+    private final Vector2 velocity = new Vector2();
+
+    // receives paths requested from the path request service
+    private final PathRequestService.Listener pathListener = new PathRequestService.Listener() {
+        @Override
+        public void onPathFound(TilePath newPath) {
+            setPath(newPath);
+        }
+    };
     private int updateDelay = 0;
 
     /**
@@ -53,14 +64,14 @@ public class Tornado extends Entity {
         super(screen, x, y);
 
         // Set tornado image
-        tornado = new Texture("entity/tornado.png");
+        tornado = AssetCache.getRegion("entity/tornado.png");
         // Set the position and size of the tornado
         setBounds(0, 0, 144 / PirateGame.PPM, 144 / PirateGame.PPM);
         // Set the texture
         setRegion(tornado);
         // Sets origin of the tornado
         setOrigin(24 / PirateGame.PPM, 24 / PirateGame.PPM);
-        tornadoSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/tornado-swoosh.mp3"));
+        tornadoSound = AssetCache.getSound("sfx_and_music/tornado-swoosh.mp3");
         player = screen.getPlayer();
 
         setPosition(b2body.getPosition().x - getWidth() / 2f, b2body.getPosition().y - getHeight() / 2f);
@@ -75,14 +86,14 @@ public class Tornado extends Entity {
     public Tornado(GameScreen screen, Element element) {
         super(screen, Float.parseFloat(element.getElementsByTagName("x").item(0).getTextContent()), Float.parseFloat(element.getElementsByTagName("y").item(0).getTextContent()));
         // Set tornado image
-        tornado = new Texture("entity/tornado.png");
+        tornado = AssetCache.getRegion("entity/tornado.png");
         // Set the position and size of the tornado
         setBounds(0, 0, 144 / PirateGame.PPM, 144 / PirateGame.PPM);
         // Set the texture
         setRegion(tornado);
         // Sets origin of the tornado
         setOrigin(24 / PirateGame.PPM, 24 / PirateGame.PPM);
-        tornadoSound = Gdx.audio.newSound(Gdx.files.internal("sfx_and_music/tornado-swoosh.mp3"));
+        tornadoSound = AssetCache.getSound("sfx_and_music/tornado-swoosh.mp3");
 
         player = screen.getPlayer();
 
@@ -144,7 +155,9 @@ public class Tornado extends Entity {
 
         // If there is no path set, generate a new one
         if ((path == null || path.isEmpty()) && pathManager != null) {
-            generateNewPath();
+            if (!isPathPending()) {
+                generateNewPath();
+            }
             return;
         } else {
             if (pathManager == null) return;
@@ -155,10 +168,12 @@ public class Tornado extends Entity {
             if (path == null) return;
 
             if (path.isEmpty()) return;
-            Checkpoint cp = path.get(0);
+            // read before moving on, so the tile is still headed towards this update
+            float targetX = path.getX();
+            float targetY = path.getY();
 
-            if (cp.getVector2().dst(b2body.getPosition().scl(PirateGame.PPM)) < PirateGame.PPM / 2) {
-                path.remove(cp);
+            if (Vector2.dst(targetX, targetY, b2body.getPosition().x * PirateGame.PPM, b2body.getPosition().y * PirateGame.PPM) < PirateGame.PPM / 2) {
+                path.advance();
                 if (path.isEmpty()) {
                     generateNewPath();
                 }
@@ -170,7 +185,12 @@ public class Tornado extends Entity {
             } else {
                 speed = 0;
             }
-            Vector2 v = travelToCheckpoint(speed, cp);
+            Vector2 v = travelToCheckpoint(speed, targetX, targetY);
+            // steering around the ships, monsters and other tornadoes nearby
+            LocalAvoidance avoidance = screen.getLocalAvoidance();
+            if (avoidance != null) {
+                avoidance.avoid(this, v, speed, dt);
+            }
             b2body.setLinearVelocity(v);
         }
     }
@@ -239,34 +259,89 @@ public class Tornado extends Entity {
      */
     public void setPathManager(PathManager pathManager) {
         this.pathManager = pathManager;
+        // any path still being searched for was requested by the old manager
+        cancelPathRequest();
         // dumping old path
-        path = new ArrayList<>();
+        path = TilePath.EMPTY;
         if (pathManager != null) generateNewPath();
     }
 
+    /**
+     * @return The current pathing manager for the tornado
+     */
+    @Override
+    public PathManager getPathManager() {
+        return pathManager;
+    }
+
     /**
      * Used to generate a new path from the current location to a random point on the map
      */
     public void generateNewPath() {
+        float x = b2body.getPosition().x * PirateGame.PPM;
+        float y = b2body.getPosition().y * PirateGame.PPM;
+        if (pathManager instanceof AttackPath) {
+            // attackers follow the flow field towards the player rather than each searching for a path
+            TilePath flowPath = ((AttackPath) pathManager).followFlowField(x, y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+            if (flowPath != null) {
+                cancelPathRequest();
+                setPath(flowPath);
+                return;
+            }
+        }
+
         Vector2 destination = pathManager.generateDestination();
         if (destination == null) {
             // destination will be regenerated next update
             return;
         }
-        path = screen.getPathFinder().getPath((b2body.getPosition().x * PirateGame.PPM), (b2body.getPosition().y * PirateGame.PPM), destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET);
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            // the Tornado keeps its current heading until the path arrives
+            pathRequests.request(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathListener, pathManager.shouldSmoothPath());
+            return;
+        }
+        setPath(screen.getPathFinder().findPath(this, x, y, destination.x, destination.y, COLLISIONRADIUS + COLLISIONOFFSET, COLLISIONRADIUS + COLLISIONOFFSET, pathManager.shouldSmoothPath()));
+    }
+
+    /**
+     * Follow a newly found path
+     *
+     * @param newPath The path found, null if no path could be found
+     */
+    private void setPath(TilePath newPath) {
+        path = newPath;
         if (path != null && path.size() > 1) {
             // removing the start node from the path as Tornado is already at it
-            path.remove(0);
+            path.advance();
         }
     }
 
+    /**
+     * Cancel any path still being searched for
+     */
+    private void cancelPathRequest() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        if (pathRequests != null) {
+            pathRequests.cancel(this);
+        }
+    }
+
+    /**
+     * @return If a path has been requested and is still being searched for
+     */
+    private boolean isPathPending() {
+        PathRequestService pathRequests = screen.getPathRequestService();
+        return pathRequests != null && pathRequests.isPending(this);
+    }
+
     /**
      * Checks if the Tornado should pathfind or just sit still (used to reduce needless load)
      *
      * @return If the Tornado is in range of the player
      */
     public boolean inPlayerRange() {
-        return screen.getPlayerPos().dst(b2body.getPosition()) < 7;
+        return screen.inPlayerRange(this, b2body.getPosition(), 7);
     }
 
     /**
@@ -282,13 +357,13 @@ public class Tornado extends Entity {
 
     /**
      * @param maxDistance The max distance that can be travelled
-     * @param cp          The checkpoint to travel towards
+     * @param x           The x coord of the tile to travel towards
+     * @param y           The y coord of the tile to travel towards
      * @return The vector that needs to be applied to travel towards the checkpoint
      */
-    private Vector2 travelToCheckpoint(float maxDistance, Checkpoint cp) {
-        Vector2 v = new Vector2(cp.x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, cp.y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2);
-
-        return v.limit(maxDistance);
+    private Vector2 travelToCheckpoint(float maxDistance, float x, float y) {
+        // the same vector is reused every update, the velocity is copied out of it when set
+        return velocity.set(x - (b2body.getPosition().x * PirateGame.PPM) - getWidth() / 2, y - (b2body.getPosition().y * PirateGame.PPM) - getHeight() / 2).limit(maxDistance);
     }
 
 
@@ -318,4 +393,20 @@ public class Tornado extends Entity {
         yCoord.appendChild(document.createTextNode(Float.toString(getY())));
         element.appendChild(yCoord);
     }
+
+    /**
+     * @return The body of the tornado, null once it is destroyed
+     */
+    @Override
+    public Body getBody() {
+        return destroyed ? null : b2body;
+    }
+
+    /**
+     * @return The radius of the body of the tornado in world units, its pull reaches much further
+     */
+    @Override
+    public float getAvoidanceRadius() {
+        return 30 / PirateGame.PPM;
+    }
 }
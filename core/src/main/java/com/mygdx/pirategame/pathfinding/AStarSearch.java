@@ -0,0 +1,314 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * A* search over a NavGrid. All of the search state is held in primitive arrays indexed by tile id
+ * (x + y * width) and is reused between searches, so a search does not allocate until the path is returned
+ * @author Dan Wade
+ */
+public class AStarSearch {
+
+    // the 8 directions a ship can travel in, along with the cost of each move in tiles
+    static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+    static final float DIAGONAL = (float) Math.sqrt(2);
+    static final float[] COST = {1, 1, 1, 1, DIAGONAL, DIAGONAL, DIAGONAL, DIAGONAL};
+
+    protected final NavGrid grid;
+    protected final int width;
+
+    private final float[] g;
+    private final int[] parent;
+    // g and parent are only valid for tiles stamped with the current search, this avoids clearing them every search
+    private final int[] stamp;
+    private int currentStamp = 0;
+    private final long[] closed;
+    private final NodeHeap open;
+
+    private long[] clearance;
+    private final Heuristic euclidean;
+    private Heuristic heuristic;
+    private int expansions;
+    private int start = -1;
+    private int goal = -1;
+    private int found = -1;
+    private Status status = Status.FAILED;
+
+    /**
+     * @param grid The navigation grid to search over
+     */
+    public AStarSearch(NavGrid grid) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        int size = grid.getWidth() * grid.getHeight();
+
+        g = new float[size];
+        parent = new int[size];
+        stamp = new int[size];
+        closed = new long[(size + 63) >> 6];
+        open = new NodeHeap(size);
+        euclidean = new EuclideanHeuristic(width);
+        heuristic = euclidean;
+    }
+
+    /**
+     * The state of a search
+     */
+    public enum Status {
+        /**
+         * The search has been started but has not finished yet
+         */
+        SEARCHING,
+        /**
+         * A path to the goal was found
+         */
+        FOUND,
+        /**
+         * The goal cannot be reached, or no search has been started
+         */
+        FAILED
+    }
+
+    /**
+     * Search for a path between two tiles
+     *
+     * @param start         The tile id to start from
+     * @param goal          The tile id to reach
+     * @param clearance     The clearance class of the object being pathed (see NavGrid.getClearanceClass)
+     * @param maxExpansions The maximum number of tiles to expand before giving up
+     * @return If a path was found
+     */
+    public boolean search(int start, int goal, long[] clearance, int maxExpansions) {
+        begin(start, goal, clearance);
+        return step(maxExpansions) == Status.FOUND;
+    }
+
+    /**
+     * Search for a path between two tiles, guided by the given heuristic
+     *
+     * @param start         The tile id to start from
+     * @param goal          The tile id to reach
+     * @param clearance     The clearance class of the object being pathed (see NavGrid.getClearanceClass)
+     * @param heuristic     The estimate of the cost between tiles
+     * @param maxExpansions The maximum number of tiles to expand before giving up
+     * @return If a path was found
+     */
+    public boolean search(int start, int goal, long[] clearance, Heuristic heuristic, int maxExpansions) {
+        begin(start, goal, clearance, heuristic);
+        return step(maxExpansions) == Status.FOUND;
+    }
+
+    /**
+     * Start a search between two tiles without expanding any tiles, the search is carried out by calling step
+     * until it is no longer searching. Only one search can be in progress at a time
+     *
+     * @param start     The tile id to start from
+     * @param goal      The tile id to reach
+     * @param clearance The clearance class of the object being pathed (see NavGrid.getClearanceClass)
+     */
+    public void begin(int start, int goal, long[] clearance) {
+        begin(start, goal, clearance, euclidean);
+    }
+
+    /**
+     * Start a search between two tiles guided by the given heuristic, see begin
+     *
+     * @param start     The tile id to start from
+     * @param goal      The tile id to reach
+     * @param clearance The clearance class of the object being pathed (see NavGrid.getClearanceClass)
+     * @param heuristic The estimate of the cost between tiles
+     */
+    public void begin(int start, int goal, long[] clearance, Heuristic heuristic) {
+        this.start = start;
+        this.goal = goal;
+        this.clearance = clearance;
+        this.heuristic = heuristic;
+        found = -1;
+        expansions = 0;
+        status = Status.SEARCHING;
+        nextStamp();
+        Arrays.fill(closed, 0);
+        open.clear();
+
+        visit(start, 0, -1);
+        open.push(start, heuristic(start % width, start / width), 0);
+    }
+
+    /**
+     * Continue the search started by begin
+     *
+     * @param maxExpansions The maximum number of tiles to expand before returning
+     * @return The state of the search, still searching if the tiles ran out before the search finished
+     */
+    public Status step(int maxExpansions) {
+        if (status != Status.SEARCHING) {
+            return status;
+        }
+        int stepExpansions = 0;
+        while (!open.isEmpty()) {
+            int current = open.peek();
+            if (current == goal) {
+                open.pop();
+                found = goal;
+                status = Status.FOUND;
+                return status;
+            }
+            if (stepExpansions >= maxExpansions) {
+                return status;
+            }
+            open.pop();
+            stepExpansions++;
+            expansions++;
+            closed[current >> 6] |= 1L << current;
+            expand(current);
+        }
+        status = Status.FAILED;
+        return status;
+    }
+
+    /**
+     * @return The state of the current search
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Add the successors of a tile to the open list, by default every walkable neighbouring tile
+     *
+     * @param current The tile being expanded
+     */
+    protected void expand(int current) {
+        int x = current % width;
+        int y = current / width;
+        for (int i = 0; i < DX.length; i++) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (isWalkable(nx, ny)) {
+                relax(current, nx + ny * width, COST[i]);
+            }
+        }
+    }
+
+    /**
+     * Record a route to a tile if it is shorter than any route found so far
+     *
+     * @param from The tile the route comes from
+     * @param next The tile being reached
+     * @param cost The cost in tiles of travelling from one to the other
+     */
+    protected final void relax(int from, int next, float cost) {
+        if ((closed[next >> 6] & (1L << next)) != 0) {
+            return;
+        }
+        float nextG = g[from] + cost;
+        if (stamp[next] == currentStamp && nextG >= g[next]) {
+            // already reached this tile by a path at least as short
+            return;
+        }
+        visit(next, nextG, from);
+        float h = heuristic(next % width, next / width);
+        open.push(next, nextG + h, h);
+    }
+
+    /**
+     * @param x The tile x location
+     * @param y The tile y location
+     * @return If the object being pathed can travel through the tile
+     */
+    protected final boolean isWalkable(int x, int y) {
+        return grid.inBounds(x, y) && NavGrid.isSet(clearance, x + y * width);
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The tile the best known route to this tile came from, -1 for the start tile
+     */
+    protected final int getParent(int tile) {
+        return parent[tile];
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The cost in tiles of the best known route from the start to the tile
+     */
+    protected final float getCost(int tile) {
+        return g[tile];
+    }
+
+    /**
+     * @return The number of tiles expanded by the current search so far
+     */
+    public int getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * Get the tiles along the path found by the last successful search.
+     * Any straight or diagonal gaps between the recorded nodes are filled in so every tile along the way is returned
+     *
+     * @return The tile ids from the start to the goal inclusive, or null if the last search failed
+     */
+    public int[] getPath() {
+        if (found == -1) {
+            return null;
+        }
+        int length = 1;
+        for (int tile = found; tile != start; tile = parent[tile]) {
+            int from = parent[tile];
+            length += Math.max(Math.abs(tile % width - from % width), Math.abs(tile / width - from / width));
+        }
+        int[] path = new int[length];
+        int index = length - 1;
+        path[index] = found;
+        for (int tile = found; tile != start; tile = parent[tile]) {
+            int from = parent[tile];
+            int x = tile % width;
+            int y = tile / width;
+            int stepX = Integer.signum(from % width - x);
+            int stepY = Integer.signum(from / width - y);
+            // walking back towards the previous node one tile at a time
+            while (x + y * width != from) {
+                x += stepX;
+                y += stepY;
+                path[--index] = x + y * width;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @return The navigation grid being searched
+     */
+    public NavGrid getGrid() {
+        return grid;
+    }
+
+    private void visit(int tile, float cost, int from) {
+        stamp[tile] = currentStamp;
+        g[tile] = cost;
+        parent[tile] = from;
+    }
+
+    private void nextStamp() {
+        currentStamp++;
+        if (currentStamp == Integer.MAX_VALUE) {
+            // wrapping around, every old stamp has to be forgotten
+            Arrays.fill(stamp, 0);
+            currentStamp = 1;
+        }
+    }
+
+    /**
+     * Estimated cost in tiles from a tile to the goal, by default the straight line distance which never
+     * overestimates the true cost
+     *
+     * @param x The tile x location
+     * @param y The tile y location
+     * @return The estimated cost
+     */
+    protected float heuristic(int x, int y) {
+        return heuristic.estimate(x + y * width, goal);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * An object that steers around other agents nearby rather than running into them (see LocalAvoidance)
+ * @author Dan Wade
+ */
+public interface AvoidanceAgent {
+
+    /**
+     * @return The physics body of the agent, its position and velocity are read from the body
+     */
+    Body getBody();
+
+    /**
+     * @return The radius in world units the agent keeps clear around its body
+     */
+    float getAvoidanceRadius();
+}
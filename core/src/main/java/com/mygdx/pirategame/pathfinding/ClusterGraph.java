@@ -0,0 +1,399 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Abstraction of a NavGrid used for hierarchical pathfinding (HPA*). The grid is split into square clusters and the
+ * water crossing each border between two clusters becomes a pair of abstract nodes (an entrance). Nodes within the
+ * same cluster are joined by the cost of the shortest route between them inside the cluster, so a route across the
+ * whole map can be planned over a few hundred nodes rather than thousands of tiles. The graph does not change once
+ * built, each thread plans routes over it with its own search state so routes can be planned on worker threads
+ * @author Dan Wade
+ */
+public class ClusterGraph {
+
+    /**
+     * The width and height of a cluster in tiles
+     */
+    public static final int CLUSTER_SIZE = 16;
+
+    // entrances at least this wide get a transition at each end rather than a single one in the middle
+    private static final int WIDE_ENTRANCE = 6;
+
+    private final NavGrid grid;
+    private final long[] clearance;
+    private final int width;
+    private final int height;
+    private final int clustersX;
+
+    private final int nodeCount;
+    private final int[] nodeTile;
+    private final int[] nodeCluster;
+    // edges of each node are stored contiguously, edgeStart[node] to edgeStart[node + 1]
+    private final int[] edgeStart;
+    private final int[] edgeTo;
+    private final float[] edgeCost;
+    // nodes of each cluster are stored contiguously, clusterStart[cluster] to clusterStart[cluster + 1]
+    private final int[] clusterStart;
+    private final int[] clusterNodes;
+
+    // the search state of each thread planning routes
+    private final ThreadLocal<RouteSearch> searches = new ThreadLocal<RouteSearch>() {
+        @Override
+        protected RouteSearch initialValue() {
+            return new RouteSearch();
+        }
+    };
+
+    /**
+     * Build the abstraction for objects of a single clearance class
+     *
+     * @param grid      The navigation grid to build the abstraction from
+     * @param clearance The clearance class of the objects being pathed (see NavGrid.getClearanceClass)
+     */
+    public ClusterGraph(NavGrid grid, long[] clearance) {
+        this.grid = grid;
+        this.clearance = clearance;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        int clustersY = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+
+        // finding the entrances along every border between two clusters
+        int[] nodeOfTile = new int[width * height];
+        Arrays.fill(nodeOfTile, -1);
+        IntArray tiles = new IntArray();
+        IntArray from = new IntArray();
+        IntArray to = new IntArray();
+        FloatArray cost = new FloatArray();
+        for (int border = CLUSTER_SIZE; border < width; border += CLUSTER_SIZE) {
+            findEntrances(border - 1, 0, 1, 0, 0, 1, height, nodeOfTile, tiles, from, to, cost);
+        }
+        for (int border = CLUSTER_SIZE; border < height; border += CLUSTER_SIZE) {
+            findEntrances(0, border - 1, 0, 1, 1, 0, width, nodeOfTile, tiles, from, to, cost);
+        }
+        nodeCount = tiles.size;
+        nodeTile = tiles.toArray();
+
+        // grouping the nodes by the cluster they sit in
+        int clusterCount = clustersX * clustersY;
+        nodeCluster = new int[nodeCount];
+        clusterStart = new int[clusterCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            nodeCluster[node] = getCluster(nodeTile[node]);
+            clusterStart[nodeCluster[node] + 1]++;
+        }
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            clusterStart[cluster + 1] += clusterStart[cluster];
+        }
+        clusterNodes = new int[nodeCount];
+        int[] filled = Arrays.copyOf(clusterStart, clusterCount);
+        for (int node = 0; node < nodeCount; node++) {
+            clusterNodes[filled[nodeCluster[node]]++] = node;
+        }
+
+        // joining the nodes within each cluster by the cost of travelling between them
+        RouteSearch search = searches.get();
+        for (int node = 0; node < nodeCount; node++) {
+            search.searchCluster(nodeTile[node]);
+            int cluster = nodeCluster[node];
+            for (int i = clusterStart[cluster]; i < clusterStart[cluster + 1]; i++) {
+                int other = clusterNodes[i];
+                float distance = search.clusterDistance(nodeTile[other]);
+                if (other != node && distance >= 0) {
+                    from.add(node);
+                    to.add(other);
+                    cost.add(distance);
+                }
+            }
+        }
+
+        // packing the edges so the edges of each node are contiguous
+        edgeStart = new int[nodeCount + 1];
+        for (int i = 0; i < from.size; i++) {
+            edgeStart[from.get(i) + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            edgeStart[node + 1] += edgeStart[node];
+        }
+        edgeTo = new int[from.size];
+        edgeCost = new float[from.size];
+        filled = Arrays.copyOf(edgeStart, nodeCount);
+        for (int i = 0; i < from.size; i++) {
+            int index = filled[from.get(i)]++;
+            edgeTo[index] = to.get(i);
+            edgeCost[index] = cost.get(i);
+        }
+    }
+
+    /**
+     * Walk along one side of a border and add transitions for every run of tiles that can be crossed.
+     * Runs are split where the border passes from one cluster to the next
+     *
+     * @param x       The tile x location of the first tile on the near side of the border
+     * @param y       The tile y location of the first tile on the near side of the border
+     * @param acrossX The x offset from the near side to the far side
+     * @param acrossY The y offset from the near side to the far side
+     * @param alongX  The x step along the border
+     * @param alongY  The y step along the border
+     * @param length  The length of the border in tiles
+     */
+    private void findEntrances(int x, int y, int acrossX, int acrossY, int alongX, int alongY, int length,
+                               int[] nodeOfTile, IntArray tiles, IntArray from, IntArray to, FloatArray cost) {
+        for (int segment = 0; segment < length; segment += CLUSTER_SIZE) {
+            int end = Math.min(segment + CLUSTER_SIZE, length);
+            int runStart = -1;
+            for (int i = segment; i <= end; i++) {
+                int nearX = x + alongX * i;
+                int nearY = y + alongY * i;
+                boolean crossable = i < end && isWalkable(nearX, nearY) && isWalkable(nearX + acrossX, nearY + acrossY);
+                if (crossable && runStart == -1) {
+                    runStart = i;
+                } else if (!crossable && runStart != -1) {
+                    int runLength = i - runStart;
+                    if (runLength >= WIDE_ENTRANCE) {
+                        addTransition(x + alongX * runStart, y + alongY * runStart, acrossX, acrossY, nodeOfTile, tiles, from, to, cost);
+                        addTransition(x + alongX * (i - 1), y + alongY * (i - 1), acrossX, acrossY, nodeOfTile, tiles, from, to, cost);
+                    } else {
+                        int middle = runStart + runLength / 2;
+                        addTransition(x + alongX * middle, y + alongY * middle, acrossX, acrossY, nodeOfTile, tiles, from, to, cost);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+    }
+
+    private void addTransition(int x, int y, int acrossX, int acrossY,
+                               int[] nodeOfTile, IntArray tiles, IntArray from, IntArray to, FloatArray cost) {
+        int near = addNode(x + y * width, nodeOfTile, tiles);
+        int far = addNode((x + acrossX) + (y + acrossY) * width, nodeOfTile, tiles);
+        from.add(near);
+        to.add(far);
+        cost.add(1);
+        from.add(far);
+        to.add(near);
+        cost.add(1);
+    }
+
+    private int addNode(int tile, int[] nodeOfTile, IntArray tiles) {
+        if (nodeOfTile[tile] == -1) {
+            nodeOfTile[tile] = tiles.size;
+            tiles.add(tile);
+        }
+        return nodeOfTile[tile];
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The index of the cluster the tile sits in
+     */
+    public int getCluster(int tile) {
+        return (tile % width) / CLUSTER_SIZE + (tile / width) / CLUSTER_SIZE * clustersX;
+    }
+
+    /**
+     * @return The number of abstract nodes in the graph
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return The number of abstract nodes expanded by the last route search on the calling thread
+     */
+    public int getExpansions() {
+        return searches.get().expansions;
+    }
+
+    /**
+     * @return The clearance class the graph was built for
+     */
+    public long[] getClearance() {
+        return clearance;
+    }
+
+    /**
+     * Plan a coarse route between two tiles over the abstract graph, can be called from any thread
+     *
+     * @param start         The tile id to start from
+     * @param goal          The tile id to reach
+     * @param maxExpansions The maximum number of abstract nodes to expand before giving up
+     * @return The tile ids of the waypoints from the start to the goal inclusive, or null if no route was found
+     */
+    public int[] findRoute(int start, int goal, int maxExpansions) {
+        return searches.get().findRoute(start, goal, maxExpansions);
+    }
+
+    /**
+     * The state of a search over the graph, each thread has its own
+     */
+    private final class RouteSearch {
+        // search state within a single cluster, indexed by the tile position within the cluster
+        private final float[] localDist = new float[CLUSTER_SIZE * CLUSTER_SIZE];
+        private final int[] localStamp = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        private int localCurrent = 0;
+        private final NodeHeap localOpen = new NodeHeap(CLUSTER_SIZE * CLUSTER_SIZE);
+
+        // search state over the abstract nodes, with two extra nodes for the start and goal tiles
+        private final float[] g = new float[nodeCount + 2];
+        private final int[] parent = new int[nodeCount + 2];
+        private final int[] stamp = new int[nodeCount + 2];
+        private final int[] closedStamp = new int[nodeCount + 2];
+        private int currentStamp = 0;
+        private final NodeHeap open = new NodeHeap(nodeCount + 2);
+        private final float[] goalCost = new float[nodeCount];
+        private int expansions;
+
+        /**
+         * Plan a coarse route between two tiles over the abstract graph, see ClusterGraph.findRoute
+         */
+        int[] findRoute(int start, int goal, int maxExpansions) {
+            expansions = 0;
+            if (!NavGrid.isSet(clearance, goal)) {
+                return null;
+            }
+            int startNode = nodeCount;
+            int goalNode = nodeCount + 1;
+            int goalCluster = getCluster(goal);
+
+            // the cost of reaching the goal from each node in its cluster, negative if the goal cannot be reached
+            searchCluster(goal);
+            for (int i = clusterStart[goalCluster]; i < clusterStart[goalCluster + 1]; i++) {
+                goalCost[clusterNodes[i]] = clusterDistance(nodeTile[clusterNodes[i]]);
+            }
+            // the search around the start is kept for when the start node is expanded
+            searchCluster(start);
+            int startCluster = getCluster(start);
+
+            currentStamp++;
+            open.clear();
+            visit(startNode, 0, -1);
+            open.push(startNode, heuristic(start, goal), 0);
+
+            while (!open.isEmpty()) {
+                int current = open.pop();
+                if (current == goalNode) {
+                    return buildRoute(start, goal);
+                }
+                if (expansions >= maxExpansions) {
+                    return null;
+                }
+                expansions++;
+                closedStamp[current] = currentStamp;
+
+                if (current == startNode) {
+                    for (int i = clusterStart[startCluster]; i < clusterStart[startCluster + 1]; i++) {
+                        int node = clusterNodes[i];
+                        float distance = clusterDistance(nodeTile[node]);
+                        if (distance >= 0) {
+                            relax(current, node, distance, goal);
+                        }
+                    }
+                    if (startCluster == goalCluster && clusterDistance(goal) >= 0) {
+                        relax(current, goalNode, clusterDistance(goal), goal);
+                    }
+                    continue;
+                }
+                for (int i = edgeStart[current]; i < edgeStart[current + 1]; i++) {
+                    relax(current, edgeTo[i], edgeCost[i], goal);
+                }
+                if (nodeCluster[current] == goalCluster && goalCost[current] >= 0) {
+                    relax(current, goalNode, goalCost[current], goal);
+                }
+            }
+            return null;
+        }
+
+        private void relax(int from, int next, float cost, int goal) {
+            if (closedStamp[next] == currentStamp) {
+                return;
+            }
+            float nextG = g[from] + cost;
+            if (stamp[next] == currentStamp && nextG >= g[next]) {
+                return;
+            }
+            visit(next, nextG, from);
+            float h = next == nodeCount + 1 ? 0 : heuristic(nodeTile[next], goal);
+            open.push(next, nextG + h, h);
+        }
+
+        private void visit(int node, float cost, int from) {
+            stamp[node] = currentStamp;
+            g[node] = cost;
+            parent[node] = from;
+        }
+
+        private int[] buildRoute(int start, int goal) {
+            int length = 0;
+            for (int node = nodeCount + 1; node != -1; node = parent[node]) {
+                length++;
+            }
+            int[] route = new int[length];
+            for (int node = nodeCount + 1; node != -1; node = parent[node]) {
+                route[--length] = node == nodeCount ? start : node == nodeCount + 1 ? goal : nodeTile[node];
+            }
+            return route;
+        }
+
+        private float heuristic(int tile, int goal) {
+            int dx = tile % width - goal % width;
+            int dy = tile / width - goal / width;
+            return (float) Math.sqrt(dx * dx + dy * dy);
+        }
+
+        /**
+         * Find the cost from a tile to every tile in its cluster without leaving the cluster (Dijkstra's algorithm)
+         *
+         * @param source The tile id to search from
+         */
+        private void searchCluster(int source) {
+            localCurrent++;
+            localOpen.clear();
+            int originX = (source % width) / CLUSTER_SIZE * CLUSTER_SIZE;
+            int originY = (source / width) / CLUSTER_SIZE * CLUSTER_SIZE;
+            int sizeX = Math.min(CLUSTER_SIZE, width - originX);
+            int sizeY = Math.min(CLUSTER_SIZE, height - originY);
+
+            int local = (source % width - originX) + (source / width - originY) * CLUSTER_SIZE;
+            localStamp[local] = localCurrent;
+            localDist[local] = 0;
+            localOpen.push(local, 0, 0);
+            while (!localOpen.isEmpty()) {
+                int current = localOpen.pop();
+                int lx = current % CLUSTER_SIZE;
+                int ly = current / CLUSTER_SIZE;
+                for (int i = 0; i < AStarSearch.DX.length; i++) {
+                    int nx = lx + AStarSearch.DX[i];
+                    int ny = ly + AStarSearch.DY[i];
+                    if (nx < 0 || ny < 0 || nx >= sizeX || ny >= sizeY || !isWalkable(originX + nx, originY + ny)) {
+                        continue;
+                    }
+                    int next = nx + ny * CLUSTER_SIZE;
+                    float distance = localDist[current] + AStarSearch.COST[i];
+                    if (localStamp[next] != localCurrent || distance < localDist[next]) {
+                        localStamp[next] = localCurrent;
+                        localDist[next] = distance;
+                        localOpen.push(next, distance, 0);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param tile A tile id within the cluster of the last cluster search
+         * @return The cost of reaching the tile found by the last cluster search, negative if it could not be reached
+         */
+        private float clusterDistance(int tile) {
+            int local = (tile % width) % CLUSTER_SIZE + ((tile / width) % CLUSTER_SIZE) * CLUSTER_SIZE;
+            return localStamp[local] == localCurrent ? localDist[local] : -1;
+        }
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return grid.inBounds(x, y) && NavGrid.isSet(clearance, x + y * width);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * A* search that routes around the tiles other objects have reserved (see ReservationTable). The object is taken
+ * to reach each tile at the step given by the cost of the route to it, and a tile cannot be entered if another
+ * object has reserved a tile within the spacing around that step. Reservations past the window are not known yet,
+ * so beyond the window the search is the same as A*
+ * @author Dan Wade
+ */
+public class CooperativeSearch extends AStarSearch {
+
+    private ReservationTable reservations;
+    private Object owner;
+    private int spacing;
+    private int startStep;
+
+    /**
+     * @param grid The navigation grid to search over
+     */
+    public CooperativeSearch(NavGrid grid) {
+        super(grid);
+    }
+
+    /**
+     * Set the reservations to route around for the following searches
+     *
+     * @param reservations The reservations made by the objects that have already planned
+     * @param owner        The object being pathed, its own reservations are ignored
+     * @param spacing      The distance in tiles the object has to keep from other objects
+     */
+    public void setReservations(ReservationTable reservations, Object owner, int spacing) {
+        this.reservations = reservations;
+        this.owner = owner;
+        this.spacing = spacing;
+    }
+
+    @Override
+    public void begin(int start, int goal, long[] clearance, Heuristic heuristic) {
+        startStep = reservations == null ? 0 : reservations.getStep();
+        super.begin(start, goal, clearance, heuristic);
+    }
+
+    /**
+     * Add every walkable neighbouring tile that is not reserved by another object when it would be reached
+     *
+     * @param current The tile being expanded
+     */
+    @Override
+    protected void expand(int current) {
+        int x = current % width;
+        int y = current / width;
+        float cost = getCost(current);
+        for (int i = 0; i < DX.length; i++) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (!isWalkable(nx, ny)) {
+                continue;
+            }
+            int next = nx + ny * width;
+            if (reservations != null && reservations.isReserved(next, startStep + Math.round(cost + COST[i]), spacing, owner)) {
+                continue;
+            }
+            relax(current, next, COST[i]);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Incremental planner (D* Lite) over a NavGrid. The search runs backwards from the goal, so when tiles become blocked
+ * or free again, or the object moves along, only the part of the search affected by the change is repaired instead
+ * of searching again from scratch. One planner is kept per object as the search state belongs to its goal
+ * @author Dan Wade
+ */
+public class DStarLite {
+
+    private final NavGrid grid;
+    private final long[] clearance;
+    private final int width;
+
+    // cost from each tile to the goal, and the one step lookahead of that cost
+    private final float[] g;
+    private final float[] rhs;
+    private final NodeHeap open;
+    // tiles the object cannot currently travel through on top of its clearance class
+    private final long[] blocked;
+    private int[] blockedTiles = new int[0];
+
+    private int start = -1;
+    private int goal = -1;
+    private int lastStart = -1;
+    // added to every key after the start moves, so keys already in the open list stay valid lower bounds
+    private float keyModifier = 0;
+    private int expansions;
+
+    /**
+     * @param grid      The navigation grid to plan over
+     * @param clearance The clearance class of the object being pathed (see NavGrid.getClearanceClass)
+     */
+    public DStarLite(NavGrid grid, long[] clearance) {
+        this.grid = grid;
+        this.clearance = clearance;
+        this.width = grid.getWidth();
+        int size = grid.getWidth() * grid.getHeight();
+        g = new float[size];
+        rhs = new float[size];
+        open = new NodeHeap(size);
+        blocked = new long[(size + 63) >> 6];
+    }
+
+    /**
+     * Plan from a start tile to a goal tile. If the goal is the same as the last plan the previous search is repaired,
+     * otherwise the planner starts again from the new goal
+     *
+     * @param start         The tile id the object is at
+     * @param goal          The tile id to reach
+     * @param maxExpansions The maximum number of tiles to expand before giving up
+     * @return If a path was found
+     */
+    public boolean plan(int start, int goal, int maxExpansions) {
+        if (goal != this.goal) {
+            this.start = start;
+            lastStart = start;
+            reset(goal);
+        } else {
+            // the heuristic is measured from the start, so every key is now too high by at most the distance moved
+            keyModifier += heuristic(lastStart, start);
+            lastStart = start;
+            this.start = start;
+        }
+        return computeShortestPath(maxExpansions);
+    }
+
+    /**
+     * Replace the tiles that are blocked on top of the clearance class, the tiles blocked before are freed.
+     * Only the tiles that change are updated, the path is repaired on the next call to plan
+     *
+     * @param tiles The tile ids to block
+     */
+    public void setBlocked(int[] tiles) {
+        int[] previous = blockedTiles;
+        for (int tile : previous) {
+            blocked[tile >> 6] &= ~(1L << tile);
+        }
+        for (int tile : tiles) {
+            blocked[tile >> 6] |= 1L << tile;
+        }
+        blockedTiles = tiles.clone();
+        if (goal == -1) {
+            return;
+        }
+        for (int tile : previous) {
+            if (!NavGrid.isSet(blocked, tile)) {
+                updateAround(tile);
+            }
+        }
+        for (int tile : tiles) {
+            updateAround(tile);
+        }
+    }
+
+    /**
+     * @return The tile ids currently blocked on top of the clearance class
+     */
+    public int[] getBlocked() {
+        return blockedTiles.clone();
+    }
+
+    /**
+     * @param tile The tile id
+     * @return If the object can travel through the tile
+     */
+    public boolean isWalkable(int tile) {
+        return NavGrid.isSet(clearance, tile) && !NavGrid.isSet(blocked, tile);
+    }
+
+    /**
+     * Get the tiles along the path found by the last plan, by stepping from the start to the cheapest neighbour
+     *
+     * @return The tile ids from the start to the goal inclusive, or null if the goal cannot be reached
+     */
+    public int[] getPath() {
+        if (start == -1 || g[start] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+        int[] tiles = new int[16];
+        int length = 0;
+        int current = start;
+        tiles[length++] = current;
+        // a path never visits more tiles than there are on the grid
+        int maxLength = g.length;
+        while (current != goal && length < maxLength) {
+            int best = -1;
+            float bestCost = Float.POSITIVE_INFINITY;
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < AStarSearch.DX.length; i++) {
+                int nx = x + AStarSearch.DX[i];
+                int ny = y + AStarSearch.DY[i];
+                if (!grid.inBounds(nx, ny)) {
+                    continue;
+                }
+                int next = nx + ny * width;
+                float cost = cost(current, next, AStarSearch.COST[i]) + g[next];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = next;
+                }
+            }
+            if (best == -1) {
+                return null;
+            }
+            if (length == tiles.length) {
+                tiles = Arrays.copyOf(tiles, length * 2);
+            }
+            tiles[length++] = best;
+            current = best;
+        }
+        return current == goal ? Arrays.copyOf(tiles, length) : null;
+    }
+
+    /**
+     * @return The tile id planned towards, -1 if nothing has been planned
+     */
+    public int getGoal() {
+        return goal;
+    }
+
+    /**
+     * @return The number of tiles expanded by the last plan
+     */
+    public int getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * @return The clearance class the planner was built for
+     */
+    public long[] getClearance() {
+        return clearance;
+    }
+
+    private void reset(int goal) {
+        this.goal = goal;
+        keyModifier = 0;
+        Arrays.fill(g, Float.POSITIVE_INFINITY);
+        Arrays.fill(rhs, Float.POSITIVE_INFINITY);
+        open.clear();
+        rhs[goal] = 0;
+        open.push(goal, heuristic(start, goal), 0);
+    }
+
+    private boolean computeShortestPath(int maxExpansions) {
+        expansions = 0;
+        while (!open.isEmpty() && (keyLess(open.peek(), start) || rhs[start] != g[start])) {
+            if (expansions >= maxExpansions) {
+                return false;
+            }
+            expansions++;
+            int current = open.peek();
+            float oldKey = open.getKey(current);
+            float newKey = key(current);
+            if (oldKey < newKey) {
+                // the key was made before the start moved
+                open.push(current, newKey, Math.min(g[current], rhs[current]));
+            } else if (g[current] > rhs[current]) {
+                g[current] = rhs[current];
+                open.pop();
+                updateNeighbours(current);
+            } else {
+                g[current] = Float.POSITIVE_INFINITY;
+                updateVertex(current);
+                updateNeighbours(current);
+            }
+        }
+        return g[start] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return If the key of tile a in the open list is below the key tile b would have
+     */
+    private boolean keyLess(int a, int b) {
+        float keyA = open.getKey(a);
+        float keyB = key(b);
+        if (keyA != keyB) {
+            return keyA < keyB;
+        }
+        return open.getTieBreak(a) < Math.min(g[b], rhs[b]);
+    }
+
+    private float key(int tile) {
+        return Math.min(g[tile], rhs[tile]) + heuristic(start, tile) + keyModifier;
+    }
+
+    private void updateAround(int tile) {
+        updateVertex(tile);
+        updateNeighbours(tile);
+    }
+
+    private void updateNeighbours(int tile) {
+        int x = tile % width;
+        int y = tile / width;
+        for (int i = 0; i < AStarSearch.DX.length; i++) {
+            int nx = x + AStarSearch.DX[i];
+            int ny = y + AStarSearch.DY[i];
+            if (grid.inBounds(nx, ny)) {
+                updateVertex(nx + ny * width);
+            }
+        }
+    }
+
+    private void updateVertex(int tile) {
+        if (tile != goal) {
+            float best = Float.POSITIVE_INFINITY;
+            int x = tile % width;
+            int y = tile / width;
+            for (int i = 0; i < AStarSearch.DX.length; i++) {
+                int nx = x + AStarSearch.DX[i];
+                int ny = y + AStarSearch.DY[i];
+                if (grid.inBounds(nx, ny)) {
+                    int next = nx + ny * width;
+                    best = Math.min(best, cost(tile, next, AStarSearch.COST[i]) + g[next]);
+                }
+            }
+            rhs[tile] = best;
+        }
+        if (g[tile] != rhs[tile]) {
+            open.push(tile, key(tile), Math.min(g[tile], rhs[tile]));
+        } else {
+            open.remove(tile);
+        }
+    }
+
+    /**
+     * @return The cost of moving between two neighbouring tiles, infinite if either cannot be travelled through
+     */
+    private float cost(int from, int to, float step) {
+        return isWalkable(from) && isWalkable(to) ? step : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Octile distance, the cost of the path between two tiles if nothing was in the way
+     */
+    private float heuristic(int from, int to) {
+        int dx = Math.abs(from % width - to % width);
+        int dy = Math.abs(from / width - to / width);
+        return Math.max(dx, dy) + (AStarSearch.DIAGONAL - 1) * Math.min(dx, dy);
+    }
+}
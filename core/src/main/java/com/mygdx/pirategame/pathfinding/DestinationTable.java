@@ -0,0 +1,219 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Random;
+
+/**
+ * Every tile corner within an area that an object of a given size can sit on, built once so a random destination
+ * can be drawn straight from the table instead of guessing locations until one lands on open water.
+ * The tiles are grouped into square buckets so destinations can also be drawn from a smaller window of the area
+ * @author Dan Wade
+ */
+public class DestinationTable {
+
+    /**
+     * The size of a bucket in tiles
+     */
+    public static final int BUCKET_SIZE = 16;
+
+    /**
+     * The number of draws made when drawing from a window before settling for a tile just outside of it
+     */
+    public static final int MAX_ATTEMPTS = 16;
+
+    private final int width;
+    private final int bucketsX;
+    private final int bucketsY;
+    // the tiles of bucket b are tiles[bucketStart[b]] to tiles[bucketStart[b + 1]] exclusive
+    private final int[] bucketStart;
+    private final int[] tiles;
+
+    /**
+     * Build the table for a rectangle of tiles, the rectangle is clipped to the grid
+     *
+     * @param grid      The navigation grid
+     * @param clearance The clearance class of the objects the destinations are for (see NavGrid.getClearanceClass)
+     * @param x0        The lowest tile x (inclusive)
+     * @param y0        The lowest tile y (inclusive)
+     * @param x1        The highest tile x (inclusive)
+     * @param y1        The highest tile y (inclusive)
+     */
+    public DestinationTable(NavGrid grid, long[] clearance, int x0, int y0, int x1, int y1) {
+        width = grid.getWidth();
+        bucketsX = (grid.getWidth() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        bucketsY = (grid.getHeight() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        x0 = Math.max(x0, 0);
+        y0 = Math.max(y0, 0);
+        x1 = Math.min(x1, grid.getWidth() - 1);
+        y1 = Math.min(y1, grid.getHeight() - 1);
+
+        // counting the tiles in each bucket first so the tiles can be laid out bucket by bucket
+        bucketStart = new int[bucketsX * bucketsY + 1];
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                if (NavGrid.isSet(clearance, x + y * width)) {
+                    bucketStart[bucketOf(x, y) + 1]++;
+                }
+            }
+        }
+        for (int b = 0; b < bucketsX * bucketsY; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        tiles = new int[bucketStart[bucketsX * bucketsY]];
+        int[] next = new int[bucketsX * bucketsY];
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                if (NavGrid.isSet(clearance, x + y * width)) {
+                    int bucket = bucketOf(x, y);
+                    tiles[bucketStart[bucket] + next[bucket]++] = x + y * width;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of tiles in the table
+     */
+    public int size() {
+        return tiles.length;
+    }
+
+    /**
+     * Draw a tile from anywhere in the table, every tile is equally likely
+     *
+     * @param random The random number generator to draw with
+     * @return The tile id, or -1 if the table is empty
+     */
+    public int draw(Random random) {
+        if (tiles.length == 0) {
+            return -1;
+        }
+        return tiles[random.nextInt(tiles.length)];
+    }
+
+    /**
+     * Draw a tile from anywhere in the table that lies within a region, every tile of the region is equally likely.
+     * If none of the tiles lie within the region the draw is counted as rejected by the regions
+     *
+     * @param random  The random number generator to draw with
+     * @param regions The regions of the clearance class the table was built for
+     * @param region  The region the tile has to lie within, usually the region the object is in
+     * @return The tile id, or -1 if no tile in the table lies within the region
+     */
+    public int draw(Random random, WaterRegions regions, int region) {
+        if (tiles.length == 0) {
+            return -1;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int tile = tiles[random.nextInt(tiles.length)];
+            if (regions.getRegion(tile) == region) {
+                return tile;
+            }
+        }
+        // most of the table lies in other regions, taking the first tile in the region from a random point instead
+        int start = random.nextInt(tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            int tile = tiles[(start + i) % tiles.length];
+            if (regions.getRegion(tile) == region) {
+                return tile;
+            }
+        }
+        regions.reject();
+        return -1;
+    }
+
+    /**
+     * Draw a tile within a window of the table. Tiles are drawn from the buckets the window overlaps until one lands
+     * in the window, after MAX_ATTEMPTS draws the last tile drawn is used even though it sits just outside the window
+     *
+     * @param random The random number generator to draw with
+     * @param x0     The lowest tile x of the window (inclusive)
+     * @param y0     The lowest tile y of the window (inclusive)
+     * @param x1     The highest tile x of the window (inclusive)
+     * @param y1     The highest tile y of the window (inclusive)
+     * @return The tile id, or -1 if there are no tiles in the buckets the window overlaps
+     */
+    public int draw(Random random, int x0, int y0, int x1, int y1) {
+        return draw(random, x0, y0, x1, y1, null, WaterRegions.NO_REGION);
+    }
+
+    /**
+     * Draw a tile within a window of the table that lies within a region, as with draw the tile may sit just
+     * outside of the window. If none of the tiles in the buckets the window overlaps lie within the region the draw
+     * is counted as rejected by the regions
+     *
+     * @param random  The random number generator to draw with
+     * @param x0      The lowest tile x of the window (inclusive)
+     * @param y0      The lowest tile y of the window (inclusive)
+     * @param x1      The highest tile x of the window (inclusive)
+     * @param y1      The highest tile y of the window (inclusive)
+     * @param regions The regions of the clearance class the table was built for, null to accept any region
+     * @param region  The region the tile has to lie within, usually the region the object is in
+     * @return The tile id, or -1 if no tile in the buckets the window overlaps lies within the region
+     */
+    public int draw(Random random, int x0, int y0, int x1, int y1, WaterRegions regions, int region) {
+        int bx0 = Math.max(0, x0 / BUCKET_SIZE);
+        int by0 = Math.max(0, y0 / BUCKET_SIZE);
+        int bx1 = Math.min(bucketsX - 1, x1 / BUCKET_SIZE);
+        int by1 = Math.min(bucketsY - 1, y1 / BUCKET_SIZE);
+        int total = 0;
+        for (int by = by0; by <= by1; by++) {
+            for (int bx = bx0; bx <= bx1; bx++) {
+                total += bucketSize(bx + by * bucketsX);
+            }
+        }
+        if (total == 0) {
+            return -1;
+        }
+
+        int fallback = -1;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int tile = tileAt(random.nextInt(total), bx0, by0, bx1, by1);
+            if (regions != null && regions.getRegion(tile) != region) {
+                continue;
+            }
+            int x = tile % width;
+            int y = tile / width;
+            if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                return tile;
+            }
+            fallback = tile;
+        }
+        if (fallback != -1 || regions == null) {
+            return fallback;
+        }
+        // none of the draws landed in the region, taking the first tile in the region from a random point instead
+        int start = random.nextInt(total);
+        for (int i = 0; i < total; i++) {
+            int tile = tileAt((start + i) % total, bx0, by0, bx1, by1);
+            if (regions.getRegion(tile) == region) {
+                return tile;
+            }
+        }
+        regions.reject();
+        return -1;
+    }
+
+    /**
+     * @return The tile at an index counting through the tiles of the buckets between two buckets inclusive
+     */
+    private int tileAt(int index, int bx0, int by0, int bx1, int by1) {
+        for (int by = by0; by <= by1; by++) {
+            for (int bx = bx0; bx <= bx1; bx++) {
+                int bucket = bx + by * bucketsX;
+                if (index < bucketSize(bucket)) {
+                    return tiles[bucketStart[bucket] + index];
+                }
+                index -= bucketSize(bucket);
+            }
+        }
+        return -1;
+    }
+
+    private int bucketSize(int bucket) {
+        return bucketStart[bucket + 1] - bucketStart[bucket];
+    }
+
+    private int bucketOf(int x, int y) {
+        return x / BUCKET_SIZE + (y / BUCKET_SIZE) * bucketsX;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * The straight line distance between two tiles, ignoring anything in the way
+ * @author Dan Wade
+ */
+public class EuclideanHeuristic implements Heuristic {
+
+    private final int width;
+
+    /**
+     * @param width The width of the grid in tiles
+     */
+    public EuclideanHeuristic(int width) {
+        this.width = width;
+    }
+
+    @Override
+    public float estimate(int from, int to) {
+        int dx = from % width - to % width;
+        int dy = from / width - to / width;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,135 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Shortest route from every tile of the map to a single goal tile, found with one run of Dijkstra's algorithm
+ * outwards from the goal. Any number of objects heading to the same goal can then read the next tile to travel to
+ * without searching for a path of their own. The field is only rebuilt when the goal moves to another tile
+ * @author Dan Wade
+ */
+public class FlowField {
+
+    private final NavGrid grid;
+    private final long[] clearance;
+    private final int width;
+
+    private final float[] distance;
+    // the next tile on the way to the goal, -1 for the goal and for tiles that cannot reach it
+    private final int[] next;
+    private final NodeHeap open;
+    private int goal = -1;
+    private int refreshes = 0;
+
+    /**
+     * @param grid      The navigation grid to build the field over
+     * @param clearance The clearance class of the objects following the field (see NavGrid.getClearanceClass)
+     */
+    public FlowField(NavGrid grid, long[] clearance) {
+        this.grid = grid;
+        this.clearance = clearance;
+        this.width = grid.getWidth();
+        int size = grid.getWidth() * grid.getHeight();
+        distance = new float[size];
+        next = new int[size];
+        open = new NodeHeap(size);
+    }
+
+    /**
+     * Move the goal of the field, the field is only rebuilt if the goal is on a different tile
+     *
+     * @param goal The tile id to head towards
+     */
+    public void setGoal(int goal) {
+        if (goal == this.goal) {
+            return;
+        }
+        this.goal = goal;
+        refreshes++;
+
+        Arrays.fill(distance, Float.POSITIVE_INFINITY);
+        Arrays.fill(next, -1);
+        open.clear();
+        // the goal is always seeded, even if the objects cannot sit on it, so they still get as close as possible
+        distance[goal] = 0;
+        open.push(goal, 0, 0);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < AStarSearch.DX.length; i++) {
+                int nx = x + AStarSearch.DX[i];
+                int ny = y + AStarSearch.DY[i];
+                if (!grid.inBounds(nx, ny) || !NavGrid.isSet(clearance, nx + ny * width)) {
+                    continue;
+                }
+                int neighbour = nx + ny * width;
+                float cost = distance[current] + AStarSearch.COST[i];
+                if (cost < distance[neighbour]) {
+                    distance[neighbour] = cost;
+                    // travelling back along the edge leads towards the goal
+                    next[neighbour] = current;
+                    open.push(neighbour, cost, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The tile id the field leads to, -1 if no goal has been set
+     */
+    public int getGoal() {
+        return goal;
+    }
+
+    /**
+     * @return The number of times the field has been rebuilt
+     */
+    public int getRefreshes() {
+        return refreshes;
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The cost in tiles of travelling from the tile to the goal, infinite if the goal cannot be reached
+     */
+    public float getDistance(int tile) {
+        return distance[tile];
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The next tile on the way to the goal, -1 if the tile is the goal or cannot reach it
+     */
+    public int getNextTile(int tile) {
+        return next[tile];
+    }
+
+    /**
+     * Follow the field from a tile for a number of steps
+     *
+     * @param tile     The tile id to start from
+     * @param maxSteps The maximum number of tiles to travel
+     * @return The tile ids from the start inclusive, or null if the goal cannot be reached from the tile
+     */
+    public int[] follow(int tile, int maxSteps) {
+        if (distance[tile] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+        int[] tiles = new int[maxSteps + 1];
+        int length = 0;
+        tiles[length++] = tile;
+        while (length <= maxSteps && next[tile] != -1) {
+            tile = next[tile];
+            tiles[length++] = tile;
+        }
+        return Arrays.copyOf(tiles, length);
+    }
+
+    /**
+     * @return The clearance class the field was built for
+     */
+    public long[] getClearance() {
+        return clearance;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * Estimates the cost of travelling between two tiles, used by the searches to decide which tiles to expand first.
+ * An estimate must never be more than the true cost, or the searches may return paths that are longer than needed
+ * @author Dan Wade
+ */
+public interface Heuristic {
+
+    /**
+     * @param from The tile id to travel from
+     * @param to   The tile id to travel to
+     * @return The estimated cost in tiles
+     */
+    float estimate(int from, int to);
+}
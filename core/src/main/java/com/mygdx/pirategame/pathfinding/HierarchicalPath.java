@@ -0,0 +1,86 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * A path planned over a ClusterGraph. Only the leg of the route currently being travelled is refined into tiles,
+ * the legs after it are held as single waypoints until the leg before them has been travelled. The path always
+ * starts with the refined tiles, followed by each waypoint that is still to be refined
+ * @author Dan Wade
+ */
+public class HierarchicalPath extends TilePath {
+
+    private final PathFinder pathFinder;
+    private final long[] clearance;
+    private final int[] waypoints;
+    private final boolean smooth;
+    // the index of the waypoint at the end of the next leg to be refined
+    private int nextLeg = 1;
+
+    /**
+     * Create the path and refine its first leg
+     *
+     * @param pathFinder The path finder used to refine each leg
+     * @param clearance  The clearance class of the object travelling the path
+     * @param waypoints  The tile ids of the waypoints from the start to the goal inclusive
+     * @param smooth     If each leg should be cut down to the tiles where it changes direction
+     */
+    HierarchicalPath(PathFinder pathFinder, long[] clearance, int[] waypoints, boolean smooth) {
+        super(new int[]{waypoints[0]}, pathFinder.getNavGrid().getWidth(), pathFinder.getNavGrid().getTileSize());
+        this.pathFinder = pathFinder;
+        this.clearance = clearance;
+        this.waypoints = waypoints;
+        this.smooth = smooth;
+        refineNextLeg();
+    }
+
+    @Override
+    public int getTile(int index) {
+        int refined = super.size();
+        if (index < refined) {
+            return super.getTile(index);
+        }
+        return waypoints[nextLeg + index - refined];
+    }
+
+    @Override
+    public int size() {
+        return super.size() + waypoints.length - nextLeg;
+    }
+
+    @Override
+    public void advance() {
+        // making sure the tile being moved past has been refined
+        while (super.size() == 0 && nextLeg < waypoints.length) {
+            refineNextLeg();
+        }
+        super.advance();
+        // and that there is always a refined tile to head towards
+        while (super.size() == 0 && nextLeg < waypoints.length) {
+            refineNextLeg();
+        }
+    }
+
+    /**
+     * @return The number of legs that have not been refined into tiles yet
+     */
+    public int getUnrefinedLegs() {
+        return waypoints.length - nextLeg;
+    }
+
+    /**
+     * Search for the tiles between the last refined waypoint and the next one. If the leg cannot be refined the
+     * rest of the route is dropped, leaving the object to plan a new path once it reaches the end of what is left
+     */
+    private void refineNextLeg() {
+        int[] tiles = pathFinder.refineLeg(waypoints[nextLeg - 1], waypoints[nextLeg], clearance);
+        if (tiles == null) {
+            nextLeg = waypoints.length;
+            return;
+        }
+        nextLeg++;
+        if (smooth) {
+            tiles = PathSmoother.smooth(pathFinder.getNavGrid(), clearance, tiles);
+        }
+        // the first tile is the end of the previous leg
+        append(tiles, 1);
+    }
+}
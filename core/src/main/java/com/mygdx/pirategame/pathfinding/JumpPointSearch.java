@@ -0,0 +1,129 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * Jump Point Search over a NavGrid. On a uniform cost grid most of the tiles A* expands are symmetric alternatives
+ * of the same path, so instead of adding every neighbour to the open list the search jumps in straight and diagonal
+ * lines and only stops at tiles where the route could turn (jump points). Paths found are the same length as A*
+ * and getPath still returns every tile along the way
+ * @author Dan Wade
+ */
+public class JumpPointSearch extends AStarSearch {
+
+    private int goal;
+
+    /**
+     * @param grid The navigation grid to search over
+     */
+    public JumpPointSearch(NavGrid grid) {
+        super(grid);
+    }
+
+    @Override
+    public void begin(int start, int goal, long[] clearance, Heuristic heuristic) {
+        this.goal = goal;
+        super.begin(start, goal, clearance, heuristic);
+    }
+
+    /**
+     * Jump in each direction that is not pruned by the direction the tile was reached from
+     *
+     * @param current The tile being expanded
+     */
+    @Override
+    protected void expand(int current) {
+        int x = current % width;
+        int y = current / width;
+        int from = getParent(current);
+        if (from == -1) {
+            // the start tile has no direction of travel so nothing can be pruned
+            for (int i = 0; i < DX.length; i++) {
+                jumpFrom(current, x, y, DX[i], DY[i]);
+            }
+            return;
+        }
+        int dx = Integer.signum(x - from % width);
+        int dy = Integer.signum(y - from / width);
+
+        if (dx != 0 && dy != 0) {
+            jumpFrom(current, x, y, dx, dy);
+            jumpFrom(current, x, y, dx, 0);
+            jumpFrom(current, x, y, 0, dy);
+            // forced neighbours, moving around the corner of a blocked tile behind us
+            if (!isWalkable(x - dx, y)) {
+                jumpFrom(current, x, y, -dx, dy);
+            }
+            if (!isWalkable(x, y - dy)) {
+                jumpFrom(current, x, y, dx, -dy);
+            }
+        } else if (dx != 0) {
+            jumpFrom(current, x, y, dx, 0);
+            if (!isWalkable(x, y + 1)) {
+                jumpFrom(current, x, y, dx, 1);
+            }
+            if (!isWalkable(x, y - 1)) {
+                jumpFrom(current, x, y, dx, -1);
+            }
+        } else {
+            jumpFrom(current, x, y, 0, dy);
+            if (!isWalkable(x + 1, y)) {
+                jumpFrom(current, x, y, 1, dy);
+            }
+            if (!isWalkable(x - 1, y)) {
+                jumpFrom(current, x, y, -1, dy);
+            }
+        }
+    }
+
+    /**
+     * Jump from a tile in one direction and add the jump point found, if any, to the open list
+     */
+    private void jumpFrom(int current, int x, int y, int dx, int dy) {
+        int point = jump(x + dx, y + dy, dx, dy);
+        if (point == -1) {
+            return;
+        }
+        int steps = Math.max(Math.abs(point % width - x), Math.abs(point / width - y));
+        relax(current, point, dx != 0 && dy != 0 ? steps * DIAGONAL : steps);
+    }
+
+    /**
+     * Travel in a straight or diagonal line until reaching a jump point
+     *
+     * @param x  The tile x location to start at
+     * @param y  The tile y location to start at
+     * @param dx The x direction of travel
+     * @param dy The y direction of travel
+     * @return The tile id of the jump point, or -1 if the line runs into a blocked tile
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        while (isWalkable(x, y)) {
+            int tile = x + y * width;
+            if (tile == goal) {
+                return tile;
+            }
+            if (dx != 0 && dy != 0) {
+                if ((isWalkable(x - dx, y + dy) && !isWalkable(x - dx, y))
+                        || (isWalkable(x + dx, y - dy) && !isWalkable(x, y - dy))) {
+                    return tile;
+                }
+                // a diagonal step is a jump point if either of its straight lines reaches one
+                if (jump(x + dx, y, dx, 0) != -1 || jump(x, y + dy, 0, dy) != -1) {
+                    return tile;
+                }
+            } else if (dx != 0) {
+                if ((isWalkable(x + dx, y + 1) && !isWalkable(x, y + 1))
+                        || (isWalkable(x + dx, y - 1) && !isWalkable(x, y - 1))) {
+                    return tile;
+                }
+            } else {
+                if ((isWalkable(x + 1, y + dy) && !isWalkable(x + 1, y))
+                        || (isWalkable(x - 1, y + dy) && !isWalkable(x - 1, y))) {
+                    return tile;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,153 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Landmark heuristic (ALT) over a clearance class. The true cost from a few landmark tiles to every other tile is
+ * found once, then by the triangle inequality the cost between two tiles is at least the difference in their costs
+ * from any landmark. Unlike the straight line distance this accounts for the islands in the way, so a search
+ * expands far fewer tiles when the route has to go around them
+ * @author Dan Wade
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    /**
+     * The number of steps each tile is divided into when storing the costs
+     */
+    public static final int SCALE = 16;
+
+    // stored costs are rounded, the estimate is scaled down by this so it never drops by more than the cost of a move
+    private static final float ROUNDING = SCALE / (SCALE + 1f);
+    // tiles the landmark cannot reach, or that are further than can be stored
+    private static final short UNKNOWN = Short.MAX_VALUE;
+
+    private final int width;
+    private final int[] landmarks;
+    // the cost from each landmark to every tile, in steps of 1 / SCALE tiles rounded down
+    private final short[][] costs;
+    private final OctileHeuristic octile;
+
+    /**
+     * @param grid      The navigation grid
+     * @param clearance The clearance class of the objects being pathed (see NavGrid.getClearanceClass)
+     * @param landmarks The tile ids of the landmarks, each should be in the clearance class
+     */
+    public LandmarkHeuristic(NavGrid grid, long[] clearance, int[] landmarks) {
+        this.width = grid.getWidth();
+        this.landmarks = landmarks.clone();
+        this.octile = new OctileHeuristic(width);
+        costs = new short[landmarks.length][];
+        float[] distance = new float[grid.getWidth() * grid.getHeight()];
+        NodeHeap open = new NodeHeap(distance.length);
+        for (int i = 0; i < landmarks.length; i++) {
+            findCosts(grid, clearance, landmarks[i], distance, open);
+            costs[i] = store(distance);
+        }
+    }
+
+    /**
+     * Choose landmarks spread as far apart as possible, each landmark is the tile furthest from all of those
+     * chosen before it. Landmarks at the edges of the water give the best estimates for routes across the map
+     *
+     * @param grid      The navigation grid
+     * @param clearance The clearance class of the objects being pathed (see NavGrid.getClearanceClass)
+     * @param seed      A tile id in the clearance class, landmarks are chosen from the tiles it can reach
+     * @param count     The number of landmarks to choose, fewer are chosen if there are not enough tiles
+     */
+    public LandmarkHeuristic(NavGrid grid, long[] clearance, int seed, int count) {
+        this.width = grid.getWidth();
+        this.octile = new OctileHeuristic(width);
+        float[] distance = new float[grid.getWidth() * grid.getHeight()];
+        float[] nearest = new float[distance.length];
+        NodeHeap open = new NodeHeap(distance.length);
+        int[] chosen = new int[count];
+        short[][] chosenCosts = new short[count][];
+        int chosenCount = 0;
+        // the seed is only used to find the first landmark, the furthest tile from it
+        findCosts(grid, clearance, seed, distance, open);
+        System.arraycopy(distance, 0, nearest, 0, distance.length);
+        while (chosenCount < count) {
+            int furthest = -1;
+            for (int tile = 0; tile < nearest.length; tile++) {
+                if (nearest[tile] != Float.POSITIVE_INFINITY && (furthest == -1 || nearest[tile] > nearest[furthest])) {
+                    furthest = tile;
+                }
+            }
+            if (furthest == -1 || (chosenCount > 0 && nearest[furthest] == 0)) {
+                break;
+            }
+            findCosts(grid, clearance, furthest, distance, open);
+            chosen[chosenCount] = furthest;
+            chosenCosts[chosenCount++] = store(distance);
+            for (int tile = 0; tile < nearest.length; tile++) {
+                nearest[tile] = chosenCount == 1 ? distance[tile] : Math.min(nearest[tile], distance[tile]);
+            }
+        }
+        landmarks = Arrays.copyOf(chosen, chosenCount);
+        costs = Arrays.copyOf(chosenCosts, chosenCount);
+    }
+
+    @Override
+    public float estimate(int from, int to) {
+        float best = octile.estimate(from, to);
+        for (short[] cost : costs) {
+            short a = cost[from];
+            short b = cost[to];
+            if (a == UNKNOWN || b == UNKNOWN) {
+                continue;
+            }
+            // each cost may have been rounded down by up to a step
+            int steps = Math.abs(a - b) - 1;
+            best = Math.max(best, steps * ROUNDING / SCALE);
+        }
+        return best;
+    }
+
+    /**
+     * @return The tile ids of the landmarks
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * @return The costs rounded down to steps of 1 / SCALE tiles
+     */
+    private static short[] store(float[] distance) {
+        short[] cost = new short[distance.length];
+        for (int tile = 0; tile < distance.length; tile++) {
+            float steps = distance[tile] * SCALE;
+            cost[tile] = steps < UNKNOWN ? (short) steps : UNKNOWN;
+        }
+        return cost;
+    }
+
+    /**
+     * Dijkstra's algorithm outwards from a tile over the clearance class
+     */
+    private static void findCosts(NavGrid grid, long[] clearance, int source, float[] distance, NodeHeap open) {
+        int width = grid.getWidth();
+        Arrays.fill(distance, Float.POSITIVE_INFINITY);
+        open.clear();
+        distance[source] = 0;
+        open.push(source, 0, 0);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < AStarSearch.DX.length; i++) {
+                int nx = x + AStarSearch.DX[i];
+                int ny = y + AStarSearch.DY[i];
+                if (!grid.inBounds(nx, ny) || !NavGrid.isSet(clearance, nx + ny * width)) {
+                    continue;
+                }
+                int neighbour = nx + ny * width;
+                float cost = distance[current] + AStarSearch.COST[i];
+                if (cost < distance[neighbour]) {
+                    distance[neighbour] = cost;
+                    open.push(neighbour, cost, 0);
+                }
+            }
+        }
+    }
+}
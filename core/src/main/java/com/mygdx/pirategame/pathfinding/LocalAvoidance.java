@@ -0,0 +1,356 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.mygdx.pirategame.world.SpatialHash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steers agents around one another with optimal reciprocal collision avoidance (ORCA). Paths only keep agents off
+ * land, so agents heading along crossing paths would run into one another. Each neighbour rules out the velocities
+ * that would collide with it within the time horizon, leaving a half plane of permitted velocities that takes half
+ * the responsibility for avoiding the collision, as the neighbour takes the other half. The permitted velocity
+ * closest to the velocity the agent wants is then found with a small linear program.
+ * Neighbours are found from a spatial hash of every agent built once each update
+ * @author Dan Wade
+ */
+public class LocalAvoidance {
+
+    /**
+     * How far ahead in seconds collisions are avoided, sooner collisions are avoided more sharply
+     */
+    public static final float TIME_HORIZON = 2;
+
+    /**
+     * Agents further apart than this in world units are ignored
+     */
+    public static final float NEIGHBOUR_RANGE = 5;
+
+    /**
+     * The most neighbours each agent avoids, the closest are kept
+     */
+    public static final int MAX_NEIGHBOURS = 10;
+
+    private static final float EPSILON = 0.00001f;
+
+    private final SpatialHash<AvoidanceAgent> agents;
+    // reused every call, so avoiding never allocates
+    private final List<AvoidanceAgent> found = new ArrayList<>();
+    private final AvoidanceAgent[] neighbours = new AvoidanceAgent[MAX_NEIGHBOURS];
+    private final float[] neighbourDistance = new float[MAX_NEIGHBOURS];
+    // the half plane each neighbour permits, a point on its line and the direction of the line,
+    // the permitted velocities lie to the left of the line
+    private final float[] pointX = new float[MAX_NEIGHBOURS];
+    private final float[] pointY = new float[MAX_NEIGHBOURS];
+    private final float[] directionX = new float[MAX_NEIGHBOURS];
+    private final float[] directionY = new float[MAX_NEIGHBOURS];
+    // the half planes projected onto a line when no velocity is permitted by every half plane
+    private final float[] projectedPointX = new float[MAX_NEIGHBOURS];
+    private final float[] projectedPointY = new float[MAX_NEIGHBOURS];
+    private final float[] projectedDirectionX = new float[MAX_NEIGHBOURS];
+    private final float[] projectedDirectionY = new float[MAX_NEIGHBOURS];
+    private float resultX;
+    private float resultY;
+
+    /**
+     * @param agents The spatial hash of every agent at its position in world units, built before any agent avoids
+     */
+    public LocalAvoidance(SpatialHash<AvoidanceAgent> agents) {
+        this.agents = agents;
+    }
+
+    /**
+     * @return The spatial hash neighbours are found from
+     */
+    public SpatialHash<AvoidanceAgent> getAgents() {
+        return agents;
+    }
+
+    /**
+     * Adjust the velocity an agent wants so it does not run into any agents nearby
+     *
+     * @param agent     The agent avoiding the others
+     * @param preferred The velocity the agent wants, set to the velocity it should take
+     * @param maxSpeed  The fastest the agent can travel
+     * @param dt        The delta time of the update
+     * @return The preferred vector, holding the velocity the agent should take
+     */
+    public Vector2 avoid(AvoidanceAgent agent, Vector2 preferred, float maxSpeed, float dt) {
+        Body body = agent.getBody();
+        if (body == null || maxSpeed <= 0) {
+            return preferred;
+        }
+        float x = body.getPosition().x;
+        float y = body.getPosition().y;
+        float velocityX = body.getLinearVelocity().x;
+        float velocityY = body.getLinearVelocity().y;
+        float radius = agent.getAvoidanceRadius();
+        int count = findNeighbours(agent, x, y);
+        if (count == 0) {
+            return preferred;
+        }
+
+        float invTimeHorizon = 1 / TIME_HORIZON;
+        float invTimeStep = 1 / Math.max(dt, EPSILON);
+        int lines = 0;
+        for (int i = 0; i < count; i++) {
+            Body other = neighbours[i].getBody();
+            if (other == null) {
+                continue;
+            }
+            float relativeX = other.getPosition().x - x;
+            float relativeY = other.getPosition().y - y;
+            float relativeVelocityX = velocityX - other.getLinearVelocity().x;
+            float relativeVelocityY = velocityY - other.getLinearVelocity().y;
+            float distanceSq = relativeX * relativeX + relativeY * relativeY;
+            float combinedRadius = radius + neighbours[i].getAvoidanceRadius();
+            float combinedRadiusSq = combinedRadius * combinedRadius;
+            float lineX;
+            float lineY;
+            // the smallest change to the relative velocity that leaves the velocity obstacle
+            float changeX;
+            float changeY;
+
+            if (distanceSq > combinedRadiusSq) {
+                // no collision yet, the velocity obstacle is a cone truncated by a circle at the time horizon
+                float wX = relativeVelocityX - invTimeHorizon * relativeX;
+                float wY = relativeVelocityY - invTimeHorizon * relativeY;
+                float wLengthSq = wX * wX + wY * wY;
+                float dot = wX * relativeX + wY * relativeY;
+                if (dot < 0 && dot * dot > combinedRadiusSq * wLengthSq) {
+                    // leaving through the circle
+                    float wLength = (float) Math.sqrt(wLengthSq);
+                    float unitX = wX / wLength;
+                    float unitY = wY / wLength;
+                    lineX = unitY;
+                    lineY = -unitX;
+                    float scale = combinedRadius * invTimeHorizon - wLength;
+                    changeX = scale * unitX;
+                    changeY = scale * unitY;
+                } else {
+                    // leaving through one of the legs of the cone
+                    float leg = (float) Math.sqrt(distanceSq - combinedRadiusSq);
+                    if (relativeX * wY - relativeY * wX > 0) {
+                        lineX = (relativeX * leg - relativeY * combinedRadius) / distanceSq;
+                        lineY = (relativeX * combinedRadius + relativeY * leg) / distanceSq;
+                    } else {
+                        lineX = -(relativeX * leg + relativeY * combinedRadius) / distanceSq;
+                        lineY = -(-relativeX * combinedRadius + relativeY * leg) / distanceSq;
+                    }
+                    float along = relativeVelocityX * lineX + relativeVelocityY * lineY;
+                    changeX = along * lineX - relativeVelocityX;
+                    changeY = along * lineY - relativeVelocityY;
+                }
+            } else {
+                // already overlapping, pushing apart within the next update
+                float wX = relativeVelocityX - invTimeStep * relativeX;
+                float wY = relativeVelocityY - invTimeStep * relativeY;
+                float wLength = (float) Math.sqrt(wX * wX + wY * wY);
+                float unitX = 1;
+                float unitY = 0;
+                if (wLength > EPSILON) {
+                    unitX = wX / wLength;
+                    unitY = wY / wLength;
+                }
+                lineX = unitY;
+                lineY = -unitX;
+                float scale = combinedRadius * invTimeStep - wLength;
+                changeX = scale * unitX;
+                changeY = scale * unitY;
+            }
+            // each agent takes half of the change
+            pointX[lines] = velocityX + 0.5f * changeX;
+            pointY[lines] = velocityY + 0.5f * changeY;
+            directionX[lines] = lineX;
+            directionY[lines] = lineY;
+            lines++;
+        }
+
+        int failed = linearProgram2(pointX, pointY, directionX, directionY, lines, maxSpeed, preferred.x, preferred.y, false);
+        if (failed < lines) {
+            linearProgram3(lines, failed, maxSpeed);
+        }
+        return preferred.set(resultX, resultY);
+    }
+
+    /**
+     * Find the closest agents to an agent, nearest first
+     *
+     * @param agent The agent
+     * @param x     The x coord of the agent in world units
+     * @param y     The y coord of the agent in world units
+     * @return The number of neighbours found
+     */
+    private int findNeighbours(AvoidanceAgent agent, float x, float y) {
+        found.clear();
+        agents.queryRadius(x, y, NEIGHBOUR_RANGE, found);
+        int count = 0;
+        for (int i = 0; i < found.size(); i++) {
+            AvoidanceAgent other = found.get(i);
+            Body body = other.getBody();
+            if (other == agent || body == null) {
+                continue;
+            }
+            float dx = body.getPosition().x - x;
+            float dy = body.getPosition().y - y;
+            float distanceSq = dx * dx + dy * dy;
+            if (count == MAX_NEIGHBOURS && distanceSq >= neighbourDistance[count - 1]) {
+                continue;
+            }
+            // inserting in order of distance, dropping the furthest when full
+            int j = count < MAX_NEIGHBOURS ? count++ : count - 1;
+            while (j > 0 && neighbourDistance[j - 1] > distanceSq) {
+                neighbours[j] = neighbours[j - 1];
+                neighbourDistance[j] = neighbourDistance[j - 1];
+                j--;
+            }
+            neighbours[j] = other;
+            neighbourDistance[j] = distanceSq;
+        }
+        found.clear();
+        return count;
+    }
+
+    /**
+     * Find the velocity along one line closest to the optimal velocity that is permitted by every earlier line
+     *
+     * @return If any velocity along the line is permitted
+     */
+    private boolean linearProgram1(float[] px, float[] py, float[] dx, float[] dy, int line, float radius,
+                                   float optX, float optY, boolean directionOpt) {
+        float dot = px[line] * dx[line] + py[line] * dy[line];
+        float discriminant = dot * dot + radius * radius - (px[line] * px[line] + py[line] * py[line]);
+        if (discriminant < 0) {
+            // the line misses the circle of speeds the agent can reach
+            return false;
+        }
+        float sqrtDiscriminant = (float) Math.sqrt(discriminant);
+        float tLeft = -dot - sqrtDiscriminant;
+        float tRight = -dot + sqrtDiscriminant;
+
+        for (int i = 0; i < line; i++) {
+            float denominator = dx[line] * dy[i] - dy[line] * dx[i];
+            float numerator = dx[i] * (py[line] - py[i]) - dy[i] * (px[line] - px[i]);
+            if (Math.abs(denominator) <= EPSILON) {
+                // the lines are parallel
+                if (numerator < 0) {
+                    return false;
+                }
+                continue;
+            }
+            float t = numerator / denominator;
+            if (denominator >= 0) {
+                tRight = Math.min(tRight, t);
+            } else {
+                tLeft = Math.max(tLeft, t);
+            }
+            if (tLeft > tRight) {
+                return false;
+            }
+        }
+
+        float t;
+        if (directionOpt) {
+            // optimising a direction, taking the furthest point along it
+            t = optX * dx[line] + optY * dy[line] > 0 ? tRight : tLeft;
+        } else {
+            // optimising a velocity, taking the closest point to it
+            t = Math.max(tLeft, Math.min(tRight, dx[line] * (optX - px[line]) + dy[line] * (optY - py[line])));
+        }
+        resultX = px[line] + t * dx[line];
+        resultY = py[line] + t * dy[line];
+        return true;
+    }
+
+    /**
+     * Find the velocity closest to the optimal velocity that is permitted by every line
+     *
+     * @return The number of lines, or the first line that could not be satisfied
+     */
+    private int linearProgram2(float[] px, float[] py, float[] dx, float[] dy, int lines, float radius,
+                               float optX, float optY, boolean directionOpt) {
+        if (directionOpt) {
+            // the optimal direction is a unit vector
+            resultX = optX * radius;
+            resultY = optY * radius;
+        } else if (optX * optX + optY * optY > radius * radius) {
+            float length = (float) Math.sqrt(optX * optX + optY * optY);
+            resultX = optX / length * radius;
+            resultY = optY / length * radius;
+        } else {
+            resultX = optX;
+            resultY = optY;
+        }
+
+        for (int i = 0; i < lines; i++) {
+            if (dx[i] * (py[i] - resultY) - dy[i] * (px[i] - resultX) > 0) {
+                // the result breaks the line, so the new result lies along it
+                float tempX = resultX;
+                float tempY = resultY;
+                if (!linearProgram1(px, py, dx, dy, i, radius, optX, optY, directionOpt)) {
+                    resultX = tempX;
+                    resultY = tempY;
+                    return i;
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Find the velocity breaking the lines by the least distance when no velocity is permitted by every line
+     *
+     * @param lines     The number of lines
+     * @param beginLine The first line that could not be satisfied
+     * @param radius    The fastest the agent can travel
+     */
+    private void linearProgram3(int lines, int beginLine, float radius) {
+        float distance = 0;
+        for (int i = beginLine; i < lines; i++) {
+            if (directionX[i] * (pointY[i] - resultY) - directionY[i] * (pointX[i] - resultX) <= distance) {
+                // the result breaks this line by no more than the lines before it
+                continue;
+            }
+            int projected = 0;
+            for (int j = 0; j < i; j++) {
+                float determinant = directionX[i] * directionY[j] - directionY[i] * directionX[j];
+                float lineX;
+                float lineY;
+                if (Math.abs(determinant) <= EPSILON) {
+                    if (directionX[i] * directionX[j] + directionY[i] * directionY[j] > 0) {
+                        // the lines point the same way
+                        continue;
+                    }
+                    // the lines point opposite ways
+                    lineX = 0.5f * (pointX[i] + pointX[j]);
+                    lineY = 0.5f * (pointY[i] + pointY[j]);
+                } else {
+                    float t = (directionX[j] * (pointY[i] - pointY[j]) - directionY[j] * (pointX[i] - pointX[j])) / determinant;
+                    lineX = pointX[i] + t * directionX[i];
+                    lineY = pointY[i] + t * directionY[i];
+                }
+                float directionLengthX = directionX[j] - directionX[i];
+                float directionLengthY = directionY[j] - directionY[i];
+                float length = (float) Math.sqrt(directionLengthX * directionLengthX + directionLengthY * directionLengthY);
+                projectedPointX[projected] = lineX;
+                projectedPointY[projected] = lineY;
+                projectedDirectionX[projected] = directionLengthX / length;
+                projectedDirectionY[projected] = directionLengthY / length;
+                projected++;
+            }
+
+            float tempX = resultX;
+            float tempY = resultY;
+            // optimising towards the direction leaving the line fastest
+            if (linearProgram2(projectedPointX, projectedPointY, projectedDirectionX, projectedDirectionY, projected,
+                    radius, -directionY[i], directionX[i], true) < projected) {
+                // this can only happen through small floating point errors, keeping the last result
+                resultX = tempX;
+                resultY = tempY;
+            }
+            distance = directionX[i] * (pointY[i] - resultY) - directionY[i] * (pointX[i] - resultX);
+        }
+    }
+}
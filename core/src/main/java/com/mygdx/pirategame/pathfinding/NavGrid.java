@@ -0,0 +1,316 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Navigation grid built once from the tile map so that traversability checks never have to read the tile layers.
+ * Blocked tiles are stored as a packed bitset along with a summed area table, so any rectangular footprint can be
+ * checked with four array reads. A clearance map holding the size of the largest open square of tiles at each tile
+ * answers square footprints of any size with a single comparison, so objects of every size share the one grid
+ * @author Dan Wade
+ */
+public class NavGrid {
+
+    /**
+     * The names of the tile layers that ships cannot travel through
+     */
+    public static final String[] BLOCKING_LAYERS = {"islands", "rocks + leaves"};
+
+    /**
+     * The spacing used when the footprint of an object was sampled against the tile layers
+     */
+    private static final int SAMPLE_STEP = 5;
+
+    private final int width;
+    private final int height;
+    private final float tileSize;
+
+    // one bit per tile, set if the tile is blocked
+    private final long[] blocked;
+    // number of blocked tiles in the rectangle (0, 0) -> (x, y) exclusive, stored with a stride of width + 1
+    private final int[] blockedSum;
+    // the side in tiles of the largest square with no blocked tiles that has its lower left corner on the tile,
+    // tiles outside of the grid are never blocked so squares can run off the top and right of the grid
+    private final short[] clearance;
+
+    // per footprint bitsets of the tile corners that an object of that size can sit on
+    private final Map<Long, long[]> clearanceClasses = new HashMap<>();
+
+    /**
+     * Build a navigation grid from the blocking layers of a tile map
+     *
+     * @param map      The tile map to build the grid from
+     * @param tileSize The size of a single tile in game units
+     * @return The created navigation grid
+     */
+    public static NavGrid fromTiledMap(TiledMap map, float tileSize) {
+        TiledMapTileLayer[] layers = new TiledMapTileLayer[BLOCKING_LAYERS.length];
+        int width = 0;
+        int height = 0;
+        for (int i = 0; i < BLOCKING_LAYERS.length; i++) {
+            layers[i] = (TiledMapTileLayer) map.getLayers().get(BLOCKING_LAYERS[i]);
+            width = Math.max(width, layers[i].getWidth());
+            height = Math.max(height, layers[i].getHeight());
+        }
+
+        boolean[] blockedTiles = new boolean[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (TiledMapTileLayer layer : layers) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    if (cell != null && cell.getTile().getId() != 0) {
+                        blockedTiles[x + y * width] = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return new NavGrid(width, height, tileSize, blockedTiles);
+    }
+
+    /**
+     * @param width        The width of the grid in tiles
+     * @param height       The height of the grid in tiles
+     * @param tileSize     The size of a single tile in game units
+     * @param blockedTiles Which tiles are blocked, indexed by x + y * width
+     */
+    public NavGrid(int width, int height, float tileSize, boolean[] blockedTiles) {
+        if (blockedTiles.length != width * height) {
+            throw new IllegalArgumentException("Blocked tiles must contain exactly width * height entries");
+        }
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+
+        blocked = new long[(width * height + 63) >> 6];
+        blockedSum = new int[(width + 1) * (height + 1)];
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            int rowSum = 0;
+            for (int x = 0; x < width; x++) {
+                int index = x + y * width;
+                if (blockedTiles[index]) {
+                    blocked[index >> 6] |= 1L << index;
+                    rowSum++;
+                }
+                blockedSum[(x + 1) + (y + 1) * stride] = blockedSum[(x + 1) + y * stride] + rowSum;
+            }
+        }
+
+        // each open square is one larger than the smallest of the squares above, to the right and diagonally
+        clearance = new short[width * height];
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = width - 1; x >= 0; x--) {
+                int index = x + y * width;
+                if (!blockedTiles[index]) {
+                    int size = Math.min(getClearance(x + 1, y), Math.min(getClearance(x, y + 1), getClearance(x + 1, y + 1)));
+                    clearance[index] = (short) Math.min(size + 1, Short.MAX_VALUE);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The width of the grid in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The height of the grid in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The size of a single tile in game units
+     */
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @param x The tile x location
+     * @param y The tile y location
+     * @return If the location is within the grid
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Check if a single tile is blocked, tiles outside of the grid are never blocked
+     *
+     * @param x The tile x location
+     * @param y The tile y location
+     * @return If the tile is blocked
+     */
+    public boolean isBlocked(int x, int y) {
+        if (!inBounds(x, y)) {
+            return false;
+        }
+        int index = x + y * width;
+        return (blocked[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Get the size of the largest square of tiles with no blocked tiles that has its lower left corner on a tile.
+     * An object whose footprint covers an n by n square of tiles starting at the tile fits if this is at least n
+     *
+     * @param x The tile x location
+     * @param y The tile y location
+     * @return The side of the square in tiles, 0 if the tile is blocked and Short.MAX_VALUE outside of the grid
+     */
+    public int getClearance(int x, int y) {
+        if (!inBounds(x, y)) {
+            return Short.MAX_VALUE;
+        }
+        return clearance[x + y * width];
+    }
+
+    /**
+     * Counts the blocked tiles within a rectangle of tiles, the rectangle is clipped to the grid
+     *
+     * @param x0 The lowest tile x (inclusive)
+     * @param y0 The lowest tile y (inclusive)
+     * @param x1 The highest tile x (inclusive)
+     * @param y1 The highest tile y (inclusive)
+     * @return The number of blocked tiles
+     */
+    public int countBlocked(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(x0, 0);
+        y0 = Math.max(y0, 0);
+        x1 = Math.min(x1, width - 1);
+        y1 = Math.min(y1, height - 1);
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+        int stride = width + 1;
+        return blockedSum[(x1 + 1) + (y1 + 1) * stride] - blockedSum[x0 + (y1 + 1) * stride]
+                - blockedSum[(x1 + 1) + y0 * stride] + blockedSum[x0 + y0 * stride];
+    }
+
+    /**
+     * Check if an object of the given size can be centred at a location in game space
+     *
+     * @param x      the x coord in game space
+     * @param y      the y coord in game space
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return if the location is traversable
+     */
+    public boolean isTraversable(float x, float y, float width, float height) {
+        if (width <= 0 || height <= 0) {
+            return true;
+        }
+        // the footprint used to be sampled every SAMPLE_STEP units, so the last sample sits just inside the footprint
+        float minX = x - width / 2;
+        float minY = y - height / 2;
+        float maxX = minX + lastSample(width);
+        float maxY = minY + lastSample(height);
+
+        int x0 = (int) (minX / tileSize);
+        int y0 = (int) (minY / tileSize);
+        int x1 = (int) (maxX / tileSize);
+        int y1 = (int) (maxY / tileSize);
+        if (x1 - x0 == y1 - y0 && inBounds(x0, y0)) {
+            // square footprints are answered by the clearance map
+            return clearance[x0 + y0 * this.width] > x1 - x0;
+        }
+        return countBlocked(x0, y0, x1, y1) == 0;
+    }
+
+    /**
+     * Get the packed set of tile corners that an object of the given size can be centred on.
+     * Bit x + y * width is set if the object fits at (x * tileSize, y * tileSize). The set is built on first use
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The packed bitset for this clearance class
+     */
+    public long[] getClearanceClass(float width, float height) {
+        Long key = ((long) Float.floatToIntBits(width) << 32) | (Float.floatToIntBits(height) & 0xffffffffL);
+        long[] bits = clearanceClasses.get(key);
+        if (bits == null) {
+            bits = new long[blocked.length];
+            for (int ty = 0; ty < this.height; ty++) {
+                for (int tx = 0; tx < this.width; tx++) {
+                    if (isTraversable(tx * tileSize, ty * tileSize, width, height)) {
+                        int index = tx + ty * this.width;
+                        bits[index >> 6] |= 1L << index;
+                    }
+                }
+            }
+            clearanceClasses.put(key, bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Check if an object can travel in a straight line between two tile corners. Every tile corner the line passes
+     * between is checked, so the object never has to cross a corner it cannot sit on
+     *
+     * @param clearance The clearance class of the object (see getClearanceClass)
+     * @param from      The tile id to start from
+     * @param to        The tile id to reach
+     * @return If every tile corner along the line is in the clearance class
+     */
+    public boolean hasLineOfSight(long[] clearance, int from, int to) {
+        int x0 = from % width;
+        int y0 = from / width;
+        int dx = to % width - x0;
+        int dy = to / width - y0;
+        int sx = Integer.signum(dx);
+        int sy = Integer.signum(dy);
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+
+        // stepping along the major axis, the line sits between two tiles of the minor axis at each step
+        boolean xMajor = dx >= dy;
+        int steps = xMajor ? dx : dy;
+        int rise = xMajor ? dy : dx;
+        for (int i = 0; i <= steps; i++) {
+            int along = i;
+            int across = steps == 0 ? 0 : i * rise / steps;
+            boolean between = steps != 0 && (i * rise) % steps != 0;
+            int x = x0 + sx * (xMajor ? along : across);
+            int y = y0 + sy * (xMajor ? across : along);
+            if (!isSet(clearance, x + y * width)) {
+                return false;
+            }
+            if (between) {
+                x += xMajor ? 0 : sx;
+                y += xMajor ? sy : 0;
+                if (!isSet(clearance, x + y * width)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read a single tile from a packed bitset
+     *
+     * @param bits  The bitset
+     * @param index The tile index (x + y * width)
+     * @return If the bit is set
+     */
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @param size The size of the footprint
+     * @return The offset of the last sample taken across the footprint
+     */
+    private static float lastSample(float size) {
+        return (float) (Math.ceil(size / SAMPLE_STEP) - 1) * SAMPLE_STEP;
+    }
+}
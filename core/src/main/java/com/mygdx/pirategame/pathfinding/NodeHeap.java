@@ -0,0 +1,189 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min heap of tile ids, used as the open list of the A* search.
+ * Each tile knows its position within the heap so membership checks are O(1) and keys can be decreased in O(log n)
+ * @author Dan Wade
+ */
+public class NodeHeap {
+
+    private final int[] heap;
+    // position of each tile within the heap, -1 if the tile is not in the heap
+    private final int[] position;
+    private final float[] key;
+    // secondary key used to break ties between equal primary keys
+    private final float[] tieBreak;
+    private int size;
+
+    /**
+     * @param capacity The number of tiles that can be stored in the heap
+     */
+    public NodeHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new float[capacity];
+        tieBreak = new float[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Empty the heap so it can be reused for another search
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * @return If there are no tiles in the heap
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of tiles in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param tile The tile id
+     * @return If the tile is in the heap
+     */
+    public boolean contains(int tile) {
+        return position[tile] != -1;
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The current key of the tile
+     */
+    public float getKey(int tile) {
+        return key[tile];
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The current tie breaking key of the tile
+     */
+    public float getTieBreak(int tile) {
+        return tieBreak[tile];
+    }
+
+    /**
+     * Add a tile to the heap, or update its keys if it is already in the heap
+     *
+     * @param tile     The tile id
+     * @param newKey   The key to order by, lowest first
+     * @param newTie   The key used when two primary keys are equal, lowest first
+     */
+    public void push(int tile, float newKey, float newTie) {
+        key[tile] = newKey;
+        tieBreak[tile] = newTie;
+        int index = position[tile];
+        if (index == -1) {
+            index = size++;
+            heap[index] = tile;
+            position[tile] = index;
+            siftUp(index);
+        } else {
+            // the key may have moved in either direction
+            siftUp(index);
+            siftDown(position[tile]);
+        }
+    }
+
+    /**
+     * @return The tile with the lowest key, without removing it
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Remove the tile with the lowest key
+     *
+     * @return The removed tile
+     */
+    public int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Remove a tile from anywhere in the heap
+     *
+     * @param tile The tile to remove
+     */
+    public void remove(int tile) {
+        int index = position[tile];
+        if (index == -1) {
+            return;
+        }
+        position[tile] = -1;
+        size--;
+        if (index < size) {
+            // moving the last tile into the gap, it may need to move either way to restore the ordering
+            int moved = heap[size];
+            heap[index] = moved;
+            position[moved] = index;
+            siftUp(index);
+            siftDown(position[moved]);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        if (key[a] != key[b]) {
+            return key[a] < key[b];
+        }
+        return tieBreak[a] < tieBreak[b];
+    }
+
+    private void siftUp(int index) {
+        int tile = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (!less(tile, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = tile;
+        position[tile] = index;
+    }
+
+    private void siftDown(int index) {
+        int tile = heap[index];
+        int half = size >> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], tile)) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = tile;
+        position[tile] = index;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * The cost of the path between two tiles if nothing was in the way, travelling diagonally until in line with the
+ * goal and then straight. Closer to the true cost than the straight line distance as ships move in eight directions
+ * @author Dan Wade
+ */
+public class OctileHeuristic implements Heuristic {
+
+    private final int width;
+
+    /**
+     * @param width The width of the grid in tiles
+     */
+    public OctileHeuristic(int width) {
+        this.width = width;
+    }
+
+    @Override
+    public float estimate(int from, int to) {
+        int dx = Math.abs(from % width - to % width);
+        int dy = Math.abs(from / width - to / width);
+        return Math.max(dx, dy) + (AStarSearch.DIAGONAL - 1) * Math.min(dx, dy);
+    }
+}
@@ -0,0 +1,278 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of tile paths keyed on the start tile, goal tile and clearance class, the least recently used path
+ * is evicted once the cache is full. As movement costs the same in both directions and any part of a shortest path is
+ * itself a shortest path, a request can also be answered by a cached path in the opposite direction, or by the part
+ * of a cached path that runs from the requested start to the same goal
+ * @author Dan Wade
+ */
+public class PathCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Entry> entries;
+    // cached paths grouped by the tile they end at and the tile they start at, used to share parts of paths
+    private final Map<Key, List<Entry>> byGoal = new HashMap<>();
+    private final Map<Key, List<Entry>> byStart = new HashMap<>();
+
+    private int hits;
+    private int reverseHits;
+    private int suffixHits;
+    private int misses;
+    private int evictions;
+
+    /**
+     * @param capacity The maximum number of paths to hold
+     */
+    public PathCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        // access ordered so the eldest entry is always the least recently used
+        entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    unindex(eldest.getValue());
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a path, trying an exact match first, then the reverse of a cached path, then part of a cached path
+     *
+     * @param start     The tile id to start from
+     * @param goal      The tile id to reach
+     * @param clearance The clearance class of the object being pathed
+     * @return The tile ids from the start to the goal inclusive, or null if no cached path covers the request.
+     * The returned array may be shared with the cache and must not be modified
+     */
+    public int[] get(int start, int goal, long[] clearance) {
+        Entry entry = entries.get(new Key(start, goal, clearance));
+        if (entry != null) {
+            hits++;
+            return entry.tiles;
+        }
+        entry = entries.get(new Key(goal, start, clearance));
+        if (entry != null) {
+            hits++;
+            reverseHits++;
+            return reversed(entry.tiles, 0, entry.tiles.length - 1);
+        }
+
+        // a cached path to the same goal that passes through the start
+        List<Entry> candidates = byGoal.get(new Key(-1, goal, clearance));
+        if (candidates != null) {
+            for (Entry candidate : candidates) {
+                int index = indexOf(candidate.tiles, start);
+                if (index != -1) {
+                    touch(candidate);
+                    hits++;
+                    suffixHits++;
+                    return Arrays.copyOfRange(candidate.tiles, index, candidate.tiles.length);
+                }
+            }
+        }
+        // a cached path from the goal that passes through the start, travelled backwards
+        candidates = byStart.get(new Key(goal, -1, clearance));
+        if (candidates != null) {
+            for (Entry candidate : candidates) {
+                int index = indexOf(candidate.tiles, start);
+                if (index != -1) {
+                    touch(candidate);
+                    hits++;
+                    suffixHits++;
+                    return reversed(candidate.tiles, 0, index);
+                }
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Add a path to the cache, evicting the least recently used path if the cache is full
+     *
+     * @param clearance The clearance class of the object the path was found for
+     * @param tiles     The tile ids from the start to the goal inclusive, the array must not be modified afterwards
+     */
+    public void put(long[] clearance, int[] tiles) {
+        Key key = new Key(tiles[0], tiles[tiles.length - 1], clearance);
+        Entry old = entries.remove(key);
+        if (old != null) {
+            unindex(old);
+        }
+        Entry entry = new Entry(key, tiles);
+        index(byGoal, new Key(-1, key.goal, clearance), entry);
+        index(byStart, new Key(key.start, -1, clearance), entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove every path from the cache, the counters are kept
+     */
+    public void clear() {
+        entries.clear();
+        byGoal.clear();
+        byStart.clear();
+    }
+
+    /**
+     * @return The number of paths in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The maximum number of paths the cache holds
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of requests answered by the cache, including reversed and shared paths
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of requests answered by reversing a cached path
+     */
+    public int getReverseHits() {
+        return reverseHits;
+    }
+
+    /**
+     * @return The number of requests answered by part of a cached path
+     */
+    public int getSuffixHits() {
+        return suffixHits;
+    }
+
+    /**
+     * @return The number of requests the cache could not answer
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of paths evicted to make room for newer paths
+     */
+    public int getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Reset the hit, miss and eviction counters
+     */
+    public void resetCounters() {
+        hits = 0;
+        reverseHits = 0;
+        suffixHits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    private void touch(Entry entry) {
+        // reading the entry moves it to the most recently used end
+        entries.get(entry.key);
+    }
+
+    private static void index(Map<Key, List<Entry>> index, Key key, Entry entry) {
+        List<Entry> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            index.put(key, list);
+        }
+        list.add(entry);
+    }
+
+    private void unindex(Entry entry) {
+        unindex(byGoal, new Key(-1, entry.key.goal, entry.key.clearance), entry);
+        unindex(byStart, new Key(entry.key.start, -1, entry.key.clearance), entry);
+    }
+
+    private static void unindex(Map<Key, List<Entry>> index, Key key, Entry entry) {
+        List<Entry> list = index.get(key);
+        if (list != null) {
+            list.remove(entry);
+            if (list.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static int indexOf(int[] tiles, int tile) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == tile) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return A copy of tiles[from] to tiles[to] inclusive in reverse order
+     */
+    private static int[] reversed(int[] tiles, int from, int to) {
+        int[] result = new int[to - from + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tiles[to - i];
+        }
+        return result;
+    }
+
+    /**
+     * Cache key, clearance classes are compared by identity as the NavGrid hands out one array per class
+     */
+    private static final class Key {
+        final int start;
+        final int goal;
+        final long[] clearance;
+
+        Key(int start, int goal, long[] clearance) {
+            this.start = start;
+            this.goal = goal;
+            this.clearance = clearance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return start == that.start && goal == that.goal && clearance == that.clearance;
+        }
+
+        @Override
+        public int hashCode() {
+            return (start * 31 + goal) * 31 + System.identityHashCode(clearance);
+        }
+    }
+
+    private static final class Entry {
+        final Key key;
+        final int[] tiles;
+
+        Entry(Key key, int[] tiles) {
+            this.key = key;
+            this.tiles = tiles;
+        }
+    }
+}
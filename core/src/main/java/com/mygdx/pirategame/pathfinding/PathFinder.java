@@ -1,14 +1,18 @@
 package com.mygdx.pirategame.pathfinding;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.math.Vector2;
 import com.mygdx.pirategame.save.GameScreen;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 /**
  * Class used to generate paths to a specified destination
- * @author James McNair
+ * @author James McNair, Dan Wade
  */
 public class PathFinder {
 
@@ -17,8 +21,93 @@ public class PathFinder {
      */
     public static final boolean PATHFINDERDEBUG = false;
 
+    /**
+     * The distance in tiles a route has to cover before it is planned over the cluster graph
+     */
+    public static final int HIERARCHICAL_DISTANCE = 3 * ClusterGraph.CLUSTER_SIZE;
+
+    /**
+     * The number of paths held by the path cache
+     */
+    public static final int PATH_CACHE_SIZE = 256;
+
+    /**
+     * The number of landmarks used by the landmark heuristic for each clearance class
+     */
+    public static final int LANDMARK_COUNT = 8;
+
+    /**
+     * The furthest in tiles a repaired path may rejoin the path it repairs from the object,
+     * obstacles needing a longer way round are planned around by a new path
+     */
+    public static final int REPAIR_WINDOW = 8;
+
+    /**
+     * The number of tiles past the obstacle a repaired path rejoins the path it repairs
+     */
+    public static final int REPAIR_STEPS = 3;
+
+    /**
+     * The search algorithms that can be used to generate paths, both give paths of the same length
+     */
+    public enum SearchMode {
+        /**
+         * Expands every neighbouring tile
+         */
+        ASTAR,
+        /**
+         * Jumps along straight and diagonal lines, expanding far fewer tiles over open water
+         */
+        JUMP_POINT
+    }
+
+    /**
+     * The estimates of the cost between tiles that can guide the searches, all give paths of the same length
+     */
+    public enum HeuristicMode {
+        /**
+         * The straight line distance
+         */
+        EUCLIDEAN,
+        /**
+         * The distance travelling in eight directions with nothing in the way
+         */
+        OCTILE,
+        /**
+         * The difference in the true costs from a set of landmarks, accounting for the islands in the way
+         * (see LandmarkHeuristic)
+         */
+        LANDMARK
+    }
+
     private final GameScreen gameScreen;
     private final float tileSize;
+    private NavGrid navGrid;
+    private SearchMode searchMode = SearchMode.ASTAR;
+    private AStarSearch search;
+    private HeuristicMode heuristicMode = HeuristicMode.EUCLIDEAN;
+    private Heuristic euclidean;
+    private Heuristic octile;
+    // landmark heuristics for each clearance class, built on first use
+    private final Map<long[], LandmarkHeuristic> landmarkHeuristics = new IdentityHashMap<>();
+    private boolean hierarchical = false;
+    // cluster abstractions for each clearance class, built on first use
+    private final Map<long[], ClusterGraph> clusterGraphs = new IdentityHashMap<>();
+    private PathCache pathCache = new PathCache(PATH_CACHE_SIZE);
+    // flow fields towards the player for each clearance class, built on first use
+    private final Map<long[], FlowField> flowFields = new IdentityHashMap<>();
+    // destination tables for each clearance class, keyed on the packed tile bounds of the area they cover
+    private final Map<long[], Map<Long, DestinationTable>> destinationTables = new IdentityHashMap<>();
+    // connected water regions for each clearance class, built on first use
+    private final Map<long[], WaterRegions> waterRegions = new IdentityHashMap<>();
+    // the tiles reserved by objects planning cooperatively, null if objects plan alone
+    private ReservationTable reservations;
+    private CooperativeSearch cooperativeSearch;
+    // records the cost and outcome of each request, null if requests are not recorded
+    private PathTelemetry telemetry;
+    // the tiles expanded for the request being searched for, and why it failed if it did
+    private int requestExpansions;
+    private PathTelemetry.Result requestResult;
 
     /**
      * NOTE: the greater the gradient, the less accurate the result is to the true result but results will be generated faster
@@ -43,73 +132,462 @@ public class PathFinder {
      * @return the path as a list of checkpoint, or null if no path could be found
      */
     public List<Checkpoint> getPath(float sourceX, float sourceY, float destinationX, float destinationY, float width, float height) {
+        return getPath(sourceX, sourceY, destinationX, destinationY, width, height, false);
+    }
+
+    /**
+     * Get a path between a source and a destination that stays along the water
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @param smooth If the path should only contain the tiles where it changes direction (see PathSmoother)
+     * @return the path as a list of checkpoint backed by the path found (see findPath), or null if no path could be found
+     */
+    public List<Checkpoint> getPath(float sourceX, float sourceY, float destinationX, float destinationY, float width, float height, boolean smooth) {
+        TilePath path = findPath(sourceX, sourceY, destinationX, destinationY, width, height, smooth);
+        return path == null ? null : path.asCheckpoints();
+    }
+
+    /**
+     * Get a path between a source and a destination that stays along the water
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @param smooth If the path should only contain the tiles where it changes direction (see PathSmoother)
+     * @return the path, or null if no path could be found
+     */
+    public TilePath findPath(float sourceX, float sourceY, float destinationX, float destinationY, float width, float height, boolean smooth) {
+        return findPath(null, sourceX, sourceY, destinationX, destinationY, width, height, smooth);
+    }
+
+    /**
+     * Get a path between a source and a destination that stays along the water
+     * @param requester    the object being pathed, used to group the request in the telemetry, may be null
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @param smooth If the path should only contain the tiles where it changes direction (see PathSmoother)
+     * @return the path, or null if no path could be found
+     */
+    public TilePath findPath(Object requester, float sourceX, float sourceY, float destinationX, float destinationY, float width, float height, boolean smooth) {
+        long requested = telemetry == null ? 0 : System.nanoTime();
+        requestExpansions = 0;
+        TilePath path = searchPath(sourceX, sourceY, destinationX, destinationY, width, height, smooth);
+        if (telemetry != null) {
+            PathTelemetry.Result result = PathTelemetry.Result.FOUND;
+            if (path == null) {
+                // a route over the cluster graph whose first leg could not be refined may leave no reason
+                result = requestResult == null ? PathTelemetry.Result.UNREACHABLE : requestResult;
+            }
+            telemetry.record(requester, requestExpansions, System.nanoTime() - requested, result);
+        }
+        return path;
+    }
+
+    /**
+     * Search for a path for findPath, leaving the reason in requestResult if no path could be found
+     */
+    private TilePath searchPath(float sourceX, float sourceY, float destinationX, float destinationY, float width, float height, boolean smooth) {
+        requestResult = checkRequest(sourceX, sourceY, destinationX, destinationY, width, height);
+        if (requestResult != null) {
+            return null;
+        }
+
+        // converting locations into tilemap equivalents
+        NavGrid grid = getNavGrid();
+        int start = getTile(sourceX, sourceY);
+        int goal = getTile(destinationX, destinationY);
+        // the tile corners that an object of this size can occupy
+        long[] clearance = grid.getClearanceClass(width, height);
+
+        ClusterGraph clusterGraph = getRouteGraph(start, goal, clearance);
+        if (clusterGraph != null) {
+            int[] waypoints = clusterGraph.findRoute(start, goal, clusterGraph.getNodeCount() + 2);
+            requestExpansions += clusterGraph.getExpansions();
+            if (waypoints != null) {
+                return createPath(waypoints, clearance, smooth);
+            }
+            // no coarse route, the full search below is the final word on whether the goal can be reached
+        }
+
+        int[] tiles = refineLeg(start, goal, clearance);
+        if (tiles == null) {
+            return null;
+        }
+        if (smooth) {
+            tiles = PathSmoother.smooth(grid, clearance, tiles);
+        }
+        return createPath(tiles);
+    }
 
+    /**
+     * Check if a route should be planned over the cluster graph. Routes between clusters are planned over the cluster
+     * graph and refined a leg at a time, shorter routes are quicker to search directly and avoid detouring through
+     * the cluster entrances
+     *
+     * @param start     The tile id to start from
+     * @param goal      The tile id to reach
+     * @param clearance The clearance class of the object being pathed
+     * @return The cluster graph to plan the route over, or null if the route should be searched for directly.
+     * Only called on the game thread, the graph is built the first time it is needed
+     */
+    ClusterGraph getRouteGraph(int start, int goal, long[] clearance) {
+        if (!hierarchical) {
+            return null;
+        }
+        ClusterGraph clusterGraph = getClusterGraph(clearance);
+        int width = getNavGrid().getWidth();
+        int distance = Math.max(Math.abs(goal % width - start % width), Math.abs(goal / width - start / width));
+        if (distance > HIERARCHICAL_DISTANCE && clusterGraph.getCluster(start) != clusterGraph.getCluster(goal)) {
+            return clusterGraph;
+        }
+        return null;
+    }
+
+    /**
+     * Check a path request can be searched for before searching, the same checks are made wherever paths are requested
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @return null if the request can be searched for, otherwise the reason it cannot
+     */
+    PathTelemetry.Result checkRequest(float sourceX, float sourceY, float destinationX, float destinationY, float width, float height) {
         // checking if the start or finish location is an invalid
-        if (!isTraversable(sourceX, sourceY, width, height) || !isTraversable(destinationX, destinationY, width, height)) {
+        if (!isTraversable(sourceX, sourceY, width, height) || getTile(sourceX, sourceY) == -1) {
+            return PathTelemetry.Result.INVALID_START;
+        }
+        if (!isTraversable(destinationX, destinationY, width, height)) {
+            return PathTelemetry.Result.INVALID_END;
+        }
+        int goal = getTile(destinationX, destinationY);
+        // the search can never step onto a goal tile outside of the clearance class
+        if (goal == -1 || !NavGrid.isSet(getNavGrid().getClearanceClass(width, height), goal)) {
+            return PathTelemetry.Result.INVALID_END;
+        }
+        if (!getWaterRegions(width, height).isReachable(getTile(sourceX, sourceY), goal)) {
+            // the goal is cut off from the start, searching would only expand every tile that can be reached
+            return PathTelemetry.Result.UNREACHABLE;
+        }
+        return null;
+    }
+
+    /**
+     * Get a path between a source and a destination that routes around the tiles other objects have reserved, and
+     * reserve the tiles along it so objects planning afterwards route around this one. Paths are not smoothed since
+     * the object has to keep to the tiles it reserved. If there are no reservations, or no route around them, the
+     * path is found as with findPath. The search runs on the calling thread, PathRequestService.requestCooperative
+     * time slices it within the frame budget instead
+     * @param owner        the object being pathed
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @return the path, or null if no path could be found
+     */
+    public TilePath findCooperativePath(Object owner, float sourceX, float sourceY, float destinationX, float destinationY, float width, float height) {
+        if (reservations == null) {
+            return findPath(owner, sourceX, sourceY, destinationX, destinationY, width, height, false);
+        }
+        reservations.release(owner);
+        long requested = telemetry == null ? 0 : System.nanoTime();
+        requestExpansions = 0;
+        requestResult = checkRequest(sourceX, sourceY, destinationX, destinationY, width, height);
+        if (requestResult != null) {
+            recordRequest(owner, requested, requestResult);
             return null;
         }
+        NavGrid grid = getNavGrid();
+        int start = getTile(sourceX, sourceY);
+        int goal = getTile(destinationX, destinationY);
+        long[] clearance = grid.getClearanceClass(width, height);
 
-        destinationX = destinationX - (destinationX % tileSize);
-        destinationY = destinationY - (destinationY % tileSize);
-        sourceX = sourceX - (sourceX % tileSize);
-        sourceY = sourceY - (sourceY % tileSize);
+        if (cooperativeSearch == null) {
+            cooperativeSearch = new CooperativeSearch(grid);
+        }
+        cooperativeSearch.setReservations(reservations, owner, getSpacing(width, height));
+        int[] tiles;
+        boolean found = cooperativeSearch.search(start, goal, clearance, getHeuristic(clearance), grid.getWidth() * grid.getHeight());
+        requestExpansions += cooperativeSearch.getExpansions();
+        if (found) {
+            // the route depends on the reservations at the time, so is never cached
+            tiles = cooperativeSearch.getPath();
+        } else {
+            // boxed in by the reservations, the object takes the direct route and steers around the others as before
+            tiles = refineLeg(start, goal, clearance);
+            if (tiles == null) {
+                recordRequest(owner, requested, requestResult);
+                return null;
+            }
+        }
+        recordRequest(owner, requested, PathTelemetry.Result.FOUND);
+        reservations.reserve(owner, tiles);
+        return createPath(tiles);
+    }
 
-        // converting locations into tilemap equivalents
-        Checkpoint source = new Checkpoint(sourceX, sourceY, tileSize);
-        Checkpoint dest = new Checkpoint(destinationX, destinationY, tileSize);
+    /**
+     * @param width  The width of the object being pathed
+     * @param height The height of the object being pathed
+     * @return The distance in tiles the object has to keep from the reservations of other objects
+     */
+    int getSpacing(float width, float height) {
+        // objects closer than their size to one another collide
+        return Math.max(1, Math.round(Math.max(width, height) / tileSize));
+    }
 
-        PriorityQueue<PathNode> open = new PriorityQueue<>();
+    /**
+     * Record a request in the telemetry, if there is any
+     *
+     * @param requester the object being pathed
+     * @param requested the time the request was made, from System.nanoTime
+     * @param result    the outcome of the request
+     */
+    private void recordRequest(Object requester, long requested, PathTelemetry.Result result) {
+        if (telemetry != null) {
+            telemetry.record(requester, requestExpansions, System.nanoTime() - requested, result);
+        }
+    }
 
-        List<PathNode> close = new ArrayList<>();
+    /**
+     * @param status The state a search finished in without finding a path
+     * @return The outcome of the request the search was for
+     */
+    static PathTelemetry.Result getResult(AStarSearch.Status status) {
+        // a search still going when it returns ran out of the tiles it was allowed to expand
+        return status == AStarSearch.Status.SEARCHING ? PathTelemetry.Result.CAP_HIT : PathTelemetry.Result.UNREACHABLE;
+    }
+
+    /**
+     * Drop the reservations an object made when planning cooperatively, used when it stops following its path
+     *
+     * @param owner the object
+     */
+    public void releaseReservations(Object owner) {
+        if (reservations != null) {
+            reservations.release(owner);
+        }
+    }
+
+    /**
+     * Create a planner that repairs the paths of an object of the given size, one is needed for each object
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The created planner
+     */
+    public DStarLite createReplanner(float width, float height) {
+        return new DStarLite(getNavGrid(), getNavGrid().getClearanceClass(width, height));
+    }
 
-        open.add(new PathNode(source, 0, dest, null));
+    /**
+     * Repair the part of a path next to an obstacle the object has run into. The path from the object to a tile a
+     * few steps past the obstacle is searched again and spliced onto the rest of the path, so the rest of the path and
+     * its goal are kept. Only a window of REPAIR_WINDOW tiles around the object is searched, obstacles needing a
+     * longer way round are left for a new path from the path request service
+     *
+     * @param replanner    The planner of the object (see createReplanner)
+     * @param path         The path being repaired, changed in place if it could be repaired
+     * @param sourceX      the x location of the object
+     * @param sourceY      the y location of the object
+     * @param obstacleX    the x location of the centre of the obstacle
+     * @param obstacleY    the y location of the centre of the obstacle
+     * @param obstacleSize The size of the obstacle
+     * @param size         The size of the object being pathed
+     * @param smooth       If the repaired tiles should only contain the tiles where they change direction (see PathSmoother)
+     * @return If the path was repaired
+     */
+    public boolean repairPath(DStarLite replanner, TilePath path, float sourceX, float sourceY,
+                              float obstacleX, float obstacleY, float obstacleSize, float size, boolean smooth) {
+        int start = getTile(sourceX, sourceY);
+        if (start == -1 || path.getRefinedSize() == 0) {
+            return false;
+        }
+
+        // blocking every tile corner the object could not sit on without overlapping the obstacle
+        NavGrid grid = getNavGrid();
+        int width = grid.getWidth();
+        float reach = (size + obstacleSize) / 2;
+        int x0 = Math.max(0, (int) Math.floor((obstacleX - reach) / tileSize) + 1);
+        int y0 = Math.max(0, (int) Math.floor((obstacleY - reach) / tileSize) + 1);
+        int x1 = Math.min(width - 1, (int) Math.ceil((obstacleX + reach) / tileSize) - 1);
+        int y1 = Math.min(grid.getHeight() - 1, (int) Math.ceil((obstacleY + reach) / tileSize) - 1);
+        int[] blocked = new int[Math.max(0, (x1 - x0 + 1) * (y1 - y0 + 1))];
         int count = 0;
-        PathNode solutionNode = null;
-        while (!open.isEmpty()) {
-            count++;
-            if (count > 300) {
-                break;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                int tile = x + y * width;
+                // the object is already overlapping the obstacle, it has to be able to move away from it
+                if (tile != start) {
+                    blocked[count++] = tile;
+                }
             }
-            PathNode currentNode = open.poll();
-            if (currentNode.checkpoint.equals(dest)) {
-                // if we have found the solution
-                solutionNode = currentNode;
-                break;
+        }
+        blocked = Arrays.copyOf(blocked, count);
+
+        // rejoining the path a few steps past the tile of the path nearest the obstacle, only the tiles of the path
+        // already refined are searched as the waypoints after them may be far apart
+        int known = path.getRefinedSize();
+        int obstacleTileX = (int) (obstacleX / tileSize);
+        int obstacleTileY = (int) (obstacleY / tileSize);
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < known; i++) {
+            int tile = path.getTile(i);
+            int distance = Math.max(Math.abs(tile % width - obstacleTileX), Math.abs(tile / width - obstacleTileY));
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
             }
+        }
+        int rejoin = Math.min(nearest + REPAIR_STEPS, known - 1);
+        while (rejoin < known && (path.getTile(rejoin) == start || contains(blocked, path.getTile(rejoin)))) {
+            rejoin++;
+        }
+        if (rejoin == known) {
+            return false;
+        }
+        int target = path.getTile(rejoin);
+        if (Math.max(Math.abs(target % width - start % width), Math.abs(target / width - start / width)) > REPAIR_WINDOW) {
+            return false;
+        }
+        if (!getWaterRegions(replanner.getClearance()).isReachable(start, target)) {
+            return false;
+        }
 
-            // looping through successor nodes
-            for (PathNode successorNode : successor(currentNode, width, height)) {
-                if (open.contains(successorNode)) {
-                    // already in the fringe
-                    continue;
-                } else if (close.contains(successorNode)) {
-                    // already visited
-                    continue;
-                } else {
-                    // path cost is too great, limiting scope
-                    if (successorNode.fx > 10000) {
-                        continue;
-                    }
-                    open.add(successorNode);
-                }
+        replanner.setBlocked(blocked);
+        int side = 2 * REPAIR_WINDOW + 1;
+        if (!replanner.plan(start, target, side * side)) {
+            return false;
+        }
+        int[] tiles = replanner.getPath();
+        if (tiles == null) {
+            return false;
+        }
+        if (smooth) {
+            // the smoothed path must not cut back across the obstacle
+            long[] clearance = replanner.getClearance().clone();
+            for (int tile : blocked) {
+                clearance[tile >> 6] &= ~(1L << tile);
+            }
+            tiles = PathSmoother.smooth(grid, clearance, tiles);
+        }
+        // the object is already at the first tile
+        path.splice(tiles, 1, rejoin);
+        return true;
+    }
 
+    private static boolean contains(int[] tiles, int tile) {
+        for (int other : tiles) {
+            if (other == tile) {
+                return true;
             }
+        }
+        return false;
+    }
 
+    /**
+     * Snap a location in game space to the tile it sits in
+     *
+     * @param x the x coord in game space
+     * @param y the y coord in game space
+     * @return The tile id, or -1 if the location is outside of the map
+     */
+    public int getTile(float x, float y) {
+        x = x - (x % tileSize);
+        y = y - (y % tileSize);
+        int tileX = (int) (x / tileSize);
+        int tileY = (int) (y / tileSize);
+        NavGrid grid = getNavGrid();
+        if (!grid.inBounds(tileX, tileY)) {
+            return -1;
         }
+        return tileX + tileY * grid.getWidth();
+    }
 
-        if (solutionNode == null) {
+    /**
+     * Search for the tiles between two tiles
+     *
+     * @param start     The tile id to start from
+     * @param goal      The tile id to reach
+     * @param clearance The clearance class of the object being pathed
+     * @return The tile ids from the start to the goal inclusive, or null if no path could be found.
+     * The returned array may be shared with the path cache and must not be modified
+     */
+    int[] refineLeg(int start, int goal, long[] clearance) {
+        if (pathCache != null) {
+            int[] cached = pathCache.get(start, goal, clearance);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // the search is allowed to cover the entire map
+        NavGrid grid = getNavGrid();
+        AStarSearch search = getSearch();
+        boolean found = search.search(start, goal, clearance, getHeuristic(clearance), grid.getWidth() * grid.getHeight());
+        requestExpansions += search.getExpansions();
+        if (!found) {
+            requestResult = getResult(search.getStatus());
             return null;
         }
+        int[] tiles = search.getPath();
+        if (pathCache != null) {
+            pathCache.put(clearance, tiles);
+        }
+        return tiles;
+    }
 
-        List<Checkpoint> checkpoints = new ArrayList<>();
-        checkpoints.add(dest);
-        PathNode nextNode = solutionNode;
+    /**
+     * @param tile The tile id
+     * @return A checkpoint at the corner of the tile
+     */
+    public Checkpoint createCheckpoint(int tile) {
+        int gridWidth = getNavGrid().getWidth();
+        return new Checkpoint((tile % gridWidth) * tileSize, (tile / gridWidth) * tileSize, tileSize);
+    }
+
+    /**
+     * @param tiles The tile ids of a path, the array is not copied so must not be modified afterwards
+     * @return The path through the tiles
+     */
+    public TilePath createPath(int[] tiles) {
+        return new TilePath(tiles, getNavGrid().getWidth(), tileSize);
+    }
+
+    /**
+     * Create a path from a route planned over the cluster graph, refining its first leg
+     *
+     * @param waypoints The tile ids of the waypoints from the start to the goal inclusive
+     * @param clearance The clearance class of the object travelling the path
+     * @param smooth    If each leg should be cut down to the tiles where it changes direction
+     * @return The path, or null if the first leg could not be refined
+     */
+    TilePath createPath(int[] waypoints, long[] clearance, boolean smooth) {
+        HierarchicalPath path = new HierarchicalPath(this, clearance, waypoints, smooth);
+        return path.size() > 1 ? path : null;
+    }
 
-        while (nextNode.parent != null) {
-            checkpoints.add(nextNode.parent.checkpoint);
-            nextNode = nextNode.parent;
+    /**
+     * @param tiles The tile ids of a path
+     * @return A checkpoint at the corner of each tile
+     */
+    public List<Checkpoint> createCheckpoints(int[] tiles) {
+        List<Checkpoint> checkpoints = new ArrayList<>(tiles.length);
+        for (int tile : tiles) {
+            checkpoints.add(createCheckpoint(tile));
         }
-        Collections.reverse(checkpoints);
         return checkpoints;
     }
 
@@ -123,129 +601,370 @@ public class PathFinder {
      * @return if the location is traversable
      */
     public boolean isTraversable(float xb, float yb, float width, float height) {
+        return getNavGrid().isTraversable(xb, yb, width, height);
+    }
+
+    /**
+     * The navigation grid is built from the tile map the first time it is needed and reused from then on
+     *
+     * @return The navigation grid for the map
+     */
+    public NavGrid getNavGrid() {
+        if (navGrid == null) {
+            navGrid = NavGrid.fromTiledMap(gameScreen.getMap(), tileSize);
+        }
+        return navGrid;
+    }
+
+    /**
+     * @return The search algorithm used to generate paths
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
 
-        float hw = width;
-        float hh = height;
-        for (int xw = 0; xw < width; xw += 5) {
-            for (int yh = 0; yh < width; yh += 5) {
-                Vector2 v = new Vector2(xb - width / 2 + xw, yb - height / 2 + yh);
-                int x = (int) (v.x / tileSize);
-                int y = (int) (v.y / tileSize);
-                TiledMapTileLayer islands = (TiledMapTileLayer) gameScreen.getMap().getLayers().get("islands");
+    /**
+     * @param searchMode The search algorithm to use to generate paths
+     */
+    public void setSearchMode(SearchMode searchMode) {
+        if (this.searchMode != searchMode) {
+            this.searchMode = searchMode;
+            search = null;
+        }
+    }
 
-                TiledMapTileLayer rocks = (TiledMapTileLayer) gameScreen.getMap().getLayers().get("rocks + leaves");
+    /**
+     * @return The estimate of the cost between tiles used to guide the searches
+     */
+    public HeuristicMode getHeuristicMode() {
+        return heuristicMode;
+    }
 
-                if (isColliding(rocks, x, y) || isColliding(islands, x, y)) {
-                    return false;
-                }
+    /**
+     * @param heuristicMode The estimate of the cost between tiles to guide the searches with
+     */
+    public void setHeuristicMode(HeuristicMode heuristicMode) {
+        this.heuristicMode = heuristicMode;
+    }
+
+    /**
+     * Get the heuristic for the current heuristic mode for an object of the given size. The landmark heuristic is
+     * built the first time it is needed for each size
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The heuristic
+     */
+    public Heuristic getHeuristic(float width, float height) {
+        return getHeuristic(getNavGrid().getClearanceClass(width, height));
+    }
 
+    /**
+     * @param clearance The clearance class of the object being pathed
+     * @return The heuristic for the current heuristic mode, only built on the game thread
+     */
+    Heuristic getHeuristic(long[] clearance) {
+        NavGrid grid = getNavGrid();
+        if (heuristicMode == HeuristicMode.LANDMARK) {
+            LandmarkHeuristic heuristic = landmarkHeuristics.get(clearance);
+            if (heuristic == null) {
+                // the landmarks are spread over the largest region of water, searches elsewhere fall back to octile
+                WaterRegions regions = getWaterRegions(clearance);
+                int largest = -1;
+                for (int region = 0; region < regions.getRegionCount(); region++) {
+                    if (largest == -1 || regions.getRegionSize(region) > regions.getRegionSize(largest)) {
+                        largest = region;
+                    }
+                }
+                int seed = 0;
+                while (largest != -1 && regions.getRegion(seed) != largest) {
+                    seed++;
+                }
+                heuristic = largest == -1 ? new LandmarkHeuristic(grid, clearance, new int[0])
+                        : new LandmarkHeuristic(grid, clearance, seed, LANDMARK_COUNT);
+                landmarkHeuristics.put(clearance, heuristic);
             }
+            return heuristic;
         }
-        return true;
+        if (heuristicMode == HeuristicMode.OCTILE) {
+            if (octile == null) {
+                octile = new OctileHeuristic(grid.getWidth());
+            }
+            return octile;
+        }
+        if (euclidean == null) {
+            euclidean = new EuclideanHeuristic(grid.getWidth());
+        }
+        return euclidean;
     }
 
     /**
-     * Check if the specified location is colliding with the specified layer
-     * @param layer The layer to check for
-     * @param x The x location to check
-     * @param y The y location to check
-     * @return If the location is colliding
+     * @return The cache of recently found paths, null if paths are not cached
      */
-    private boolean isColliding(TiledMapTileLayer layer, int x, int y) {
-        TiledMapTileLayer.Cell cell = layer.getCell(x, y);
-        if (cell == null) {
-            return false;
-        }
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * @param pathCache The cache to hold recently found paths in, null to stop caching paths
+     */
+    public void setPathCache(PathCache pathCache) {
+        this.pathCache = pathCache;
+    }
+
+    /**
+     * @return The tiles reserved by objects planning cooperatively, null if objects plan alone
+     */
+    public ReservationTable getReservationTable() {
+        return reservations;
+    }
 
-        return cell.getTile().getId() != 0;
+    /**
+     * @param reservations The table objects planning cooperatively reserve their tiles in (see findCooperativePath),
+     *                     null for objects to plan alone
+     */
+    public void setReservationTable(ReservationTable reservations) {
+        this.reservations = reservations;
+    }
+
+    /**
+     * @return The telemetry recording each path request, null if requests are not recorded
+     */
+    public PathTelemetry getTelemetry() {
+        return telemetry;
     }
 
     /**
-     * Used to get a list of all successor nodes of the provided node
+     * @param telemetry The telemetry to record each path request in, null to stop recording requests
+     */
+    public void setTelemetry(PathTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * @return If routes between clusters are planned over the cluster graph
+     */
+    public boolean isHierarchical() {
+        return hierarchical;
+    }
+
+    /**
+     * @param hierarchical If routes between clusters should be planned over the cluster graph and refined a leg at a time
+     */
+    public void setHierarchical(boolean hierarchical) {
+        this.hierarchical = hierarchical;
+    }
+
+    /**
+     * Get the cluster abstraction used to plan routes for objects of the given size, built the first time it is needed
      *
-     * @param node The node to get the successors of
-     * @return The list of successors
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The cluster graph for the clearance class of the object
      */
-    private List<PathNode> successor(PathNode node, float width, float height) {
-        List<PathNode> toReturn = new ArrayList<>();
-        int mapWidth = gameScreen.getTileMapWidth();
-        int mapHeight = gameScreen.getTileMapHeight();
+    public ClusterGraph getClusterGraph(float width, float height) {
+        return getClusterGraph(getNavGrid().getClearanceClass(width, height));
+    }
 
-        for (int x = -1; x <= 1; x++) {
-            for (int y = -1; y <= 1; y++) {
+    private ClusterGraph getClusterGraph(long[] clearance) {
+        ClusterGraph clusterGraph = clusterGraphs.get(clearance);
+        if (clusterGraph == null) {
+            clusterGraph = new ClusterGraph(getNavGrid(), clearance);
+            clusterGraphs.put(clearance, clusterGraph);
+        }
+        return clusterGraph;
+    }
 
-                if (x == 0 && y == 0) {
-                    // cannot travel to itself as a successor
-                    continue;
-                }
+    /**
+     * Get the flow field shared by every object of the given size heading towards the same goal, built the first
+     * time it is needed
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The flow field for the clearance class of the object
+     */
+    public FlowField getFlowField(float width, float height) {
+        long[] clearance = getNavGrid().getClearanceClass(width, height);
+        FlowField flowField = flowFields.get(clearance);
+        if (flowField == null) {
+            flowField = new FlowField(getNavGrid(), clearance);
+            flowFields.put(clearance, flowField);
+        }
+        return flowField;
+    }
 
-                float calcX = node.checkpoint.x + (x * tileSize);
-                float calcY = node.checkpoint.y + (y * tileSize);
+    /**
+     * Get the connected regions of water an object of the given size can travel within, built the first time it is needed
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The water regions for the clearance class of the object
+     */
+    public WaterRegions getWaterRegions(float width, float height) {
+        return getWaterRegions(getNavGrid().getClearanceClass(width, height));
+    }
 
-                if (calcX >= mapWidth * tileSize) {
-                    continue;
-                }
-                if (calcY >= mapHeight * tileSize) {
-                    continue;
-                }
+    private WaterRegions getWaterRegions(long[] clearance) {
+        WaterRegions regions = waterRegions.get(clearance);
+        if (regions == null) {
+            regions = new WaterRegions(getNavGrid(), clearance);
+            waterRegions.put(clearance, regions);
+        }
+        return regions;
+    }
 
-                if (isTraversable(calcX, calcY, width, height)) {
-                    toReturn.add(new PathNode(new Checkpoint(calcX, calcY, tileSize), (float) Math.sqrt(Math.abs(x * tileSize) + Math.abs(y * tileSize)), node.dest, node));
-                }
-            }
+    /**
+     * @return The number of path requests and destination draws rejected because the object could never reach them
+     */
+    public int getRejectedCount() {
+        int count = 0;
+        for (WaterRegions regions : waterRegions.values()) {
+            count += regions.getRejectedCount();
         }
-        return toReturn;
+        return count;
     }
 
     /**
-     * Used as to avoid repeated calculations and to store the checkpoint within the priority list
+     * Get the table of every location on the map an object of the given size can be sent to, built the first time
+     * it is needed
+     *
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The destination table covering the whole map
      */
-    private class PathNode implements Comparable<PathNode> {
-        float fx;
-        float gx;
-        Checkpoint checkpoint;
-        Checkpoint dest;
-        PathNode parent;
+    public DestinationTable getDestinationTable(float width, float height) {
+        NavGrid grid = getNavGrid();
+        return getDestinationTable(width, height, 0, 0, grid.getWidth() - 1, grid.getHeight() - 1);
+    }
 
-        public PathNode(Checkpoint checkpoint, float gx, Checkpoint dest, PathNode parent) {
-            this.checkpoint = checkpoint;
-            this.dest = dest;
-            this.parent = parent;
-            if (parent == null) {
-                this.gx = gx;
-            } else {
-                this.gx = gx + parent.gx;
+    /**
+     * Get the table of every location within a square area that an object of the given size can be sent to,
+     * built the first time it is needed
+     *
+     * @param width   the width of the object
+     * @param height  the height of the object
+     * @param centreX the x coord of the centre of the area in game space
+     * @param centreY the y coord of the centre of the area in game space
+     * @param range   the distance from the centre to the edge of the area
+     * @return The destination table covering the area
+     */
+    public DestinationTable getDestinationTable(float width, float height, float centreX, float centreY, float range) {
+        // the tile corners from centre - range up to but not including centre + range
+        return getDestinationTable(width, height, (int) Math.ceil((centreX - range) / tileSize), (int) Math.ceil((centreY - range) / tileSize),
+                (int) Math.ceil((centreX + range) / tileSize) - 1, (int) Math.ceil((centreY + range) / tileSize) - 1);
+    }
+
+    private DestinationTable getDestinationTable(float width, float height, int x0, int y0, int x1, int y1) {
+        NavGrid grid = getNavGrid();
+        x0 = Math.max(x0, 0);
+        y0 = Math.max(y0, 0);
+        x1 = Math.min(x1, grid.getWidth() - 1);
+        y1 = Math.min(y1, grid.getHeight() - 1);
+        long[] clearance = grid.getClearanceClass(width, height);
+        Map<Long, DestinationTable> tables = destinationTables.get(clearance);
+        if (tables == null) {
+            tables = new HashMap<>();
+            destinationTables.put(clearance, tables);
+        }
+        Long key = ((long) x0 << 48) | ((long) y0 << 32) | ((long) x1 << 16) | y1;
+        DestinationTable table = tables.get(key);
+        if (table == null) {
+            table = new DestinationTable(grid, clearance, x0, y0, x1, y1);
+            tables.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * Lay out a closed patrol loop around a centre for objects of the given size. Waypoints are drawn from the water
+     * spread evenly around a circle about the centre, all within the region covering most of the water nearby, and
+     * joined by searching between each waypoint and the next. The loop is not smoothed, so it can be reserved
+     * (see ReservationTable) and objects sharing it keep their spacing
+     *
+     * @param width     the width of the object
+     * @param height    the height of the object
+     * @param centreX   the x coord of the centre in game space
+     * @param centreY   the y coord of the centre in game space
+     * @param radius    the distance from the centre to the waypoints
+     * @param waypoints the number of waypoints around the loop
+     * @param random    the random number generator to draw the waypoints with
+     * @return The loop, or null if there is too little water around the centre for a loop
+     */
+    public PatrolCircuit createPatrolCircuit(float width, float height, float centreX, float centreY, float radius, int waypoints, Random random) {
+        NavGrid grid = getNavGrid();
+        long[] clearance = grid.getClearanceClass(width, height);
+        DestinationTable table = getDestinationTable(width, height, centreX, centreY, radius + tileSize);
+        if (table.size() == 0) {
+            return null;
+        }
+        // taking the region most of the water around the centre lies within
+        WaterRegions regions = getWaterRegions(clearance);
+        Map<Integer, Integer> counts = new HashMap<>();
+        int region = WaterRegions.NO_REGION;
+        for (int i = 0; i < 64; i++) {
+            Integer drawn = regions.getRegion(table.draw(random));
+            Integer count = counts.get(drawn);
+            counts.put(drawn, count == null ? 1 : count + 1);
+            if (region == WaterRegions.NO_REGION || counts.get(drawn) > counts.get(region)) {
+                region = drawn;
             }
-            fx = hx(dest) + this.gx;
         }
 
-        private float hx(Checkpoint dest) {
-            return (float) Math.sqrt(Math.pow(checkpoint.x - dest.x, 2) + Math.pow(checkpoint.y - dest.y, 2));
+        int[] points = new int[waypoints];
+        int count = 0;
+        for (int i = 0; i < waypoints; i++) {
+            double angle = 2 * Math.PI * i / waypoints;
+            int x = (int) ((centreX + radius * Math.cos(angle)) / tileSize);
+            int y = (int) ((centreY + radius * Math.sin(angle)) / tileSize);
+            int tile = table.draw(random, x - 2, y - 2, x + 2, y + 2, regions, region);
+            if (tile != -1 && (count == 0 || tile != points[count - 1])) {
+                points[count++] = tile;
+            }
+        }
+        if (count > 1 && points[count - 1] == points[0]) {
+            count--;
+        }
+        if (count < 2) {
+            return null;
         }
 
-        /**
-         * comparator for the priority list
-         *
-         * @param o the other PathNode to compare it to
-         * @return The comparison of fx
-         */
-        @Override
-        public int compareTo(PathNode o) {
-            return (int) (fx - o.fx);
+        int[] loop = new int[16];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int[] leg = refineLeg(points[i], points[(i + 1) % count], clearance);
+            if (leg == null) {
+                return null;
+            }
+            // each leg starts where the last finished, and the last finishes where the loop starts
+            int end = i == count - 1 ? leg.length - 1 : leg.length;
+            if (length + end > loop.length) {
+                loop = Arrays.copyOf(loop, Math.max(loop.length * 2, length + end));
+            }
+            System.arraycopy(leg, i == 0 ? 0 : 1, loop, length, end - (i == 0 ? 0 : 1));
+            length += end - (i == 0 ? 0 : 1);
         }
+        return new PatrolCircuit(Arrays.copyOf(loop, length), grid.getWidth(), tileSize, region);
+    }
 
-        /**
-         * Used to compare two path nodes
-         * @param o The second Pathnode to compare to
-         * @return If the pathNodes are the same
-         */
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            PathNode pathNode = (PathNode) o;
-            return checkpoint.equals(pathNode.checkpoint);
+    /**
+     * @return The search for the current search mode, reused by every path request
+     */
+    private AStarSearch getSearch() {
+        if (search == null) {
+            search = createSearch(searchMode, getNavGrid());
         }
+        return search;
+    }
 
+    /**
+     * @param searchMode The search algorithm to use
+     * @param grid       The navigation grid to search over
+     * @return A new search, each search can only be used by one thread at a time
+     */
+    static AStarSearch createSearch(SearchMode searchMode, NavGrid grid) {
+        if (searchMode == SearchMode.JUMP_POINT) {
+            return new JumpPointSearch(grid);
+        }
+        return new AStarSearch(grid);
     }
 }
@@ -0,0 +1,538 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs path searches on a pool of worker threads so a batch of path requests does not stall the frame.
+ * Requests are made and results are delivered on the game thread, the workers only ever read the tile data of the
+ * NavGrid and the clearance class of the request, neither of which change once built.
+ * Without any workers the searches are instead time sliced on the game thread, advancing a few tiles at a time
+ * until the budget for the frame runs out, so a burst of requests is spread across frames rather than stalling one.
+ * Searches around the tiles other objects have reserved (see requestCooperative) are always time sliced on the game
+ * thread, as the reservations change as each object plans.
+ * When the path finder is hierarchical, long routes are planned over the cluster graph on the workers or within the
+ * time slices, and refined a leg at a time on the game thread as they are travelled (see HierarchicalPath).
+ * Each requester can have one request in flight, a new request replaces the old one
+ * @author Dan Wade
+ */
+public class PathRequestService implements Disposable {
+
+    /**
+     * The default time in microseconds spent searching on the game thread each frame
+     */
+    public static final long DEFAULT_FRAME_BUDGET = 1000;
+
+    /**
+     * The number of tiles expanded between checks of the time left in the frame
+     */
+    public static final int SLICE_EXPANSIONS = 64;
+
+    /**
+     * Receives the result of a path request on the game thread
+     */
+    public interface Listener {
+        /**
+         * @param path The path found, or null if no path could be found
+         */
+        void onPathFound(TilePath path);
+    }
+
+    /**
+     * A single path request, completed by a worker and delivered by deliverResults
+     */
+    private static final class Request implements Runnable {
+        final Object requester;
+        final int start;
+        final int goal;
+        final long[] clearance;
+        final Heuristic heuristic;
+        // the cluster graph to plan a coarse route over first, null to search for the tiles directly
+        final ClusterGraph clusterGraph;
+        final Listener listener;
+        final boolean smooth;
+        // the distance in tiles to keep from the reservations of other objects, and whether to reserve the path found
+        final int spacing;
+        final boolean reserve;
+        final PathRequestService service;
+        volatile boolean cancelled = false;
+        // searched around the reservations until no route is found around them
+        boolean cooperative;
+        boolean reserved = false;
+        int[] tiles;
+        int[] waypoints;
+        // recorded in the telemetry once the path is handed back
+        final long requested = System.nanoTime();
+        int expansions;
+        PathTelemetry.Result result = PathTelemetry.Result.FOUND;
+
+        Request(PathRequestService service, Object requester, int start, int goal, long[] clearance, Heuristic heuristic,
+                ClusterGraph clusterGraph, Listener listener, boolean smooth, int spacing) {
+            this.clusterGraph = clusterGraph;
+            this.service = service;
+            this.smooth = smooth;
+            this.spacing = spacing;
+            this.reserve = spacing > 0;
+            this.cooperative = reserve;
+            this.requester = requester;
+            this.start = start;
+            this.goal = goal;
+            this.clearance = clearance;
+            this.heuristic = heuristic;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            if (planRoute()) {
+                service.completed.add(this);
+                return;
+            }
+            AStarSearch search = service.searches.get();
+            if (search.search(start, goal, clearance, heuristic, service.maxExpansions)) {
+                tiles = search.getPath();
+            } else {
+                result = PathFinder.getResult(search.getStatus());
+            }
+            expansions += search.getExpansions();
+            service.completed.add(this);
+        }
+
+        /**
+         * Plan a coarse route over the cluster graph, if the request has one, a route across the map takes a few
+         * hundred expansions of the graph at most
+         *
+         * @return If a route was found, otherwise the tiles are to be searched for directly, which is the final word
+         * on whether the goal can be reached
+         */
+        boolean planRoute() {
+            if (clusterGraph == null) {
+                return false;
+            }
+            waypoints = clusterGraph.findRoute(start, goal, clusterGraph.getNodeCount() + 2);
+            expansions += clusterGraph.getExpansions();
+            return waypoints != null;
+        }
+    }
+
+    private final PathFinder pathFinder;
+    // null when searching on the game thread
+    private final ExecutorService workers;
+    // every worker thread has its own search as the search state cannot be shared
+    private final ThreadLocal<AStarSearch> searches;
+    private final int maxExpansions;
+    private final Queue<Request> completed = new ConcurrentLinkedQueue<>();
+    // the request in flight for each requester, only used on the game thread
+    private final Map<Object, Request> pending = new HashMap<>();
+
+    // requests waiting to be searched on the game thread, and the one currently being searched
+    private final Queue<Request> queued = new ArrayDeque<>();
+    private Request active;
+    private AStarSearch activeSearch;
+    // searches around the reservations, only used on the game thread
+    private CooperativeSearch cooperativeSearch;
+    private long frameBudget = DEFAULT_FRAME_BUDGET;
+
+    /**
+     * @param pathFinder  The path finder to take the navigation grid, search mode and path cache from
+     * @param workerCount The number of worker threads to search on, 0 to time slice the searches on the game thread
+     */
+    public PathRequestService(PathFinder pathFinder, int workerCount) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("Worker count cannot be negative");
+        }
+        this.pathFinder = pathFinder;
+        final NavGrid grid = pathFinder.getNavGrid();
+        final PathFinder.SearchMode searchMode = pathFinder.getSearchMode();
+        maxExpansions = grid.getWidth() * grid.getHeight();
+        searches = new ThreadLocal<AStarSearch>() {
+            @Override
+            protected AStarSearch initialValue() {
+                return PathFinder.createSearch(searchMode, grid);
+            }
+        };
+        if (workerCount == 0) {
+            workers = null;
+            return;
+        }
+        workers = Executors.newFixedThreadPool(workerCount, new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "path-worker-" + count++);
+                // the workers should never keep the game open
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Request a path between a source and a destination that stays along the water. The listener is called
+     * from deliverResults once the path is found, or straight away if the locations are invalid
+     *
+     * @param requester    The object the path is for, any request already in flight for it is cancelled
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width        The width of the object being pathed
+     * @param height       The height of the object being pathed
+     * @param listener     Receives the path found
+     */
+    public void request(Object requester, float sourceX, float sourceY, float destinationX, float destinationY,
+                        float width, float height, Listener listener) {
+        request(requester, sourceX, sourceY, destinationX, destinationY, width, height, listener, false);
+    }
+
+    /**
+     * Request a path between a source and a destination that stays along the water. The listener is called
+     * from deliverResults once the path is found, or straight away if the locations are invalid
+     *
+     * @param requester    The object the path is for, any request already in flight for it is cancelled
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width        The width of the object being pathed
+     * @param height       The height of the object being pathed
+     * @param listener     Receives the path found
+     * @param smooth       If the path should only contain the tiles where it changes direction (see PathSmoother)
+     */
+    public void request(Object requester, float sourceX, float sourceY, float destinationX, float destinationY,
+                        float width, float height, Listener listener, boolean smooth) {
+        submit(requester, sourceX, sourceY, destinationX, destinationY, width, height, listener, smooth, 0);
+    }
+
+    /**
+     * Request a path between a source and a destination that routes around the tiles other objects have reserved,
+     * the tiles along it are reserved once it is found so objects planning afterwards route around this one (see
+     * PathFinder.findCooperativePath). The search is time sliced on the game thread within the frame budget, if there
+     * is no route around the reservations the direct route is searched for instead. The listener is called from
+     * deliverResults once the path is found, or straight away if the locations are invalid
+     *
+     * @param requester    The object the path is for, any request already in flight for it is cancelled
+     * @param sourceX      the x source location
+     * @param sourceY      the y source location
+     * @param destinationX the x destination
+     * @param destinationY the y destination
+     * @param width        The width of the object being pathed
+     * @param height       The height of the object being pathed
+     * @param listener     Receives the path found
+     */
+    public void requestCooperative(Object requester, float sourceX, float sourceY, float destinationX, float destinationY,
+                                   float width, float height, Listener listener) {
+        ReservationTable reservations = pathFinder.getReservationTable();
+        if (reservations == null) {
+            submit(requester, sourceX, sourceY, destinationX, destinationY, width, height, listener, false, 0);
+            return;
+        }
+        cancel(requester);
+        // the path being left no longer holds its tiles
+        reservations.release(requester);
+        submit(requester, sourceX, sourceY, destinationX, destinationY, width, height, listener, false, pathFinder.getSpacing(width, height));
+    }
+
+    /**
+     * Queue a path request
+     *
+     * @param spacing The distance in tiles to keep from the tiles other objects have reserved, 0 to ignore them
+     */
+    private void submit(Object requester, float sourceX, float sourceY, float destinationX, float destinationY,
+                        float width, float height, Listener listener, boolean smooth, int spacing) {
+        cancel(requester);
+
+        // checking the request on the game thread so invalid requests never reach the workers
+        PathTelemetry.Result invalid = pathFinder.checkRequest(sourceX, sourceY, destinationX, destinationY, width, height);
+        if (invalid != null) {
+            // rejected without using a worker or any of the frame budget
+            PathTelemetry telemetry = pathFinder.getTelemetry();
+            if (telemetry != null) {
+                telemetry.record(requester, 0, 0, invalid);
+            }
+            listener.onPathFound(null);
+            return;
+        }
+        int start = pathFinder.getTile(sourceX, sourceY);
+        int goal = pathFinder.getTile(destinationX, destinationY);
+        // clearance classes are built on the game thread, the workers only read them
+        long[] clearance = pathFinder.getNavGrid().getClearanceClass(width, height);
+
+        // as with the clearance class the heuristic is built here, so the workers only read it
+        // routes around the reservations are searched tile by tile, so they can be reserved
+        ClusterGraph clusterGraph = spacing > 0 ? null : pathFinder.getRouteGraph(start, goal, clearance);
+        Request request = new Request(this, requester, start, goal, clearance, pathFinder.getHeuristic(clearance),
+                clusterGraph, listener, smooth, spacing);
+        pending.put(requester, request);
+        if (request.cooperative) {
+            // the route depends on the reservations at the time, so is never taken from the cache
+            queued.add(request);
+            return;
+        }
+        PathCache cache = pathFinder.getPathCache();
+        int[] cached = cache == null ? null : cache.get(start, goal, clearance);
+        if (cached != null) {
+            // still handed back with the other results so every path arrives at the same point in the frame
+            request.tiles = cached;
+            completed.add(request);
+        } else if (workers == null) {
+            queued.add(request);
+        } else {
+            workers.execute(request);
+        }
+    }
+
+    /**
+     * Cancel the request in flight for a requester, the listener will not be called
+     *
+     * @param requester The object the path was requested for
+     */
+    public void cancel(Object requester) {
+        Request request = pending.remove(requester);
+        if (request != null) {
+            request.cancelled = true;
+            if (request.reserved) {
+                // found but not handed back yet, the object will never travel the tiles it reserved
+                pathFinder.releaseReservations(requester);
+            }
+        }
+    }
+
+    /**
+     * @param requester The object the path was requested for
+     * @return If a request for the object is in flight
+     */
+    public boolean isPending(Object requester) {
+        return pending.containsKey(requester);
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Called once a frame on the game thread. Searches for the paths queued on the game thread until the frame budget
+     * is spent, then hands every completed path back to its listener
+     */
+    public void update() {
+        if (active != null || !queued.isEmpty()) {
+            searchSlices(frameBudget * 1000);
+        }
+        deliverResults();
+    }
+
+    /**
+     * @return The time in microseconds spent searching on the game thread each frame
+     */
+    public long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * @param frameBudget The time in microseconds to spend searching on the game thread each frame
+     */
+    public void setFrameBudget(long frameBudget) {
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * @return If searches are time sliced on the game thread rather than run on worker threads, searches around
+     * reserved tiles always are
+     */
+    public boolean isTimeSliced() {
+        return workers == null;
+    }
+
+    /**
+     * Advance the queued searches a slice at a time until there is nothing left to search or the time runs out.
+     * At least one slice is always searched so a small budget still makes progress
+     *
+     * @param budgetNanos The time to spend in nanoseconds
+     */
+    private void searchSlices(long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            if (active != null && active.cancelled) {
+                active = null;
+            }
+            if (active == null) {
+                active = queued.poll();
+                if (active == null) {
+                    return;
+                }
+                if (active.cancelled) {
+                    active = null;
+                    continue;
+                }
+                if (active.planRoute()) {
+                    // the coarse route is planned in one go, taking far less time than a slice of a search
+                    complete(active);
+                    active = null;
+                    continue;
+                }
+                activeSearch = begin(active);
+            }
+            AStarSearch.Status status = activeSearch.step(SLICE_EXPANSIONS);
+            if (status != AStarSearch.Status.SEARCHING || activeSearch.getExpansions() >= maxExpansions) {
+                active.expansions += activeSearch.getExpansions();
+                if (status == AStarSearch.Status.FOUND) {
+                    active.tiles = activeSearch.getPath();
+                    complete(active);
+                    active = null;
+                } else if (active.cooperative) {
+                    active = fallBack(active);
+                } else {
+                    active.result = PathFinder.getResult(status);
+                    complete(active);
+                    active = null;
+                }
+            }
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Start the search for a request on the game thread
+     *
+     * @param request The request
+     * @return The search started
+     */
+    private AStarSearch begin(Request request) {
+        AStarSearch search;
+        if (request.cooperative) {
+            if (cooperativeSearch == null) {
+                cooperativeSearch = new CooperativeSearch(pathFinder.getNavGrid());
+            }
+            cooperativeSearch.setReservations(pathFinder.getReservationTable(), request.requester, request.spacing);
+            search = cooperativeSearch;
+        } else {
+            search = searches.get();
+        }
+        search.begin(request.start, request.goal, request.clearance, request.heuristic);
+        return search;
+    }
+
+    /**
+     * Search for the direct route of a request boxed in by the reservations, the object takes the direct route and
+     * steers around the others as before
+     *
+     * @param request The request
+     * @return The request if it is to be searched for on the game thread, otherwise null
+     */
+    private Request fallBack(Request request) {
+        request.cooperative = false;
+        PathCache cache = pathFinder.getPathCache();
+        int[] cached = cache == null ? null : cache.get(request.start, request.goal, request.clearance);
+        if (cached != null) {
+            request.tiles = cached;
+            complete(request);
+            return null;
+        }
+        if (workers != null) {
+            workers.execute(request);
+            return null;
+        }
+        activeSearch = begin(request);
+        return request;
+    }
+
+    /**
+     * Hand back a request searched for on the game thread. Paths that reserve their tiles do so straight away, so the
+     * requests queued behind them plan around them
+     *
+     * @param request The request
+     */
+    private void complete(Request request) {
+        if (request.reserve && request.tiles != null) {
+            reserve(request);
+        }
+        completed.add(request);
+    }
+
+    /**
+     * Reserve the tiles along the path found for a request
+     *
+     * @param request The request
+     */
+    private void reserve(Request request) {
+        ReservationTable reservations = pathFinder.getReservationTable();
+        if (reservations != null) {
+            reservations.reserve(request.requester, request.tiles);
+            request.reserved = true;
+        }
+    }
+
+    /**
+     * Hand every completed path back to its listener, must be called on the game thread
+     */
+    public void deliverResults() {
+        Request request;
+        while ((request = completed.poll()) != null) {
+            if (request.cancelled || pending.get(request.requester) != request) {
+                continue;
+            }
+            pending.remove(request.requester);
+            TilePath path = null;
+            if (request.waypoints != null) {
+                // the first leg is refined here, and each leg after it once the leg before has been travelled
+                path = pathFinder.createPath(request.waypoints, request.clearance, request.smooth);
+                if (path == null) {
+                    request.result = PathTelemetry.Result.UNREACHABLE;
+                }
+            } else if (request.tiles != null) {
+                PathCache cache = pathFinder.getPathCache();
+                if (cache != null && !request.cooperative) {
+                    // routes around the reservations depend on the reservations at the time, so are never cached
+                    cache.put(request.clearance, request.tiles);
+                }
+                if (request.reserve && !request.reserved) {
+                    // the direct route searched for on a worker once boxed in by the reservations
+                    reserve(request);
+                }
+                int[] tiles = request.tiles;
+                if (request.smooth) {
+                    // smoothed here so the cache keeps the full path
+                    tiles = PathSmoother.smooth(pathFinder.getNavGrid(), request.clearance, tiles);
+                }
+                path = pathFinder.createPath(tiles);
+            }
+            PathTelemetry telemetry = pathFinder.getTelemetry();
+            if (telemetry != null) {
+                // timed from the request, so time spent queued or waiting for the next frame is included
+                telemetry.record(request.requester, request.expansions, System.nanoTime() - request.requested, request.result);
+            }
+            request.listener.onPathFound(path);
+        }
+    }
+
+    /**
+     * Stop the worker threads, requests in flight are dropped
+     */
+    @Override
+    public void dispose() {
+        for (Request request : pending.values()) {
+            request.cancelled = true;
+        }
+        pending.clear();
+        queued.clear();
+        active = null;
+        activeSearch = null;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
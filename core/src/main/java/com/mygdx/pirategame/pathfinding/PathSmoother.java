@@ -0,0 +1,40 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Shortens a tile path down to the tiles where it changes direction by pulling it tight around obstacles.
+ * A tile is only kept if the tile after it cannot be seen in a straight line from the last kept tile, so an object
+ * steering between the kept tiles never leaves its clearance class
+ * @author Dan Wade
+ */
+public final class PathSmoother {
+
+    private PathSmoother() {
+    }
+
+    /**
+     * @param grid      The navigation grid the path was found over
+     * @param clearance The clearance class of the object travelling the path
+     * @param tiles     The tile ids from the start to the goal inclusive, each tile next to the one before it
+     * @return The start, the corners and the goal of the path, a new array so the given tiles are left untouched
+     */
+    public static int[] smooth(NavGrid grid, long[] clearance, int[] tiles) {
+        if (tiles.length <= 2) {
+            return tiles.clone();
+        }
+        int[] corners = new int[tiles.length];
+        int count = 0;
+        corners[count++] = tiles[0];
+        int anchor = tiles[0];
+        for (int i = 2; i < tiles.length; i++) {
+            if (!grid.hasLineOfSight(clearance, anchor, tiles[i])) {
+                // the tile before is the furthest tile that can be reached in a straight line
+                anchor = tiles[i - 1];
+                corners[count++] = anchor;
+            }
+        }
+        corners[count++] = tiles[tiles.length - 1];
+        return Arrays.copyOf(corners, count);
+    }
+}
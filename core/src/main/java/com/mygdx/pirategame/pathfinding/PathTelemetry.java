@@ -0,0 +1,354 @@
+package com.mygdx.pirategame.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the cost and outcome of every path request, grouped by the type of object requesting the path and the
+ * PathManager it was pathing with. Each group keeps a count of each result along with histograms of the tiles
+ * expanded and the time taken, so caps and heuristics can be tuned from real sessions.
+ * Requests are recorded on the game thread only
+ * @author Dan Wade
+ */
+public class PathTelemetry {
+
+    /**
+     * The file the telemetry is dumped to when the game screen is disposed with pathfinding debugging enabled
+     */
+    public static final String DUMP_FILE = "path-telemetry.txt";
+
+    /**
+     * The outcome of a path request
+     */
+    public enum Result {
+        /**
+         * A path was found
+         */
+        FOUND,
+        /**
+         * The search expanded as many tiles as it was allowed to without reaching the goal
+         */
+        CAP_HIT,
+        /**
+         * The start is outside of the map or the object cannot sit there
+         */
+        INVALID_START,
+        /**
+         * The destination is outside of the map or the object cannot sit there
+         */
+        INVALID_END,
+        /**
+         * The destination cannot be reached from the start
+         */
+        UNREACHABLE
+    }
+
+    /**
+     * An object that requests paths, used to group its requests by the PathManager it is pathing with
+     */
+    public interface Requester {
+        /**
+         * @return The current pathing manager of the object, may be null
+         */
+        PathManager getPathManager();
+    }
+
+    /**
+     * A histogram of non negative values in buckets doubling in size, bucket 0 holds 0, bucket 1 holds 1,
+     * bucket 2 holds 2 to 3, bucket 3 holds 4 to 7 and so on
+     */
+    public static class Histogram {
+        /**
+         * The number of buckets, the last bucket holds every value too large for the others
+         */
+        public static final int BUCKETS = 32;
+
+        private final long[] buckets = new long[BUCKETS];
+        private long count;
+        private long total;
+        private long max;
+
+        /**
+         * @param value The value to add, negative values are counted as 0
+         */
+        public void add(long value) {
+            value = Math.max(0, value);
+            buckets[getBucket(value)]++;
+            count++;
+            total += value;
+            max = Math.max(max, value);
+        }
+
+        /**
+         * @param value The value
+         * @return The bucket the value falls into
+         */
+        public static int getBucket(long value) {
+            return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+        }
+
+        /**
+         * @param bucket The bucket
+         * @return The largest value held by the bucket
+         */
+        public static long getUpperBound(int bucket) {
+            return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+        /**
+         * @param bucket The bucket
+         * @return The number of values in the bucket
+         */
+        public long getBucketCount(int bucket) {
+            return buckets[bucket];
+        }
+
+        /**
+         * @return The number of values added
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The largest value added
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return The mean of the values added, 0 if none have been added
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * @param percentile The percentile between 0 and 1
+         * @return The upper bound of the bucket the percentile falls into, capped at the largest value added
+         */
+        public long getPercentile(float percentile) {
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(max, getUpperBound(i));
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * The requests made by one type of object pathing with one type of PathManager
+     */
+    public static class Stats {
+        private final Class<?> agentType;
+        private final Class<?> managerType;
+        private final long[] results = new long[Result.values().length];
+        private final Histogram expansions = new Histogram();
+        private final Histogram time = new Histogram();
+
+        Stats(Class<?> agentType, Class<?> managerType) {
+            this.agentType = agentType;
+            this.managerType = managerType;
+        }
+
+        /**
+         * @return The type of object requesting the paths, null if requested without an object
+         */
+        public Class<?> getAgentType() {
+            return agentType;
+        }
+
+        /**
+         * @return The type of PathManager the paths were requested with, null if there was none
+         */
+        public Class<?> getManagerType() {
+            return managerType;
+        }
+
+        /**
+         * @return The number of requests
+         */
+        public long getCount() {
+            return expansions.getCount();
+        }
+
+        /**
+         * @param result The outcome
+         * @return The number of requests with the outcome
+         */
+        public long getCount(Result result) {
+            return results[result.ordinal()];
+        }
+
+        /**
+         * @return The histogram of the tiles expanded by each request
+         */
+        public Histogram getExpansions() {
+            return expansions;
+        }
+
+        /**
+         * @return The histogram of the microseconds between each request and its result
+         */
+        public Histogram getTime() {
+            return time;
+        }
+    }
+
+    // grouped by the type of object and then the type of PathManager, the class names are only built when dumping
+    private final Map<Class<?>, Map<Class<?>, Stats>> stats = new HashMap<>();
+    private final Stats total = new Stats(null, null);
+
+    /**
+     * Record the outcome of a path request
+     *
+     * @param requester  The object the path was requested for, may be null
+     * @param expansions The number of tiles expanded searching for the path
+     * @param nanos      The wall clock time in nanoseconds between the request and its result
+     * @param result     The outcome of the request
+     */
+    public void record(Object requester, int expansions, long nanos, Result result) {
+        Class<?> agentType = requester == null ? null : requester.getClass();
+        Class<?> managerType = null;
+        if (requester instanceof Requester && ((Requester) requester).getPathManager() != null) {
+            managerType = ((Requester) requester).getPathManager().getClass();
+        }
+        add(getStats(agentType, managerType, true), expansions, nanos, result);
+        add(total, expansions, nanos, result);
+    }
+
+    private static void add(Stats stats, int expansions, long nanos, Result result) {
+        stats.results[result.ordinal()]++;
+        stats.expansions.add(expansions);
+        stats.time.add(nanos / 1000);
+    }
+
+    /**
+     * @param agentType   The type of object requesting the paths, null for requests made without an object
+     * @param managerType The type of PathManager the paths were requested with, null for requests made without one
+     * @return The requests made by the type of object with the type of PathManager, null if there have been none
+     */
+    public Stats getStats(Class<?> agentType, Class<?> managerType) {
+        return getStats(agentType, managerType, false);
+    }
+
+    private Stats getStats(Class<?> agentType, Class<?> managerType, boolean create) {
+        Map<Class<?>, Stats> byManager = stats.get(agentType);
+        if (byManager == null) {
+            if (!create) {
+                return null;
+            }
+            byManager = new HashMap<>();
+            stats.put(agentType, byManager);
+        }
+        Stats managerStats = byManager.get(managerType);
+        if (managerStats == null && create) {
+            managerStats = new Stats(agentType, managerType);
+            byManager.put(managerType, managerStats);
+        }
+        return managerStats;
+    }
+
+    /**
+     * @return The requests of every type of object and PathManager, grouped by both
+     */
+    public List<Stats> getAllStats() {
+        List<Stats> all = new ArrayList<>();
+        for (Map<Class<?>, Stats> byManager : stats.values()) {
+            all.addAll(byManager.values());
+        }
+        return all;
+    }
+
+    /**
+     * @return Every request recorded
+     */
+    public Stats getTotal() {
+        return total;
+    }
+
+    /**
+     * Forget every request recorded
+     */
+    public void clear() {
+        stats.clear();
+        clearStats(total);
+    }
+
+    private static void clearStats(Stats stats) {
+        Arrays.fill(stats.results, 0);
+        clearHistogram(stats.expansions);
+        clearHistogram(stats.time);
+    }
+
+    private static void clearHistogram(Histogram histogram) {
+        Arrays.fill(histogram.buckets, 0);
+        histogram.count = 0;
+        histogram.total = 0;
+        histogram.max = 0;
+    }
+
+    /**
+     * Write a summary of the requests recorded, one group after another
+     *
+     * @param writer The writer to write to, it is not closed
+     */
+    public void dump(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        dumpStats(out, "total", total);
+        for (Stats group : getAllStats()) {
+            dumpStats(out, getName(group.getAgentType()) + " / " + getName(group.getManagerType()), group);
+        }
+        out.flush();
+    }
+
+    /**
+     * Write a summary of the requests recorded to a file, replacing the file if it exists
+     *
+     * @param file The file to write to
+     * @throws IOException If the file could not be written
+     */
+    public void dump(File file) throws IOException {
+        try (FileWriter writer = new FileWriter(file)) {
+            dump(writer);
+        }
+    }
+
+    private static String getName(Class<?> type) {
+        return type == null ? "none" : type.getSimpleName();
+    }
+
+    private static void dumpStats(PrintWriter out, String name, Stats group) {
+        out.println(name + ": " + group.getCount() + " requests");
+        for (Result result : Result.values()) {
+            out.println("  " + result + ": " + group.getCount(result));
+        }
+        dumpHistogram(out, "expansions", group.getExpansions());
+        dumpHistogram(out, "time (us)", group.getTime());
+    }
+
+    private static void dumpHistogram(PrintWriter out, String name, Histogram histogram) {
+        out.println("  " + name + ": mean " + String.format("%.1f", histogram.getMean()) + ", p50 " + histogram.getPercentile(0.5f)
+                + ", p90 " + histogram.getPercentile(0.9f) + ", p99 " + histogram.getPercentile(0.99f) + ", max " + histogram.getMax());
+        for (int i = 0; i < Histogram.BUCKETS; i++) {
+            if (histogram.getBucketCount(i) > 0) {
+                out.println("    <= " + (i == Histogram.BUCKETS - 1 ? "max" : Long.toString(Histogram.getUpperBound(i))) + ": " + histogram.getBucketCount(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mygdx.pirategame.pathfinding;
+
+/**
+ * A closed loop of tiles around a college that its fleet patrols, found once and shared by every ship patrolling it.
+ * Each ship joins the loop at its own offset and travels a lap back round to it, so patrolling never needs a search
+ * once a ship has joined the loop
+ * @author Dan Wade
+ */
+public class PatrolCircuit {
+
+    private final int[] loop;
+    private final int gridWidth;
+    private final float tileSize;
+    private final int region;
+    // the tiles of a lap from each offset, built the first time a ship sets off from the offset
+    private final int[][] laps;
+
+    /**
+     * @param loop      The tile ids around the loop, each tile neighbours the next and the last neighbours the first
+     * @param gridWidth The width of the grid in tiles
+     * @param tileSize  The size of a tile in game space
+     * @param region    The water region the loop lies within (see WaterRegions)
+     */
+    public PatrolCircuit(int[] loop, int gridWidth, float tileSize, int region) {
+        this.loop = loop;
+        this.gridWidth = gridWidth;
+        this.tileSize = tileSize;
+        this.region = region;
+        laps = new int[loop.length][];
+    }
+
+    /**
+     * @return The number of tiles around the loop
+     */
+    public int size() {
+        return loop.length;
+    }
+
+    /**
+     * @param offset The index of the tile around the loop, wrapping around past the end
+     * @return The tile id
+     */
+    public int getTile(int offset) {
+        return loop[wrap(offset)];
+    }
+
+    /**
+     * Spread a number of ships evenly around the loop
+     *
+     * @param slot  The position of the ship amongst the ships sharing the loop
+     * @param slots The number of ships sharing the loop
+     * @return The offset the ship joins the loop at
+     */
+    public int getOffset(int slot, int slots) {
+        return (int) ((long) loop.length * slot / Math.max(1, slots));
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The offset of the tile around the loop closest to the tile
+     */
+    public int getNearestOffset(int tile) {
+        int x = tile % gridWidth;
+        int y = tile / gridWidth;
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < loop.length; i++) {
+            int dx = loop[i] % gridWidth - x;
+            int dy = loop[i] / gridWidth - y;
+            if (dx * dx + dy * dy < nearestDistance) {
+                nearestDistance = dx * dx + dy * dy;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * @return The water region the loop lies within
+     */
+    public int getRegion() {
+        return region;
+    }
+
+    /**
+     * Get a lap of the loop starting and finishing at an offset. The tiles of each lap are shared by every ship
+     * setting off from the same offset, only the path travelling them is created
+     *
+     * @param offset The offset to set off from
+     * @return The path once around the loop
+     */
+    public TilePath getLap(int offset) {
+        offset = wrap(offset);
+        if (laps[offset] == null) {
+            int[] lap = new int[loop.length + 1];
+            for (int i = 0; i <= loop.length; i++) {
+                lap[i] = loop[(offset + i) % loop.length];
+            }
+            laps[offset] = lap;
+        }
+        return new TilePath(laps[offset], gridWidth, tileSize);
+    }
+
+    private int wrap(int offset) {
+        return ((offset % loop.length) + loop.length) % loop.length;
+    }
+
+    /**
+     * @param offset The offset around the loop
+     * @return The x coord in game space of the corner of the tile at the offset
+     */
+    public float getX(int offset) {
+        return (getTile(offset) % gridWidth) * tileSize;
+    }
+
+    /**
+     * @param offset The offset around the loop
+     * @return The y coord in game space of the corner of the tile at the offset
+     */
+    public float getY(int offset) {
+        return (getTile(offset) / gridWidth) * tileSize;
+    }
+}
@@ -0,0 +1,182 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The tiles objects planning cooperatively have reserved over the next few seconds, each reservation holds a tile
+ * for a single time step. Objects plan one after another around the reservations already made and then reserve the
+ * tiles along their own path, so objects sharing the same water are routed apart before they ever collide.
+ * Only the steps within the window are held, which are kept in a ring so the table never allocates as time moves on
+ * @author Dan Wade
+ */
+public class ReservationTable {
+
+    /**
+     * The number of time steps ahead that can be reserved
+     */
+    public static final int WINDOW = 32;
+
+    /**
+     * The number of steps either side of a step that are also checked, objects never keep exactly to their plan
+     */
+    public static final int SLACK = 1;
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final float stepDuration;
+    // the owner of each tile for each step in the window, step s is held in owners[s % WINDOW]
+    private final Object[][] owners;
+    // the cells each owner has reserved, packed as (s % WINDOW) * size + tile
+    private final Map<Object, int[]> reserved = new IdentityHashMap<>();
+    private int step = 0;
+    private float time = 0;
+
+    /**
+     * @param grid         The navigation grid the reservations are made on
+     * @param stepDuration The time in seconds an object takes to travel a tile
+     */
+    public ReservationTable(NavGrid grid, float stepDuration) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.size = width * height;
+        this.stepDuration = stepDuration;
+        owners = new Object[WINDOW][size];
+    }
+
+    /**
+     * Move time on, the reservations of steps that have passed are dropped
+     *
+     * @param dt Delta time (elapsed time since last game tick)
+     */
+    public void update(float dt) {
+        time += dt;
+        while (time >= stepDuration) {
+            time -= stepDuration;
+            // the slot of the step that has passed is reused for the step entering the window
+            Arrays.fill(owners[step % WINDOW], null);
+            step++;
+        }
+    }
+
+    /**
+     * @return The current time step
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * @return The time in seconds an object takes to travel a tile
+     */
+    public float getStepDuration() {
+        return stepDuration;
+    }
+
+    /**
+     * Check if an object travelling through a tile at a step would come too close to another object
+     *
+     * @param tile    The tile id
+     * @param at      The time step the tile is reached
+     * @param spacing The distance in tiles objects have to keep apart
+     * @param owner   The object planning, its own reservations are ignored
+     * @return If another object has reserved a tile within the spacing around the step, steps outside of the window
+     * are never reserved
+     */
+    public boolean isReserved(int tile, int at, int spacing, Object owner) {
+        int x = tile % width;
+        int y = tile / width;
+        int x0 = Math.max(0, x - spacing);
+        int y0 = Math.max(0, y - spacing);
+        int x1 = Math.min(width - 1, x + spacing);
+        int y1 = Math.min(height - 1, y + spacing);
+        for (int s = Math.max(step, at - SLACK); s <= at + SLACK && s < step + WINDOW; s++) {
+            Object[] slot = owners[s % WINDOW];
+            for (int ny = y0; ny <= y1; ny++) {
+                for (int nx = x0; nx <= x1; nx++) {
+                    Object other = slot[nx + ny * width];
+                    if (other != null && other != owner) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserve the tiles along a path starting from the current step, replacing any reservations the owner made before.
+     * The object is taken to travel a tile each step, and a diagonal tile in root two steps. Tiles already reserved by
+     * another object are left to that object
+     *
+     * @param owner The object travelling the path
+     * @param tiles The tile ids of the path from the tile the object is at
+     */
+    public void reserve(Object owner, int[] tiles) {
+        release(owner);
+        int[] cells = new int[WINDOW + SLACK + 1];
+        int count = 0;
+        float cost = 0;
+        int last = -1;
+        for (int i = 0; i < tiles.length; i++) {
+            if (i > 0) {
+                boolean diagonal = tiles[i] % width != tiles[i - 1] % width && tiles[i] / width != tiles[i - 1] / width;
+                cost += diagonal ? AStarSearch.DIAGONAL : 1;
+            }
+            int at = Math.round(cost);
+            if (at >= WINDOW) {
+                break;
+            }
+            if (at != last) {
+                count = reserveCell(owner, tiles[i], step + at, cells, count);
+                last = at;
+            }
+        }
+        if (last != -1 && Math.round(cost) < WINDOW) {
+            // the object lingers at the end of the path while it decides where to go next
+            for (int at = last + 1; at <= last + SLACK && at < WINDOW; at++) {
+                count = reserveCell(owner, tiles[tiles.length - 1], step + at, cells, count);
+            }
+        }
+        reserved.put(owner, Arrays.copyOf(cells, count));
+    }
+
+    private int reserveCell(Object owner, int tile, int at, int[] cells, int count) {
+        Object[] slot = owners[at % WINDOW];
+        if (slot[tile] == null) {
+            slot[tile] = owner;
+            cells[count++] = (at % WINDOW) * size + tile;
+        }
+        return count;
+    }
+
+    /**
+     * Drop every reservation made by an object, used when the object stops following its path
+     *
+     * @param owner The object
+     */
+    public void release(Object owner) {
+        int[] cells = reserved.remove(owner);
+        if (cells == null) {
+            return;
+        }
+        for (int cell : cells) {
+            Object[] slot = owners[cell / size];
+            // the step may have passed and the slot been reserved again by another object since
+            if (slot[cell % size] == owner) {
+                slot[cell % size] = null;
+            }
+        }
+    }
+
+    /**
+     * @param owner The object
+     * @return The number of cells the object reserved with its last path, some may have since passed
+     */
+    public int getReservedCount(Object owner) {
+        int[] cells = reserved.get(owner);
+        return cells == null ? 0 : cells.length;
+    }
+}
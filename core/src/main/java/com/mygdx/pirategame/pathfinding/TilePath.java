@@ -0,0 +1,235 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A path held as the ids of the tiles along it, with a cursor at the tile currently being headed towards.
+ * Travelling the path only moves the cursor on and the location of each tile is worked out when asked for,
+ * so following a path never allocates or shifts the tiles left to travel
+ * @author Dan Wade
+ */
+public class TilePath {
+
+    /**
+     * A path with no tiles, used by objects that have dropped their path
+     */
+    public static final TilePath EMPTY = new TilePath(new int[0], 1, 1);
+
+    private final int gridWidth;
+    private final float tileSize;
+    // the tiles from the cursor up to the length are still to be travelled
+    private int[] tiles;
+    private int length;
+    private int cursor = 0;
+    // the tiles may be shared with the path cache, they are copied before being added to
+    private boolean shared = true;
+
+    /**
+     * @param tiles     The tile ids along the path, the array is never modified so it can be shared
+     * @param gridWidth The width of the grid in tiles
+     * @param tileSize  The size of a tile in game space
+     */
+    public TilePath(int[] tiles, int gridWidth, float tileSize) {
+        this.tiles = tiles;
+        this.length = tiles.length;
+        this.gridWidth = gridWidth;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @return The number of tiles left to travel
+     */
+    public int size() {
+        return length - cursor;
+    }
+
+    /**
+     * @return If there are no tiles left to travel
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param index The index of the tile counting from the tile currently being headed towards
+     * @return The tile id
+     */
+    public int getTile(int index) {
+        if (index < 0 || index >= length - cursor) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return tiles[cursor + index];
+    }
+
+    /**
+     * @return The tile id at the end of the path
+     */
+    public int getGoalTile() {
+        return getTile(size() - 1);
+    }
+
+    /**
+     * @return The x coord in game space of the tile currently being headed towards
+     */
+    public float getX() {
+        return getX(0);
+    }
+
+    /**
+     * @return The y coord in game space of the tile currently being headed towards
+     */
+    public float getY() {
+        return getY(0);
+    }
+
+    /**
+     * @param index The index of the tile counting from the tile currently being headed towards
+     * @return The x coord in game space of the corner of the tile
+     */
+    public float getX(int index) {
+        return (getTile(index) % gridWidth) * tileSize;
+    }
+
+    /**
+     * @param index The index of the tile counting from the tile currently being headed towards
+     * @return The y coord in game space of the corner of the tile
+     */
+    public float getY(int index) {
+        return (getTile(index) / gridWidth) * tileSize;
+    }
+
+    /**
+     * Move on to the next tile of the path, once the tile currently being headed towards is reached
+     */
+    public void advance() {
+        if (isEmpty()) {
+            throw new IndexOutOfBoundsException("The path has no tiles left to travel");
+        }
+        cursor++;
+    }
+
+    /**
+     * Create a checkpoint for a tile of the path, unlike the other accessors this allocates
+     *
+     * @param index The index of the tile counting from the tile currently being headed towards
+     * @return A checkpoint at the corner of the tile
+     */
+    public Checkpoint getCheckpoint(int index) {
+        return new Checkpoint(getX(index), getY(index), tileSize);
+    }
+
+    /**
+     * View the tiles left to travel as checkpoints, for code written against lists of checkpoints.
+     * Removing the first checkpoint of the list moves the path on, no other changes can be made through the list
+     *
+     * @return A list of checkpoints backed by the path
+     */
+    public List<Checkpoint> asCheckpoints() {
+        return new AbstractList<Checkpoint>() {
+            @Override
+            public Checkpoint get(int index) {
+                return getCheckpoint(index);
+            }
+
+            @Override
+            public int size() {
+                return TilePath.this.size();
+            }
+
+            @Override
+            public Checkpoint remove(int index) {
+                if (index != 0) {
+                    throw new UnsupportedOperationException("Only the first checkpoint of a path can be removed");
+                }
+                Checkpoint removed = get(0);
+                advance();
+                modCount++;
+                return removed;
+            }
+        };
+    }
+
+    /**
+     * @return The width of the grid in tiles
+     */
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    /**
+     * @return The size of a tile in game space
+     */
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Add tiles to the end of the path
+     *
+     * @param more The tile ids to add
+     * @param from The index of the first tile in the array to add
+     */
+    protected void append(int[] more, int from) {
+        int count = more.length - from;
+        if (shared || length + count > tiles.length) {
+            // dropping the tiles already travelled while the tiles are being copied anyway
+            int[] grown = new int[Math.max(16, (length - cursor + count) * 2)];
+            System.arraycopy(tiles, cursor, grown, 0, length - cursor);
+            length -= cursor;
+            cursor = 0;
+            tiles = grown;
+            shared = false;
+        }
+        System.arraycopy(more, from, tiles, length, count);
+        length += count;
+    }
+
+    /**
+     * @return The number of tiles left to travel that are already known, a path refined as it is travelled
+     * leaves out the waypoints it has not refined yet
+     */
+    int getRefinedSize() {
+        return length - cursor;
+    }
+
+    /**
+     * Replace the start of the path, up to and including a tile further along it, with other tiles
+     *
+     * @param window The tile ids to travel instead, ending at the tile the path is rejoined at
+     * @param from   The index of the first tile in the window to travel
+     * @param rejoin The index of the tile the window rejoins the path at, counting from the tile currently being
+     *               headed towards, it must be one of the known tiles (see getRefinedSize)
+     */
+    void splice(int[] window, int from, int rejoin) {
+        if (rejoin < 0 || rejoin >= length - cursor) {
+            throw new IndexOutOfBoundsException("Index: " + rejoin + ", Size: " + (length - cursor));
+        }
+        int count = window.length - from;
+        int rest = length - cursor - rejoin - 1;
+        int[] spliced = new int[count + rest];
+        System.arraycopy(window, from, spliced, 0, count);
+        System.arraycopy(tiles, cursor + rejoin + 1, spliced, count, rest);
+        tiles = spliced;
+        length = spliced.length;
+        cursor = 0;
+        shared = false;
+    }
+
+    /**
+     * @return The tile ids left to travel
+     */
+    public int[] toArray() {
+        int[] left = new int[size()];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = getTile(i);
+        }
+        return left;
+    }
+
+    @Override
+    public String toString() {
+        return "TilePath" + Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,172 @@
+package com.mygdx.pirategame.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * The connected regions of water an object of a given size can travel within, labelled once with a flood fill.
+ * Two tiles in different regions can never be joined by a path, so requests between them are rejected straight
+ * away instead of searching every tile that can be reached before giving up
+ * @author Dan Wade
+ */
+public class WaterRegions {
+
+    /**
+     * The region of tiles the object cannot sit on
+     */
+    public static final int NO_REGION = -1;
+
+    private final NavGrid grid;
+    private final long[] clearance;
+    private final int width;
+    // the region of each tile, NO_REGION for tiles outside of the clearance class
+    private final int[] regions;
+    private final int[] regionSizes;
+    private int rejectedCount = 0;
+
+    /**
+     * @param grid      The navigation grid to label
+     * @param clearance The clearance class of the objects travelling the regions (see NavGrid.getClearanceClass)
+     */
+    public WaterRegions(NavGrid grid, long[] clearance) {
+        this.grid = grid;
+        this.clearance = clearance;
+        this.width = grid.getWidth();
+        int size = grid.getWidth() * grid.getHeight();
+        regions = new int[size];
+        Arrays.fill(regions, NO_REGION);
+
+        // flooding out from each unlabelled tile using the same moves as the searches
+        int[] sizes = new int[16];
+        int count = 0;
+        int[] stack = new int[size];
+        for (int tile = 0; tile < size; tile++) {
+            if (regions[tile] != NO_REGION || !NavGrid.isSet(clearance, tile)) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = tile;
+            regions[tile] = count;
+            int regionSize = 0;
+            while (top > 0) {
+                int current = stack[--top];
+                regionSize++;
+                int x = current % width;
+                int y = current / width;
+                for (int i = 0; i < AStarSearch.DX.length; i++) {
+                    int nx = x + AStarSearch.DX[i];
+                    int ny = y + AStarSearch.DY[i];
+                    if (!grid.inBounds(nx, ny)) {
+                        continue;
+                    }
+                    int next = nx + ny * width;
+                    if (regions[next] == NO_REGION && NavGrid.isSet(clearance, next)) {
+                        regions[next] = count;
+                        stack[top++] = next;
+                    }
+                }
+            }
+            if (count == sizes.length) {
+                sizes = Arrays.copyOf(sizes, count * 2);
+            }
+            sizes[count++] = regionSize;
+        }
+        regionSizes = Arrays.copyOf(sizes, count);
+    }
+
+    /**
+     * @param tile The tile id
+     * @return The region the tile belongs to, NO_REGION if the object cannot sit on the tile
+     */
+    public int getRegion(int tile) {
+        return regions[tile];
+    }
+
+    /**
+     * Get the region an object starting from a tile travels within. A search can start from a tile the object
+     * cannot sit on, in which case it steps straight onto one of the neighbouring tiles
+     *
+     * @param tile The tile id the object is at
+     * @return The region of the tile, or of the first neighbouring tile in a region, NO_REGION if there are none
+     */
+    public int getStartRegion(int tile) {
+        if (regions[tile] != NO_REGION) {
+            return regions[tile];
+        }
+        int x = tile % width;
+        int y = tile / width;
+        for (int i = 0; i < AStarSearch.DX.length; i++) {
+            int nx = x + AStarSearch.DX[i];
+            int ny = y + AStarSearch.DY[i];
+            if (grid.inBounds(nx, ny) && regions[nx + ny * width] != NO_REGION) {
+                return regions[nx + ny * width];
+            }
+        }
+        return NO_REGION;
+    }
+
+    /**
+     * Check if a path could exist between two tiles, requests that cannot be answered are counted as rejected
+     *
+     * @param start The tile id to start from
+     * @param goal  The tile id to reach
+     * @return If the goal is in a region the object can reach from the start
+     */
+    public boolean isReachable(int start, int goal) {
+        int goalRegion = regions[goal];
+        if (goalRegion != NO_REGION) {
+            if (regions[start] == goalRegion) {
+                return true;
+            }
+            if (regions[start] == NO_REGION) {
+                // the start may neighbour more than one region
+                int x = start % width;
+                int y = start / width;
+                for (int i = 0; i < AStarSearch.DX.length; i++) {
+                    int nx = x + AStarSearch.DX[i];
+                    int ny = y + AStarSearch.DY[i];
+                    if (grid.inBounds(nx, ny) && regions[nx + ny * width] == goalRegion) {
+                        return true;
+                    }
+                }
+            }
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * @return The number of regions
+     */
+    public int getRegionCount() {
+        return regionSizes.length;
+    }
+
+    /**
+     * @param region The region
+     * @return The number of tiles in the region
+     */
+    public int getRegionSize(int region) {
+        return regionSizes[region];
+    }
+
+    /**
+     * @return The number of requests rejected because they could never be answered
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Count a request that was rejected because it could never be answered
+     */
+    void reject() {
+        rejectedCount++;
+    }
+
+    /**
+     * @return The clearance class the regions were labelled for
+     */
+    public long[] getClearance() {
+        return clearance;
+    }
+}
@@ -5,18 +5,31 @@ import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
 import com.mygdx.pirategame.gameobjects.enemy.SeaMonster;
 import com.mygdx.pirategame.gameobjects.entity.Tornado;
+import com.mygdx.pirategame.pathfinding.FlowField;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.save.GameScreen;
 
 import java.util.Random;
 
 /**
  * Class used for pathing an AI ship to attack a target
- * @author James McNair, Charlie Crosley, Robert Murphy
+ * @author James McNair, Charlie Crosley, Robert Murphy, Dan Wade
  */
 public class AttackPath implements PathManager {
 
-    // the path that the ship used to be on
-    private final PathManager previousPath;
+    /**
+     * The number of tiles travelled along the flow field before it is read again
+     */
+    public static final int FLOW_STEPS = 4;
+
+    /**
+     * Within this many tiles of the player a random destination around the player is used instead of the flow field
+     */
+    public static final float CLOSE_RANGE = 3;
+
+    // the path that the ship used to be on, and returns to once the attack ends
+    private PathManager previousPath;
     private EnemyShip ship = null;
     private SeaMonster seaMonster = null;
     private Tornado tornado = null;
@@ -58,6 +71,21 @@ public class AttackPath implements PathManager {
         this.screen = screen;
     }
 
+    /**
+     * @return The pathing manager the ship returns to once the attack ends
+     */
+    public PathManager getPreviousPath() {
+        return previousPath;
+    }
+
+    /**
+     * Change what the ship does once the attack ends, without ending the attack
+     * @param previousPath The pathing manager to return to once the attack ends
+     */
+    public void setPreviousPath(PathManager previousPath) {
+        this.previousPath = previousPath;
+    }
+
     /**
      * Generates a destination within a range of the player
      * @return The generated destination
@@ -126,6 +154,37 @@ public class AttackPath implements PathManager {
         return null;
     }
 
+    /**
+     * Get the next few tiles towards the player from the flow field shared by every attacking object of the same size.
+     * The field is only rebuilt when the player moves onto another tile, so this never searches for a path
+     *
+     * @param x      the x location of the object in game space
+     * @param y      the y location of the object in game space
+     * @param width  the width of the object
+     * @param height the height of the object
+     * @return The tiles to travel along, or null if the object is close to the player or cannot reach them
+     */
+    public TilePath followFlowField(float x, float y, float width, float height) {
+        PathFinder pathFinder = screen.getPathFinder();
+        Vector2 player = screen.getPlayerPos();
+        int start = pathFinder.getTile(x, y);
+        int goal = pathFinder.getTile(player.x * PirateGame.PPM, player.y * PirateGame.PPM);
+        if (start == -1 || goal == -1) {
+            return null;
+        }
+
+        FlowField flowField = pathFinder.getFlowField(width, height);
+        flowField.setGoal(goal);
+        if (flowField.getDistance(start) <= CLOSE_RANGE) {
+            return null;
+        }
+        int[] tiles = flowField.follow(start, FLOW_STEPS);
+        if (tiles == null) {
+            return null;
+        }
+        return pathFinder.createPath(tiles);
+    }
+
     private int fireDelay = 0;
 
     /**
@@ -136,7 +195,7 @@ public class AttackPath implements PathManager {
     public void update(float dt) {
         if (ship != null) {
             // if the ship out of range of the player
-            if (ship.b2body.getPosition().dst(screen.getPlayerPos()) > 6 || (ship.collegeMeta != null && !ship.collegeMeta.isPlayer() && ship.collegeMeta.getPosition().dst(ship.b2body.getPosition()) > 40)) {
+            if (!screen.inPlayerRange(ship, ship.b2body.getPosition(), 6) || (ship.collegeMeta != null && !ship.collegeMeta.isPlayer() && ship.collegeMeta.getPosition().dst(ship.b2body.getPosition()) > 40)) {
                 ship.setPathManager(previousPath);
                 return;
             }
@@ -147,7 +206,7 @@ public class AttackPath implements PathManager {
             }
         }
         else if (seaMonster != null) {
-            if (seaMonster.b2body.getPosition().dst(screen.getPlayerPos()) > 7) {
+            if (!screen.inPlayerRange(seaMonster, seaMonster.b2body.getPosition(), 7)) {
                 seaMonster.setPathManager(previousPath);
                 return;
             }
@@ -159,10 +218,19 @@ public class AttackPath implements PathManager {
             }
         }
         else {
-            if (tornado.b2body.getPosition().dst(screen.getPlayerPos()) > 7) {
+            if (!screen.inPlayerRange(tornado, tornado.b2body.getPosition(), 7)) {
                 tornado.setPathManager(previousPath);
                 return;
             }
         }
     }
+
+    /**
+     * Attack paths are short and regenerated as the target moves, so every tile is kept
+     * @return false
+     */
+    @Override
+    public boolean shouldSmoothPath() {
+        return false;
+    }
 }
@@ -0,0 +1,159 @@
+package com.mygdx.pirategame.pathfinding.pathManager;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mygdx.pirategame.PirateGame;
+import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
+import com.mygdx.pirategame.gameobjects.enemy.FleetController;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.save.GameScreen;
+
+/**
+ * This class is used to manage the pathing of a ship following the leader of its fleet in formation. The ship steers
+ * straight towards its place in the formation and away from the rest of the fleet without a path of its own, only
+ * pathing to its place when there is land in the way
+ * @author Dan Wade
+ */
+public class FollowPath extends WaitingPath {
+
+    /**
+     * The distance between the rows and columns of the formation
+     */
+    public static final float FORMATION_SPACING = 150;
+
+    /**
+     * Ships of the fleet closer than this steer away from one another
+     */
+    public static final float SEPARATION = 130;
+
+    /**
+     * How much faster than the leader a ship can travel to catch up with its place in the formation
+     */
+    public static final float CATCH_UP = 1.25f;
+
+    private final FleetController fleet;
+    private int slot;
+    // reused every update, the velocity is copied out when set
+    private final Vector2 target = new Vector2();
+    private final Vector2 steering = new Vector2();
+    private final Vector2 away = new Vector2();
+
+    /**
+     * Create a new FollowPath
+     *
+     * @param ship   The ship following the leader
+     * @param screen The GameScreen managing the game
+     * @param fleet  The fleet the ship belongs to
+     * @param slot   The place of the ship in the formation, 0 is the first place behind the leader
+     */
+    public FollowPath(EnemyShip ship, GameScreen screen, FleetController fleet, int slot) {
+        super(ship, screen);
+        this.fleet = fleet;
+        this.slot = slot;
+    }
+
+    /**
+     * @return The place of the ship in the formation
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @param slot The place of the ship in the formation, 0 is the first place behind the leader
+     */
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Work out the place of the ship in the formation. The formation is a V opening out behind the leader,
+     * the places alternate between the left and right arms
+     *
+     * @return The location of the place in game space, reused between calls
+     */
+    public Vector2 getFormationTarget() {
+        EnemyShip leader = fleet.getLeader();
+        // ships face along their velocity, which is a quarter turn from the angle of the body
+        float heading = leader.b2body.getAngle() + (float) Math.PI / 2;
+        float forwardX = (float) Math.cos(heading);
+        float forwardY = (float) Math.sin(heading);
+        int row = slot / 2 + 1;
+        float side = slot % 2 == 0 ? -1 : 1;
+        float across = side * row * FORMATION_SPACING;
+        float behind = row * FORMATION_SPACING;
+        return target.set(leader.b2body.getPosition().x * PirateGame.PPM + forwardY * across - forwardX * behind,
+                leader.b2body.getPosition().y * PirateGame.PPM - forwardX * across - forwardY * behind);
+    }
+
+    /**
+     * Check if the ship can steer straight to its place in the formation
+     *
+     * @return If the ship has a leader to follow and nothing stands between the ship and its place
+     */
+    public boolean canSteer() {
+        EnemyShip leader = fleet.getLeader();
+        if (leader == null || leader == ship || leader.destroyed || leader.setToDestroy) {
+            return false;
+        }
+        PathFinder pathFinder = screen.getPathFinder();
+        float size = EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET;
+        Vector2 place = getFormationTarget();
+        if (!pathFinder.isTraversable(place.x, place.y, size, size)) {
+            return false;
+        }
+        int from = pathFinder.getTile(ship.b2body.getPosition().x * PirateGame.PPM, ship.b2body.getPosition().y * PirateGame.PPM);
+        int to = pathFinder.getTile(place.x, place.y);
+        if (from == -1 || to == -1) {
+            return false;
+        }
+        NavGrid grid = pathFinder.getNavGrid();
+        return grid.hasLineOfSight(grid.getClearanceClass(size, size), from, to);
+    }
+
+    /**
+     * Steer towards the place of the ship in the formation while keeping apart from the rest of the fleet
+     *
+     * @param maxSpeed The speed of the leader
+     * @return The velocity to apply to the ship, reused between calls, or null if the ship cannot steer straight to
+     * its place and has to path there instead
+     */
+    public Vector2 steer(float maxSpeed) {
+        if (!canSteer()) {
+            return null;
+        }
+        float x = ship.b2body.getPosition().x * PirateGame.PPM;
+        float y = ship.b2body.getPosition().y * PirateGame.PPM;
+        steering.set(target.x - x, target.y - y).limit(maxSpeed * CATCH_UP);
+        for (EnemyShip other : fleet.getShips()) {
+            if (other == ship || other.destroyed) {
+                continue;
+            }
+            away.set(x - other.b2body.getPosition().x * PirateGame.PPM, y - other.b2body.getPosition().y * PirateGame.PPM);
+            float distance = away.len();
+            if (distance > 0 && distance < SEPARATION) {
+                // pushing away harder the closer the other ship is
+                steering.add(away.scl(maxSpeed * (SEPARATION - distance) / (SEPARATION * distance)));
+            }
+        }
+        return steering.limit(maxSpeed * CATCH_UP);
+    }
+
+    /**
+     * Generate a destination when the ship has to path to its place in the formation
+     * @return The place of the ship, or the leader if its place is on land
+     */
+    @Override
+    public Vector2 generateDestination() {
+        EnemyShip leader = fleet.getLeader();
+        if (leader == null || leader == ship) {
+            return null;
+        }
+        float size = EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET;
+        Vector2 place = getFormationTarget();
+        if (screen.getPathFinder().isTraversable(place.x, place.y, size, size)) {
+            return new Vector2(place);
+        }
+        return new Vector2(leader.b2body.getPosition().x * PirateGame.PPM, leader.b2body.getPosition().y * PirateGame.PPM);
+    }
+}
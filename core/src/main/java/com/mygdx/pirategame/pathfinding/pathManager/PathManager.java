@@ -4,7 +4,7 @@ import com.badlogic.gdx.math.Vector2;
 
 /**
  * Used to manage a type of pathing that a ship can have
- * @author James McNair
+ * @author James McNair, Dan Wade
  */
 public interface PathManager {
 
@@ -20,4 +20,11 @@ public interface PathManager {
      */
     public abstract void update(float dt);
 
+    /**
+     * Used to decide if the paths generated for this type of pathing should be cut down to the points where the path
+     * changes direction, so the ship steers in straight lines rather than from tile to tile
+     * @return If paths should be smoothed
+     */
+    public abstract boolean shouldSmoothPath();
+
 }
@@ -3,16 +3,33 @@ package com.mygdx.pirategame.pathfinding.pathManager;
 import com.badlogic.gdx.math.Vector2;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
+import com.mygdx.pirategame.pathfinding.DestinationTable;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.TilePath;
+import com.mygdx.pirategame.pathfinding.WaterRegions;
 import com.mygdx.pirategame.save.GameScreen;
 
-import java.util.Random;
 
 /**
  * This class is used to manage the pathing of a ship while it is not targeting a specific entity
- * @author James McNair
+ * @author James McNair, Dan Wade
  */
 public class PatrolPath extends WaitingPath{
 
+    /**
+     * The distance from the college that ships patrol within
+     */
+    public static final float PATROL_RANGE = 1500;
+
+    /**
+     * The distance in tiles from where the ship joins its patrol circuit that counts as having joined it
+     */
+    public static final int JOIN_DISTANCE = 2;
+
+    // the loop the ship patrols and the offset it joins it at, null to patrol random destinations
+    private PatrolCircuit circuit;
+    private int offset;
 
     /**
      * Create a new PatrolPath, The ship must be assigned to a valid college else this will throw an error
@@ -29,40 +46,78 @@ public class PatrolPath extends WaitingPath{
     }
 
     /**
-     * Generate a new destination within range of the college the ship belongs to
-     * @return The generated destination
+     * Patrol a loop shared with the rest of the fleet rather than random destinations
+     *
+     * @param circuit The loop to patrol, null to patrol random destinations
+     * @param offset  The offset the ship joins the loop at (see PatrolCircuit.getOffset)
      */
-    @Override
-    public Vector2 generateDestination() {
-        Random rnd = new Random();
-
-        int tileWidth = (int) PirateGame.PPM;
+    public void setCircuit(PatrolCircuit circuit, int offset) {
+        this.circuit = circuit;
+        this.offset = offset;
+    }
 
-        while (true) {
-            // generate random position for ship to go around the college
-            int x = rnd.nextInt(3000) - 1500 + (int) (ship.collegeMeta.getX() * tileWidth);
-            int y = rnd.nextInt(3000) - 1500 + (int) (ship.collegeMeta.getY() * tileWidth);
+    /**
+     * @return The loop the ship patrols, null if it patrols random destinations
+     */
+    public PatrolCircuit getCircuit() {
+        return circuit;
+    }
 
-            // bounding the location
-            if (x < 0) {
-                x = 0;
-            }
-            if (y < 0) {
-                y = 0;
-            }
-            if (x > screen.getTileMapWidth()) {
-                x = screen.getTileMapWidth();
-            }
-            if (y > screen.getTileMapHeight()) {
-                y = screen.getTileMapHeight();
-            }
+    /**
+     * Get a lap of the patrol circuit, once the ship has reached the point it joins the circuit at. No search is made,
+     * the tiles of the lap are shared by the whole fleet
+     *
+     * @param x The x coord of the ship in game space
+     * @param y The y coord of the ship in game space
+     * @return The lap from where the ship joins the circuit back round to it, or null if the ship has no circuit or
+     * has not reached it yet
+     */
+    public TilePath followCircuit(float x, float y) {
+        if (circuit == null) {
+            return null;
+        }
+        PathFinder pathFinder = screen.getPathFinder();
+        int tile = pathFinder.getTile(x, y);
+        if (tile == -1) {
+            return null;
+        }
+        int gridWidth = pathFinder.getNavGrid().getWidth();
+        int join = circuit.getTile(offset);
+        if (Math.abs(tile % gridWidth - join % gridWidth) > JOIN_DISTANCE || Math.abs(tile / gridWidth - join / gridWidth) > JOIN_DISTANCE) {
+            return null;
+        }
+        return circuit.getLap(offset);
+    }
 
-            // checking if the location is valid
-            if (ship.isTraversable(x, y)) {
-                // going to that location
-                return new Vector2(x, y);
-            }
+    /**
+     * Generate a new destination within range of the college the ship belongs to. Ships with a patrol circuit head
+     * to the point they join it at
+     * @return The generated destination, or null if there is no water within range of the college the ship can reach
+     */
+    @Override
+    public Vector2 generateDestination() {
+        PathFinder pathFinder = screen.getPathFinder();
+        // the table is built once per college and shared by every ship patrolling it
+        DestinationTable table = pathFinder.getDestinationTable(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET,
+                EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, ship.collegeMeta.getX() * PirateGame.PPM,
+                ship.collegeMeta.getY() * PirateGame.PPM, PATROL_RANGE);
+        // only drawing from the water the ship can reach, enclosed water near the college walls is never chosen
+        WaterRegions regions = pathFinder.getWaterRegions(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET,
+                EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+        int start = pathFinder.getTile(ship.b2body.getPosition().x * PirateGame.PPM, ship.b2body.getPosition().y * PirateGame.PPM);
+        if (start == -1) {
+            return null;
+        }
+        int region = regions.getStartRegion(start);
+        if (circuit != null && circuit.getRegion() == region) {
+            return new Vector2(circuit.getX(offset), circuit.getY(offset));
+        }
+        // the ship cannot reach its circuit, so patrols random destinations it can reach instead
+        int tile = table.draw(random, regions, region);
+        if (tile == -1) {
+            return null;
         }
+        return pathFinder.createCheckpoint(tile).getVector2();
     }
 
     @Override
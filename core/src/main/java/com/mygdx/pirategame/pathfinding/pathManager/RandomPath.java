@@ -1,19 +1,25 @@
 package com.mygdx.pirategame.pathfinding.pathManager;
 
-import java.util.Random;
-
 import com.badlogic.gdx.math.Vector2;
 import com.mygdx.pirategame.PirateGame;
 import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
+import com.mygdx.pirategame.pathfinding.DestinationTable;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.WaterRegions;
 import com.mygdx.pirategame.save.GameScreen;
 
 /**
  * Generates random paths for ships and randomly paths between them
  * Used for ships without an assigned college
- * @author James McNair, Charlie Crosley
+ * @author James McNair, Charlie Crosley, Dan Wade
  */
 public class RandomPath extends WaitingPath {
 
+    /**
+     * The distance from the ship that destinations are chosen within
+     */
+    public static final float RANGE = 1000;
+
 
     /**
      * Create a new random path for a ship
@@ -25,40 +31,33 @@ public class RandomPath extends WaitingPath {
     }
 
     /**
-     * generate a random destination anywhere on the map
-     * @return The generated destination
+     * generate a random destination within range of the ship
+     * @return The generated destination, or null if there is no water near the ship that it can reach
      */
     @Override
     public Vector2 generateDestination() {
-        Random rnd = new Random();
+        PathFinder pathFinder = screen.getPathFinder();
+        DestinationTable table = pathFinder.getDestinationTable(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET,
+                EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
 
-        int tileWidth = (int) PirateGame.PPM;
-        while (true) {
-            // generate random position for ship to go
-
-            int x = rnd.nextInt(2000) - 1000 + (int) (ship.b2body.getPosition().x * tileWidth);
-            int y = rnd.nextInt(2000) - 1000 + (int) (ship.b2body.getPosition().y * tileWidth);
-
-            // bounding the location
-            if (x < 0) {
-                x = 0;
-            }
-            if (y < 0) {
-                y = 0;
-            }
-            if (x > screen.getTileMapWidth()) {
-                x = screen.getTileMapWidth();
-            }
-            if (y > screen.getTileMapHeight()) {
-                y = screen.getTileMapHeight();
-            }
-
-            // checking if the location is valid
-            if (ship.isTraversable(x, y)) {
-                // going to that location
-                return new Vector2(x, y);
-            }
+        // the tile corners within range of the ship
+        float tileSize = pathFinder.getNavGrid().getTileSize();
+        float x = ship.b2body.getPosition().x * PirateGame.PPM;
+        float y = ship.b2body.getPosition().y * PirateGame.PPM;
+        int start = pathFinder.getTile(x, y);
+        if (start == -1) {
+            return null;
+        }
+        // only drawing from the water the ship can reach
+        WaterRegions regions = pathFinder.getWaterRegions(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET,
+                EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+        int tile = table.draw(random, (int) Math.ceil((x - RANGE) / tileSize), (int) Math.ceil((y - RANGE) / tileSize),
+                (int) Math.ceil((x + RANGE) / tileSize) - 1, (int) Math.ceil((y + RANGE) / tileSize) - 1,
+                regions, regions.getStartRegion(start));
+        if (tile == -1) {
+            return null;
         }
+        return pathFinder.createCheckpoint(tile).getVector2();
     }
 
     @Override
@@ -5,10 +5,12 @@ import com.mygdx.pirategame.gameobjects.enemy.SeaMonster;
 import com.mygdx.pirategame.gameobjects.entity.Tornado;
 import com.mygdx.pirategame.save.GameScreen;
 
+import java.util.Random;
+
 /**
  * Superclass used for all pathing managers which are in a passive state waiting for a ship to come into range to attack
  * This class will switch to an attacking pathing manager if within range of an enemy
- * @author James McNair, Charlie Crosley, Robert Murphy
+ * @author James McNair, Charlie Crosley, Robert Murphy, Dan Wade
  */
 public abstract class WaitingPath implements PathManager {
 
@@ -16,6 +18,8 @@ public abstract class WaitingPath implements PathManager {
     protected SeaMonster seaMonster = null;
     protected Tornado tornado = null;
     protected final GameScreen screen;
+    // shared by every destination drawn for this object
+    protected final Random random = new Random();
 
     /**
      * Used for all passive pathing managers that can start an attack
@@ -55,15 +59,15 @@ public abstract class WaitingPath implements PathManager {
     public void update(float dt) {
         // if the ship is in range of the player
         if (ship != null) {
-            if ((ship.collegeMeta == null || !ship.collegeMeta.isPlayer()) && ship.b2body.getPosition().dst(screen.getPlayerPos()) < 3) {
+            if ((ship.collegeMeta == null || !ship.collegeMeta.isPlayer()) && screen.inPlayerRange(ship, ship.b2body.getPosition(), 3)) {
                 ship.setPathManager(new AttackPath(this, ship, screen));
             }
         }
         else {
-            if (seaMonster.b2body.getPosition().dst(screen.getPlayerPos()) < 3) {
+            if (screen.inPlayerRange(seaMonster, seaMonster.b2body.getPosition(), 3)) {
                 seaMonster.setPathManager(new AttackPath(this, seaMonster, screen));
             }
-            if (tornado.b2body.getPosition().dst(screen.getPlayerPos()) < 3) {
+            if (screen.inPlayerRange(tornado, tornado.b2body.getPosition(), 3)) {
                 tornado.setPathManager(new AttackPath(this, tornado, screen));
             }
         }
@@ -71,4 +75,12 @@ public abstract class WaitingPath implements PathManager {
 
     }
 
+    /**
+     * Passive paths cross open water towards far away destinations, so they are smoothed
+     * @return true
+     */
+    @Override
+    public boolean shouldSmoothPath() {
+        return true;
+    }
 }
@@ -27,24 +27,38 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.mygdx.pirategame.AssetCache;
 import com.mygdx.pirategame.Hud;
 import com.mygdx.pirategame.PirateGame;
+import com.mygdx.pirategame.gameobjects.CannonFire;
+import com.mygdx.pirategame.gameobjects.CollegeFire;
 import com.mygdx.pirategame.gameobjects.Player;
+import com.mygdx.pirategame.gameobjects.ProjectilePool;
 import com.mygdx.pirategame.gameobjects.enemy.College;
 import com.mygdx.pirategame.gameobjects.enemy.CollegeMetadata;
 import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
 import com.mygdx.pirategame.gameobjects.enemy.SeaMonster;
 import com.mygdx.pirategame.gameobjects.entity.*;
+import com.mygdx.pirategame.pathfinding.AvoidanceAgent;
+import com.mygdx.pirategame.pathfinding.LocalAvoidance;
 import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.PathTelemetry;
+import com.mygdx.pirategame.pathfinding.ReservationTable;
+import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
 import com.mygdx.pirategame.screen.GoldShop;
 import com.mygdx.pirategame.screen.OptionsScreen;
 import com.mygdx.pirategame.world.AvailableSpawn;
+import com.mygdx.pirategame.world.EntityIndex;
+import com.mygdx.pirategame.world.SimulationLod;
+import com.mygdx.pirategame.world.SpatialHash;
 import com.mygdx.pirategame.world.WorldContactListener;
 import com.mygdx.pirategame.world.WorldCreator;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 
@@ -103,6 +117,13 @@ public class GameScreen implements Screen {
     private final Sprite tutorials;
 
     private final PathFinder pathFinder;
+    private final PathRequestService pathRequestService;
+    private final LocalAvoidance localAvoidance;
+    private final EntityIndex entityIndex;
+    private final SimulationLod simulationLod;
+    private final ProjectilePool<CannonFire> cannonFirePool;
+    private final ProjectilePool<CollegeFire> collegeFirePool;
+    private final ProjectilePool<CollegeFire> waterSlashPool;
 
     public Table pauseTable;
     public Table table;
@@ -149,12 +170,21 @@ public class GameScreen implements Screen {
             map = null;
             renderer = null;
             pathFinder = null;
+            pathRequestService = null;
+            localAvoidance = null;
+            entityIndex = null;
+            simulationLod = null;
+            cannonFirePool = null;
+            collegeFirePool = null;
+            waterSlashPool = null;
             tutorials = null;
             tutorialTexture = null;
             // Setting Stage
             stage = null;
 
         } else {
+            // keeping the assets of the objects that come and go loaded for as long as the game is open
+            AssetCache.holdGameAssets();
             // Initialising box2d physics
             world = new World(new Vector2(0, 0), true);
             if (PHYSICSDEBUG) {
@@ -168,6 +198,45 @@ public class GameScreen implements Screen {
             map = maploader.load("map/map.tmx");
             renderer = new OrthogonalTiledMapRenderer(map, getUnitScale());
             pathFinder = new PathFinder(this, 64);
+            // long routes across open water resolve in far fewer expansions with jump point search
+            pathFinder.setSearchMode(PathFinder.SearchMode.JUMP_POINT);
+            // routes between clusters are planned over the cluster graph, on the path workers as well, and refined a
+            // leg at a time as they are travelled
+            pathFinder.setHierarchical(true);
+            // routes around the islands expand fewer tiles with estimates measured from landmarks around the map
+            pathFinder.setHeuristicMode(PathFinder.HeuristicMode.LANDMARK);
+            // building the navigation grid, water regions, landmarks and cluster graphs while the map is loading rather than on the first path request
+            pathFinder.getClusterGraph(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+            pathFinder.getClusterGraph(SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET, SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET);
+            pathFinder.getWaterRegions(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+            pathFinder.getWaterRegions(SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET, SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET);
+            pathFinder.getHeuristic(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+            pathFinder.getHeuristic(SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET, SeaMonster.COLLISIONRADIUS + SeaMonster.COLLISIONOFFSET);
+            // and the tables random and patrolling ships draw their destinations from
+            pathFinder.getDestinationTable(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET);
+            for (CollegeMetadata college : CollegeMetadata.values()) {
+                pathFinder.getDestinationTable(EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET, EnemyShip.COLLISIONRADIUS + EnemyShip.COLLISIONOFFSET,
+                        college.getX() * PirateGame.PPM, college.getY() * PirateGame.PPM, PatrolPath.PATROL_RANGE);
+            }
+            // college fleets reserve the tiles along their paths so the ships of a fleet plan around one another
+            // rather than colliding and replanning, ships take roughly 0.4 seconds to travel a tile
+            pathFinder.setReservationTable(new ReservationTable(pathFinder.getNavGrid(), 0.4f));
+            // recording the cost and outcome of every path request, queried from getPathFinder().getTelemetry()
+            pathFinder.setTelemetry(new PathTelemetry());
+            // searching for paths away from the render thread, leaving a core free for the game
+            // with no core to spare the searches are time sliced within the frame budget instead
+            pathRequestService = new PathRequestService(pathFinder, Math.max(0, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+            // ships, monsters and tornadoes steer around one another, finding their neighbours from a spatial hash
+            // with cells the size of the range they look for neighbours within
+            localAvoidance = new LocalAvoidance(new SpatialHash<AvoidanceAgent>(LocalAvoidance.NEIGHBOUR_RANGE, 256));
+            // everything alive indexed by where it is, so range checks do not go through every entity
+            entityIndex = new EntityIndex();
+            // entities away from the player ticked less often, and their bodies put to sleep once far enough away
+            simulationLod = new SimulationLod();
+            // projectiles are reused rather than each shot creating and destroying a physics body
+            cannonFirePool = CannonFire.createPool(world);
+            collegeFirePool = CollegeFire.createPool(world);
+            waterSlashPool = SeaMonster.createProjectilePool(world);
 
             new WorldCreator(this);
 
@@ -459,26 +528,26 @@ public class GameScreen implements Screen {
         Body body = getPlayer().b2body;
         Vector2 position = body.getPosition();
 
-        for (Map.Entry<CollegeMetadata, College> college : colleges.entrySet()) {
-            if (college.getValue().getMetaData().isPlayer()) {
-                float distance = position.dst(college.getValue().getMetaData().getCentrePosition());
-                if (distance < college.getValue().getMetaData().getDistance()) {
-                    shopLabel.setVisible(true);
-
-                    if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-                        if (gameStatus == GOLD_SHOP) {
-                            closeShop();
-                        } else if (gameStatus == GAME_RUNNING) {
-                            openShop();
-                        }
-                    } else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-                        if (gameStatus == GOLD_SHOP) {
-                            closeShop();
-                        }
+        // only the player's college has a shop, so it is looked up rather than checking every college
+        College college = getCollege(CollegeMetadata.getPlayerCollege());
+        if (college != null) {
+            float distance = position.dst(college.getMetaData().getCentrePosition());
+            if (distance < college.getMetaData().getDistance()) {
+                shopLabel.setVisible(true);
+
+                if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
+                    if (gameStatus == GOLD_SHOP) {
+                        closeShop();
+                    } else if (gameStatus == GAME_RUNNING) {
+                        openShop();
+                    }
+                } else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                    if (gameStatus == GOLD_SHOP) {
+                        closeShop();
                     }
-                } else {
-                    shopLabel.setVisible(false);
                 }
+            } else {
+                shopLabel.setVisible(false);
             }
         }
     }
@@ -489,10 +558,14 @@ public class GameScreen implements Screen {
      * @param dt Delta time (elapsed time since last game tick)
      */
     public void update(float dt) {
+        // searching within the frame budget and handing back the paths found before anything moves
+        pathRequestService.update();
+        pathFinder.getReservationTable().update(dt);
         stateTime += dt;
         handleInput(dt);
         // Stepping the physics engine by time of 1 frame
         world.step(1 / 60f, 6, 2);
+        indexEntities();
 
         // Update all players and entities
         player.update(dt);
@@ -516,28 +589,49 @@ public class GameScreen implements Screen {
         // scales the sprite depending on window size divided by a constant
         tutorials.setSize(camera.viewportWidth / 100f, camera.viewportHeight / 100f);
 
+        // entities further from the player are ticked less often, with the time since they last ticked
+        simulationLod.setCentre(player.b2body.getPosition().x, player.b2body.getPosition().y);
+
         //Update ships
         for (int i = 0; i < ships.size(); i++) {
-            ships.get(i).update(dt);
+            EnemyShip ship = ships.get(i);
+            float elapsed = tickTime(ship, ship.destroyed, ship.b2body, dt);
+            if (elapsed > 0) {
+                ship.update(elapsed);
+            }
         }
 
         //Update ships
         for (int i = 0; i < monsters.size(); i++) {
-            monsters.get(i).update(dt);
+            SeaMonster monster = monsters.get(i);
+            float elapsed = tickTime(monster, monster.destroyed, monster.b2body, dt);
+            if (elapsed > 0) {
+                monster.update(elapsed);
+            }
         }
 
         //Updates coin
         for (int i = 0; i < Coins.size(); i++) {
-            Coins.get(i).update();
+            Coin coin = Coins.get(i);
+            if (tickTime(coin, coin.destroyed, coin.b2body, dt) > 0) {
+                coin.update();
+            }
         }
-        //Updates powerups
+        //Updates powerups, once picked up their effects are timed every frame
         for (int i = 0; i < PowerUps.size(); i++) {
-            PowerUps.get(i).update();
+            PowerUp powerUp = PowerUps.get(i);
+            if (tickTime(powerUp, powerUp.destroyed, powerUp.b2body, dt) > 0) {
+                powerUp.update();
+            }
         }
 
         //Updates tornados
         for (int i = 0; i < Tornados.size(); i++) {
-            Tornados.get(i).update(dt);
+            Tornado tornado = Tornados.get(i);
+            float elapsed = tickTime(tornado, tornado.destroyed, tornado.b2body, dt);
+            if (elapsed > 0) {
+                tornado.update(elapsed);
+            }
         }
 
         //After a delay check if a college is destroyed. If not, if can fire
@@ -946,11 +1040,17 @@ public class GameScreen implements Screen {
     }
 
     /**
-     * Finds the nearest Tornado to the Player
+     * Finds the nearest Tornado to the Player, found from the entity index when there is one
      *
      * @return The nearest Tornado
      */
-    public static Tornado getNearestTornado() {
+    public Tornado getNearestTornado() {
+        if (entityIndex != null) {
+            Tornado nearest = entityIndex.getEntities().queryNearest(player.b2body.getPosition().x, player.b2body.getPosition().y, Float.POSITIVE_INFINITY, Tornado.class);
+            if (nearest != null) {
+                return nearest;
+            }
+        }
         int nearest = 0;
         double nearestDistance = 100000;
         for (int i = 0; i < Tornados.size(); i++) {
@@ -979,9 +1079,21 @@ public class GameScreen implements Screen {
     public void dispose() {
         map.dispose();
         renderer.dispose();
+        cannonFirePool.dispose();
+        collegeFirePool.dispose();
+        waterSlashPool.dispose();
         world.dispose();
         hud.dispose();
         stage.dispose();
+        pathRequestService.dispose();
+        AssetCache.releaseGameAssets();
+        if (PathFinder.PATHFINDERDEBUG) {
+            try {
+                pathFinder.getTelemetry().dump(new File(PathTelemetry.DUMP_FILE));
+            } catch (IOException e) {
+                Gdx.app.error("PathFinder", "Could not write the path telemetry", e);
+            }
+        }
         if(PHYSICSDEBUG) {
             b2dr.dispose();
         }
@@ -1008,6 +1120,128 @@ public class GameScreen implements Screen {
         return pathFinder;
     }
 
+    /**
+     * @return The local avoidance steering agents around one another, null when headless
+     */
+    public LocalAvoidance getLocalAvoidance() {
+        return localAvoidance;
+    }
+
+    /**
+     * @return The index of every live entity by where it is, rebuilt each update after the physics step, null when
+     * headless
+     */
+    public EntityIndex getEntityIndex() {
+        return entityIndex;
+    }
+
+    /**
+     * Checks if an entity is in range of the player, looked up in the entity index when there is one
+     *
+     * @param entity   The entity
+     * @param position The position of the entity, used when there is no entity index
+     * @param range    The distance from the player, no more than EntityIndex.PLAYER_RANGE
+     * @return If the entity is closer to the player than the distance
+     */
+    public boolean inPlayerRange(Object entity, Vector2 position, float range) {
+        if (entityIndex != null) {
+            return entityIndex.inPlayerRange(entity, range);
+        }
+        return getPlayerPos().dst(position) < range;
+    }
+
+    /**
+     * @return The pool of the player's cannonballs, null when headless
+     */
+    public ProjectilePool<CannonFire> getCannonFirePool() {
+        return cannonFirePool;
+    }
+
+    /**
+     * @return The pool of the cannonballs fired by colleges and enemy ships, null when headless
+     */
+    public ProjectilePool<CollegeFire> getCollegeFirePool() {
+        return collegeFirePool;
+    }
+
+    /**
+     * @return The pool of the water slashes fired by sea monsters, null when headless
+     */
+    public ProjectilePool<CollegeFire> getWaterSlashPool() {
+        return waterSlashPool;
+    }
+
+    /**
+     * Checks how long to tick an entity by this frame from how far it is from the player. Destroyed entities have no
+     * body and tick every frame, finishing off their projectiles and the effects of power ups
+     *
+     * @param entity    The entity
+     * @param destroyed If the entity is destroyed
+     * @param body      The body of the entity
+     * @param dt        The delta time of the frame
+     * @return The time to tick the entity by, 0 if it does not tick this frame
+     */
+    private float tickTime(Object entity, boolean destroyed, Body body, float dt) {
+        if (destroyed) {
+            simulationLod.forget(entity);
+            return dt;
+        }
+        return simulationLod.schedule(entity, body, dt);
+    }
+
+    /**
+     * Rebuild the spatial hash of the agents that steer around one another and the index of every live entity from
+     * where the physics step left them
+     */
+    private void indexEntities() {
+        SpatialHash<AvoidanceAgent> agents = localAvoidance.getAgents();
+        agents.clear();
+        entityIndex.clear(player.b2body.getPosition().x, player.b2body.getPosition().y);
+        entityIndex.add(player, player.b2body.getPosition().x, player.b2body.getPosition().y);
+        for (College college : colleges.values()) {
+            if (!college.destroyed) {
+                entityIndex.add(college, college.b2body.getPosition().x, college.b2body.getPosition().y);
+            }
+        }
+        for (int i = 0; i < ships.size(); i++) {
+            if (!ships.get(i).destroyed) {
+                agents.add(ships.get(i), ships.get(i).b2body.getPosition().x, ships.get(i).b2body.getPosition().y);
+                entityIndex.add(ships.get(i), ships.get(i).b2body.getPosition().x, ships.get(i).b2body.getPosition().y);
+            }
+        }
+        for (int i = 0; i < monsters.size(); i++) {
+            if (!monsters.get(i).destroyed) {
+                agents.add(monsters.get(i), monsters.get(i).b2body.getPosition().x, monsters.get(i).b2body.getPosition().y);
+                entityIndex.add(monsters.get(i), monsters.get(i).b2body.getPosition().x, monsters.get(i).b2body.getPosition().y);
+            }
+        }
+        for (int i = 0; i < Tornados.size(); i++) {
+            if (!Tornados.get(i).destroyed) {
+                agents.add(Tornados.get(i), Tornados.get(i).b2body.getPosition().x, Tornados.get(i).b2body.getPosition().y);
+                entityIndex.add(Tornados.get(i), Tornados.get(i).b2body.getPosition().x, Tornados.get(i).b2body.getPosition().y);
+            }
+        }
+        for (int i = 0; i < Coins.size(); i++) {
+            if (!Coins.get(i).destroyed) {
+                entityIndex.add(Coins.get(i), Coins.get(i).b2body.getPosition().x, Coins.get(i).b2body.getPosition().y);
+            }
+        }
+        for (int i = 0; i < PowerUps.size(); i++) {
+            if (!PowerUps.get(i).destroyed) {
+                entityIndex.add(PowerUps.get(i), PowerUps.get(i).b2body.getPosition().x, PowerUps.get(i).b2body.getPosition().y);
+            }
+        }
+        agents.build();
+        entityIndex.build();
+    }
+
+    /**
+     * @return The service used to search for paths off the render thread
+     */
+    public PathRequestService getPathRequestService() {
+        return pathRequestService;
+    }
+
     /**
      * @return The invalid spawn locations for this game
      */
@@ -0,0 +1,92 @@
+package com.mygdx.pirategame.world;
+
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+
+/**
+ * An index of every live entity by where it is, rebuilt once a tick after the physics step. What is near a location is
+ * found from a spatial hash rather than by checking every entity, and the distance to the player of everything within
+ * PLAYER_RANGE of the player is kept as the index is built, so checking whether an entity is in range of the player is
+ * a lookup
+ * @author Dan Wade
+ */
+public class EntityIndex {
+
+    /**
+     * The size of a cell of the spatial hash, around the distance most checks against the player cover
+     */
+    public static final float CELL_SIZE = 8;
+
+    /**
+     * The furthest from the player any entity checks whether it is in range, entities further away are out of range
+     * of every check
+     */
+    public static final float PLAYER_RANGE = 30;
+
+    private final SpatialHash<Sprite> entities = new SpatialHash<>(CELL_SIZE, 1024);
+    // the distance of each entity within PLAYER_RANGE of the player, entities are compared by identity
+    private final ObjectFloatMap<Object> playerDistances = new ObjectFloatMap<>();
+    private float playerX;
+    private float playerY;
+
+    /**
+     * Remove every entity so the index can be filled again
+     *
+     * @param playerX The x coord of the player this tick
+     * @param playerY The y coord of the player this tick
+     */
+    public void clear(float playerX, float playerY) {
+        entities.clear();
+        playerDistances.clear();
+        this.playerX = playerX;
+        this.playerY = playerY;
+    }
+
+    /**
+     * Add an entity, it cannot be found until the index is built
+     *
+     * @param entity The entity
+     * @param x      The x coord of the entity
+     * @param y      The y coord of the entity
+     */
+    public void add(Sprite entity, float x, float y) {
+        entities.add(entity, x, y);
+        float dx = x - playerX;
+        float dy = y - playerY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance < PLAYER_RANGE) {
+            playerDistances.put(entity, distance);
+        }
+    }
+
+    /**
+     * Lay out the entities added so they can be queried
+     */
+    public void build() {
+        entities.build();
+    }
+
+    /**
+     * @param entity The entity
+     * @return The distance from the entity to the player, infinite if the entity is not within PLAYER_RANGE
+     */
+    public float getPlayerDistance(Object entity) {
+        return playerDistances.get(entity, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param entity The entity
+     * @param range  The distance from the player, no more than PLAYER_RANGE
+     * @return If the entity is closer to the player than the distance
+     */
+    public boolean inPlayerRange(Object entity, float range) {
+        return getPlayerDistance(entity) < range;
+    }
+
+    /**
+     * @return The spatial hash of the entities, for radius, rectangle and nearest queries
+     */
+    public SpatialHash<Sprite> getEntities() {
+        return entities;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mygdx.pirategame.world;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+
+/**
+ * Schedules how often each entity is ticked by how far it is from the player, who the camera is centred on. Entities
+ * in the near band tick every frame, those in the mid band a few times a second and those in the far band about once a
+ * second with their bodies put to sleep. Entities ticked less often than every frame are handed all the time since they
+ * were last ticked, so timers run at the same speed however often they are ticked
+ * @author Dan Wade
+ */
+public class SimulationLod {
+
+    /**
+     * The bands of distance from the player
+     */
+    public enum Band {
+        NEAR, MID, FAR
+    }
+
+    /**
+     * The distance within which entities tick every frame, past the edge of the screen and the 30 ships start chasing
+     * the player within, so anything chasing the player is never ticked less often
+     */
+    public static final float NEAR_RANGE = 32;
+
+    /**
+     * The distance within which entities tick at MID_RATE, further away they tick at FAR_RATE
+     */
+    public static final float MID_RANGE = 48;
+
+    /**
+     * The number of times a second entities in the mid band tick
+     */
+    public static final float MID_RATE = 15;
+
+    /**
+     * The number of times a second entities in the far band tick, so timers and destruction still come about
+     */
+    public static final float FAR_RATE = 1;
+
+    private final float nearRange2;
+    private final float midRange2;
+    private final float midInterval;
+    private final float farInterval;
+    // the time since each entity ticked outside of the near band, entities are compared by identity
+    private final ObjectFloatMap<Object> pending = new ObjectFloatMap<>();
+    private float centreX;
+    private float centreY;
+
+    /**
+     * Creates a scheduler with the default bands
+     */
+    public SimulationLod() {
+        this(NEAR_RANGE, MID_RANGE, MID_RATE, FAR_RATE);
+    }
+
+    /**
+     * @param nearRange The distance within which entities tick every frame
+     * @param midRange  The distance within which entities tick at the mid rate, no less than the near range
+     * @param midRate   The number of times a second entities in the mid band tick
+     * @param farRate   The number of times a second entities in the far band tick
+     */
+    public SimulationLod(float nearRange, float midRange, float midRate, float farRate) {
+        if (nearRange < 0 || midRange < nearRange) {
+            throw new IllegalArgumentException("The bands must be ordered near then mid: " + nearRange + ", " + midRange);
+        }
+        if (midRate <= 0 || farRate <= 0) {
+            throw new IllegalArgumentException("The tick rates must be positive: " + midRate + ", " + farRate);
+        }
+        nearRange2 = nearRange * nearRange;
+        midRange2 = midRange * midRange;
+        midInterval = 1 / midRate;
+        farInterval = 1 / farRate;
+    }
+
+    /**
+     * Set where the bands are measured from, done once a frame before any entity is scheduled
+     *
+     * @param x The x coord of the player
+     * @param y The y coord of the player
+     */
+    public void setCentre(float x, float y) {
+        centreX = x;
+        centreY = y;
+    }
+
+    /**
+     * @param x The x coord of the entity
+     * @param y The y coord of the entity
+     * @return The band the entity is in
+     */
+    public Band getBand(float x, float y) {
+        float dx = x - centreX;
+        float dy = y - centreY;
+        float distance2 = dx * dx + dy * dy;
+        if (distance2 < nearRange2) {
+            return Band.NEAR;
+        }
+        if (distance2 < midRange2) {
+            return Band.MID;
+        }
+        return Band.FAR;
+    }
+
+    /**
+     * Checks if an entity ticks this frame, putting its body to sleep if it is in the far band
+     *
+     * @param entity The entity
+     * @param body   The body of the entity
+     * @param dt     The delta time of the frame
+     * @return The time to tick the entity by, all the time since it last ticked, or 0 if it does not tick this frame
+     */
+    public float schedule(Object entity, Body body, float dt) {
+        Band band = getBand(body.getPosition().x, body.getPosition().y);
+        if (band == Band.NEAR) {
+            return pending.remove(entity, 0) + dt;
+        }
+        if (band == Band.FAR && body.isAwake()) {
+            // waking again on contact or once its velocity is set
+            body.setAwake(false);
+        }
+        float elapsed = pending.get(entity, 0) + dt;
+        if (elapsed < (band == Band.MID ? midInterval : farInterval)) {
+            pending.put(entity, elapsed);
+            return 0;
+        }
+        pending.remove(entity, 0);
+        return elapsed;
+    }
+
+    /**
+     * Forget the time an entity has waited to tick, once it is destroyed
+     *
+     * @param entity The entity
+     */
+    public void forget(Object entity) {
+        pending.remove(entity, 0);
+    }
+}
@@ -0,0 +1,355 @@
+package com.mygdx.pirategame.world;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid over the world that objects are hashed into by the cell they sit in, so the objects near a location
+ * can be found without checking every object. The grid is rebuilt from scratch each update: objects are added, then
+ * build lays them out bucket by bucket, after which the grid can be queried until it is next cleared.
+ * Cells are hashed into a fixed number of buckets, so the world does not need to be bounded
+ * @param <T> The type of object held
+ * @author Dan Wade
+ */
+public class SpatialHash<T> {
+
+    private final float cellSize;
+    // the number of buckets is a power of two so a hash can be masked into a bucket
+    private final int bucketMask;
+    // the objects of bucket b are held from bucketStart[b] to bucketStart[b + 1] exclusive once built
+    private final int[] bucketStart;
+    // the next free index of each bucket while the objects are laid out
+    private final int[] bucketNext;
+    private Object[] added = new Object[16];
+    private float[] addedX = new float[16];
+    private float[] addedY = new float[16];
+    private Object[] items = new Object[16];
+    private float[] itemX = new float[16];
+    private float[] itemY = new float[16];
+    private int count = 0;
+    private boolean built = false;
+    // the nearest objects found so far by a nearest query, closest first, reused between queries
+    private int[] nearestIndex = new int[8];
+    private float[] nearestDist = new float[8];
+
+    /**
+     * @param cellSize The size of a cell, around the distance most queries cover
+     * @param buckets  The number of buckets cells are hashed into, rounded up to a power of two
+     */
+    public SpatialHash(float cellSize, int buckets) {
+        this.cellSize = cellSize;
+        int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+        bucketMask = size - 1;
+        bucketStart = new int[size + 1];
+        bucketNext = new int[size];
+    }
+
+    /**
+     * Remove every object so the grid can be filled again
+     */
+    public void clear() {
+        Arrays.fill(added, 0, count, null);
+        Arrays.fill(items, 0, count, null);
+        count = 0;
+        built = false;
+    }
+
+    /**
+     * Add an object, it cannot be found until the grid is built
+     *
+     * @param item The object
+     * @param x    The x coord of the object
+     * @param y    The y coord of the object
+     */
+    public void add(T item, float x, float y) {
+        if (count == added.length) {
+            added = Arrays.copyOf(added, count * 2);
+            addedX = Arrays.copyOf(addedX, count * 2);
+            addedY = Arrays.copyOf(addedY, count * 2);
+            items = Arrays.copyOf(items, count * 2);
+            itemX = Arrays.copyOf(itemX, count * 2);
+            itemY = Arrays.copyOf(itemY, count * 2);
+        }
+        added[count] = item;
+        addedX[count] = x;
+        addedY[count] = y;
+        count++;
+        built = false;
+    }
+
+    /**
+     * Lay out the objects added bucket by bucket so they can be queried
+     */
+    public void build() {
+        // counting the objects in each bucket first so the objects can be laid out bucket by bucket
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < count; i++) {
+            bucketStart[bucketOf(cell(addedX[i]), cell(addedY[i])) + 1]++;
+        }
+        for (int b = 0; b <= bucketMask; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        System.arraycopy(bucketStart, 0, bucketNext, 0, bucketNext.length);
+        for (int i = 0; i < count; i++) {
+            int index = bucketNext[bucketOf(cell(addedX[i]), cell(addedY[i]))]++;
+            items[index] = added[i];
+            itemX[index] = addedX[i];
+            itemY[index] = addedY[i];
+        }
+        built = true;
+    }
+
+    /**
+     * @return The number of objects added
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Find every object within a distance of a location
+     *
+     * @param x       The x coord of the location
+     * @param y       The y coord of the location
+     * @param radius  The distance from the location
+     * @param results The list the objects found are added to
+     * @return The number of objects found
+     */
+    public int queryRadius(float x, float y, float radius, List<? super T> results) {
+        return query(x - radius, y - radius, x + radius, y + radius, x, y, radius, null, results);
+    }
+
+    /**
+     * Find every object of a type within a distance of a location
+     *
+     * @param x       The x coord of the location
+     * @param y       The y coord of the location
+     * @param radius  The distance from the location
+     * @param type    The type of object to find, objects of other types are skipped
+     * @param results The list the objects found are added to
+     * @param <S>     The type of object to find
+     * @return The number of objects found
+     */
+    public <S extends T> int queryRadius(float x, float y, float radius, Class<S> type, List<? super S> results) {
+        return query(x - radius, y - radius, x + radius, y + radius, x, y, radius, type, results);
+    }
+
+    /**
+     * Find every object within a rectangle
+     *
+     * @param minX    The x coord of the left edge of the rectangle
+     * @param minY    The y coord of the bottom edge of the rectangle
+     * @param maxX    The x coord of the right edge of the rectangle
+     * @param maxY    The y coord of the top edge of the rectangle
+     * @param results The list the objects found are added to
+     * @return The number of objects found
+     */
+    public int queryRect(float minX, float minY, float maxX, float maxY, List<? super T> results) {
+        return query(minX, minY, maxX, maxY, 0, 0, -1, null, results);
+    }
+
+    /**
+     * Find every object of a type within a rectangle
+     *
+     * @param minX    The x coord of the left edge of the rectangle
+     * @param minY    The y coord of the bottom edge of the rectangle
+     * @param maxX    The x coord of the right edge of the rectangle
+     * @param maxY    The y coord of the top edge of the rectangle
+     * @param type    The type of object to find, objects of other types are skipped
+     * @param results The list the objects found are added to
+     * @param <S>     The type of object to find
+     * @return The number of objects found
+     */
+    public <S extends T> int queryRect(float minX, float minY, float maxX, float maxY, Class<S> type, List<? super S> results) {
+        return query(minX, minY, maxX, maxY, 0, 0, -1, type, results);
+    }
+
+    // finds the objects in the rectangle, and within the radius of x, y unless the radius is negative
+    @SuppressWarnings("unchecked")
+    private int query(float minX, float minY, float maxX, float maxY, float x, float y, float radius, Class<?> type, List results) {
+        checkBuilt();
+        int found = 0;
+        int cx0 = cell(minX);
+        int cy0 = cell(minY);
+        int cx1 = cell(maxX);
+        int cy1 = cell(maxY);
+        // a query covering more cells than there are buckets is quicker as a scan of every object
+        if ((long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > bucketMask + 1) {
+            for (int i = 0; i < count; i++) {
+                if (matches(i, minX, minY, maxX, maxY, x, y, radius, type)) {
+                    results.add(items[i]);
+                    found++;
+                }
+            }
+            return found;
+        }
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int bucket = bucketOf(cx, cy);
+                for (int i = bucketStart[bucket]; i < bucketStart[bucket + 1]; i++) {
+                    // other cells share the bucket, so every object is checked against the query
+                    if (cell(itemX[i]) == cx && cell(itemY[i]) == cy && matches(i, minX, minY, maxX, maxY, x, y, radius, type)) {
+                        results.add(items[i]);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean matches(int index, float minX, float minY, float maxX, float maxY, float x, float y, float radius, Class<?> type) {
+        if (type != null && !type.isInstance(items[index])) {
+            return false;
+        }
+        if (radius >= 0) {
+            return within(index, x, y, radius);
+        }
+        return itemX[index] >= minX && itemX[index] <= maxX && itemY[index] >= minY && itemY[index] <= maxY;
+    }
+
+    /**
+     * Find the objects nearest a location, searching the cells in rings outwards from the location until no closer
+     * object can be found
+     *
+     * @param x         The x coord of the location
+     * @param y         The y coord of the location
+     * @param k         The most objects to find
+     * @param maxRadius The furthest from the location an object can be
+     * @param results   The list the objects found are added to, closest first
+     * @return The number of objects found
+     */
+    public int queryNearest(float x, float y, int k, float maxRadius, List<? super T> results) {
+        return nearest(x, y, k, maxRadius, null, results);
+    }
+
+    /**
+     * Find the objects of a type nearest a location
+     *
+     * @param x         The x coord of the location
+     * @param y         The y coord of the location
+     * @param k         The most objects to find
+     * @param maxRadius The furthest from the location an object can be
+     * @param type      The type of object to find, objects of other types are skipped
+     * @param results   The list the objects found are added to, closest first
+     * @param <S>       The type of object to find
+     * @return The number of objects found
+     */
+    public <S extends T> int queryNearest(float x, float y, int k, float maxRadius, Class<S> type, List<? super S> results) {
+        return nearest(x, y, k, maxRadius, type, results);
+    }
+
+    /**
+     * Find the object of a type nearest a location
+     *
+     * @param x         The x coord of the location
+     * @param y         The y coord of the location
+     * @param maxRadius The furthest from the location the object can be
+     * @param type      The type of object to find, objects of other types are skipped
+     * @param <S>       The type of object to find
+     * @return The nearest object, null if there is none within the radius
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends T> S queryNearest(float x, float y, float maxRadius, Class<S> type) {
+        checkBuilt();
+        if (collectNearest(x, y, 1, maxRadius, type) == 0) {
+            return null;
+        }
+        return (S) items[nearestIndex[0]];
+    }
+
+    @SuppressWarnings("unchecked")
+    private int nearest(float x, float y, int k, float maxRadius, Class<?> type, List results) {
+        checkBuilt();
+        int found = collectNearest(x, y, k, maxRadius, type);
+        for (int i = 0; i < found; i++) {
+            results.add(items[nearestIndex[i]]);
+        }
+        return found;
+    }
+
+    // fills nearestIndex with the k nearest objects, closest first, returning how many were found
+    private int collectNearest(float x, float y, int k, float maxRadius, Class<?> type) {
+        if (k <= 0) {
+            return 0;
+        }
+        if (nearestIndex.length < k) {
+            nearestIndex = new int[k];
+            nearestDist = new float[k];
+        }
+        float maxDist = maxRadius * maxRadius;
+        int found = 0;
+        int cx = cell(x);
+        int cy = cell(y);
+        for (int ring = 0; ; ring++) {
+            // every object in a ring is at least a ring less one cells away
+            float bound = Math.max(0, ring - 1) * cellSize;
+            if (bound * bound > maxDist || (found == k && bound * bound > nearestDist[k - 1])) {
+                return found;
+            }
+            // once a ring of cells covers every bucket a scan of every object is quicker than going further
+            long side = 2L * ring + 1;
+            if (side * side > bucketMask + 1) {
+                found = 0;
+                for (int i = 0; i < count; i++) {
+                    found = offerNearest(i, x, y, k, maxDist, type, found);
+                }
+                return found;
+            }
+            for (int ry = cy - ring; ry <= cy + ring; ry++) {
+                // only the edge of the ring, the inside was searched by the smaller rings
+                int step = ry == cy - ring || ry == cy + ring ? 1 : Math.max(1, 2 * ring);
+                for (int rx = cx - ring; rx <= cx + ring; rx += step) {
+                    int bucket = bucketOf(rx, ry);
+                    for (int i = bucketStart[bucket]; i < bucketStart[bucket + 1]; i++) {
+                        if (cell(itemX[i]) == rx && cell(itemY[i]) == ry) {
+                            found = offerNearest(i, x, y, k, maxDist, type, found);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // inserts the object into the nearest found so far if it is closer than the furthest of them
+    private int offerNearest(int index, float x, float y, int k, float maxDist, Class<?> type, int found) {
+        if (type != null && !type.isInstance(items[index])) {
+            return found;
+        }
+        float dx = itemX[index] - x;
+        float dy = itemY[index] - y;
+        float dist = dx * dx + dy * dy;
+        if (dist > maxDist || (found == k && dist >= nearestDist[k - 1])) {
+            return found;
+        }
+        int i = found == k ? k - 1 : found++;
+        while (i > 0 && nearestDist[i - 1] > dist) {
+            nearestIndex[i] = nearestIndex[i - 1];
+            nearestDist[i] = nearestDist[i - 1];
+            i--;
+        }
+        nearestIndex[i] = index;
+        nearestDist[i] = dist;
+        return found;
+    }
+
+    private void checkBuilt() {
+        if (!built) {
+            throw new IllegalStateException("The spatial hash has to be built before it is queried");
+        }
+    }
+
+    private boolean within(int index, float x, float y, float radius) {
+        float dx = itemX[index] - x;
+        float dy = itemY[index] - y;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    private int cell(float coord) {
+        return (int) Math.floor(coord / cellSize);
+    }
+
+    private int bucketOf(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+}
@@ -14,7 +14,7 @@ import com.mygdx.pirategame.gameobjects.tileobject.InteractiveTileObject;
 /**
  * Tells the game what to do when certain entities come into contact with each other
  *
- * @author Ethan Alabaster, Charlie Crosley, James McNair, Robert Murphy, Marc Perales Salomo
+ * @author Ethan Alabaster, Charlie Crosley, James McNair, Robert Murphy, Marc Perales Salomo, Dan Wade
  * @version 1.0
  */
 public class WorldContactListener implements ContactListener {
@@ -136,8 +136,12 @@ public class WorldContactListener implements ContactListener {
                 break;
             // enemy collides with enemy
             case PirateGame.ENEMY_BIT | PirateGame.ENEMY_BIT:
-                // notifying a single ship so it can pause
-                ((Enemy) fixB.getUserData()).onContactOther();
+                // notifying a single ship so it can pause and steer around the other
+                if (fixA.getUserData() instanceof Enemy) {
+                    ((Enemy) fixB.getUserData()).onContactOther((Enemy) fixA.getUserData());
+                } else {
+                    ((Enemy) fixB.getUserData()).onContactOther();
+                }
                 break;
         }
     }
@@ -8,7 +8,10 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.mygdx.pirategame.gameobjects.CannonFire;
+import com.mygdx.pirategame.gameobjects.CollegeFire;
 import com.mygdx.pirategame.gameobjects.Player;
+import com.mygdx.pirategame.gameobjects.enemy.SeaMonster;
 import com.mygdx.pirategame.pathfinding.PathFinder;
 import com.mygdx.pirategame.save.GameScreen;
 import com.mygdx.pirategame.screen.GoldShop;
@@ -82,7 +85,13 @@ public class MockClass {
         // creating required variables, and mocking return values
         GameScreen screen = Mockito.mock(GameScreen.class);
         
-        Mockito.when(screen.getWorld()).thenReturn(new World(new Vector2(0, 0), true));
+        World world = new World(new Vector2(0, 0), true);
+        Mockito.when(screen.getWorld()).thenReturn(world);
+
+        // mocking the projectile pools, creating their projectiles in the same world
+        Mockito.when(screen.getCannonFirePool()).thenReturn(CannonFire.createPool(world));
+        Mockito.when(screen.getCollegeFirePool()).thenReturn(CollegeFire.createPool(world));
+        Mockito.when(screen.getWaterSlashPool()).thenReturn(SeaMonster.createProjectilePool(world));
 
         // mocking the map
         TmxMapLoader mapLoader = new TmxMapLoader();
@@ -94,6 +103,10 @@ public class MockClass {
         // mocking the path finder
         Mockito.when(screen.getPathFinder()).thenReturn(new PathFinder(screen, 64));
 
+        // without an entity index the real range checks fall back to measuring the distance to the player
+        Mockito.when(screen.inPlayerRange(Mockito.any(), Mockito.any(Vector2.class), Mockito.anyFloat())).thenCallRealMethod();
+        Mockito.when(screen.getNearestTornado()).thenCallRealMethod();
+
         // mocking the game difficulty
         Mockito.when(screen.getDifficulty()).thenReturn(1f);
 
@@ -0,0 +1,97 @@
+package com.mygdx.pirategame.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.pirategame.AssetCache;
+import com.mygdx.pirategame.PirateGameTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for the AssetCache class
+ * @author Dan Wade
+ * TEST ID: UT_47
+ */
+@RunWith(PirateGameTest.class)
+public class AssetCacheTest {
+
+    /**
+     * Setup the test environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+    }
+
+    /**
+     * Ensuring every object asking for a texture shares one texture, disposed of once the last releases it
+     */
+    @Test
+    public void testTextureShared() {
+        String path = "entity/gun.png";
+        Texture first = AssetCache.getTexture(path);
+        Texture second = AssetCache.getTexture(path);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(2, AssetCache.getReferenceCount(path));
+
+        AssetCache.release(path);
+        Assert.assertEquals(1, AssetCache.getReferenceCount(path));
+        AssetCache.release(path);
+        Assert.assertEquals(0, AssetCache.getReferenceCount(path));
+
+        // releasing an asset that is not loaded does nothing
+        AssetCache.release(path);
+        Assert.assertEquals(0, AssetCache.getReferenceCount(path));
+    }
+
+    /**
+     * Ensuring the game screen's hold keeps a sound loaded when every object using it is gone
+     */
+    @Test
+    public void testGameAssetsHeld() {
+        String path = AssetCache.GAME_SOUNDS[0];
+        AssetCache.holdGameAssets();
+        Sound sound = AssetCache.getSound(path);
+        AssetCache.release(path);
+        Assert.assertEquals(1, AssetCache.getReferenceCount(path));
+        Assert.assertSame(sound, AssetCache.getSound(path));
+        AssetCache.release(path);
+
+        AssetCache.releaseGameAssets();
+        Assert.assertEquals(0, AssetCache.getReferenceCount(path));
+    }
+
+    /**
+     * Ensuring every image of the atlas is packed onto a single page, shrunk when it is too large
+     */
+    @Test
+    public void testAtlas() {
+        TextureRegion gun = AssetCache.getRegion("entity/gun.png");
+        for (String path : AssetCache.ATLAS_IMAGES) {
+            TextureRegion region = AssetCache.getRegion(path);
+            Assert.assertSame(gun.getTexture(), region.getTexture());
+            Assert.assertTrue(Math.min(region.getRegionWidth(), region.getRegionHeight()) <= AssetCache.ATLAS_MAX_IMAGE_SIZE);
+        }
+        Assert.assertEquals(1, AssetCache.getAtlas().getTextures().size);
+        // images small or thin enough are packed as they are
+        Assert.assertEquals(100, AssetCache.getRegion("HealthBar.png").getRegionWidth());
+        Assert.assertEquals(357, AssetCache.getRegion("sea_monster/idleSpriteSheet.png").getRegionWidth());
+        Assert.assertEquals(AssetCache.ATLAS_MAX_IMAGE_SIZE, gun.getRegionWidth());
+    }
+
+    /**
+     * Ensuring asking for an image that is not in the atlas fails
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegionMissing() {
+        AssetCache.getRegion("hudBG.png");
+    }
+}
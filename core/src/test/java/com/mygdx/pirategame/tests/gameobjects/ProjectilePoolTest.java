@@ -0,0 +1,89 @@
+package com.mygdx.pirategame.tests.gameobjects;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.mygdx.pirategame.MockClass;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.gameobjects.CollegeFire;
+import com.mygdx.pirategame.gameobjects.ProjectilePool;
+import com.mygdx.pirategame.save.GameScreen;
+import com.mygdx.pirategame.tests.FakeGL20;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for the ProjectilePool class
+ * @author Dan Wade
+ * TEST ID: UT_48
+ */
+@RunWith(PirateGameTest.class)
+public class ProjectilePoolTest {
+
+    private static GameScreen mockedGameScreen;
+
+    /**
+     * Setup the testing environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+
+        mockedGameScreen = MockClass.mockGameScreenWithPlayer();
+    }
+
+    /**
+     * Ensuring a projectile freed to its pool is fired again with the same body rather than a new one
+     */
+    @Test
+    public void testReuse() {
+        World world = new World(new Vector2(0, 0), true);
+        ProjectilePool<CollegeFire> pool = CollegeFire.createPool(world);
+
+        CollegeFire ball = pool.obtain();
+        ball.fire(mockedGameScreen, 1, 1);
+        Assert.assertEquals(1, world.getBodyCount());
+        ball.setToDestroy();
+        ball.update(0.01f);
+        Assert.assertTrue(ball.isDestroyed());
+        pool.free(ball);
+        Assert.assertFalse(ball.isDestroyed());
+
+        CollegeFire again = pool.obtain();
+        Assert.assertSame(ball, again);
+        again.fire(mockedGameScreen, 2, 2);
+        Assert.assertEquals(1, world.getBodyCount());
+        world.dispose();
+    }
+
+    /**
+     * Ensuring projectiles freed beyond the size of the pool have their bodies destroyed
+     */
+    @Test
+    public void testDiscard() {
+        World world = new World(new Vector2(0, 0), true);
+        ProjectilePool<CollegeFire> pool = CollegeFire.createPool(world);
+
+        CollegeFire[] balls = new CollegeFire[CollegeFire.POOL_SIZE + 2];
+        for (int i = 0; i < balls.length; i++) {
+            balls[i] = pool.obtain();
+        }
+        Assert.assertEquals(balls.length, world.getBodyCount());
+        for (CollegeFire ball : balls) {
+            pool.free(ball);
+        }
+        Assert.assertEquals(CollegeFire.POOL_SIZE, pool.getFree());
+        Assert.assertEquals(CollegeFire.POOL_SIZE, world.getBodyCount());
+
+        pool.dispose();
+        Assert.assertEquals(0, pool.getFree());
+        Assert.assertEquals(0, world.getBodyCount());
+        world.dispose();
+    }
+}
@@ -0,0 +1,163 @@
+package com.mygdx.pirategame.tests.gameobjects.enemy;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import com.mygdx.pirategame.MockClass;
+import com.mygdx.pirategame.PirateGame;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.gameobjects.enemy.CollegeMetadata;
+import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
+import com.mygdx.pirategame.gameobjects.enemy.FleetController;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.pathManager.AttackPath;
+import com.mygdx.pirategame.pathfinding.pathManager.FollowPath;
+import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
+import com.mygdx.pirategame.save.GameScreen;
+import com.mygdx.pirategame.tests.FakeGL20;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test the FleetController class
+ * @author Dan Wade
+ * TEST ID: UT_13
+ */
+@RunWith(PirateGameTest.class)
+public class FleetControllerTest {
+
+    private static GameScreen mockedGameScreen;
+
+    /**
+     * Setup the testing environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+
+        MockClass.mockHudStatic();
+
+        mockedGameScreen = MockClass.mockGameScreenWithPlayer();
+    }
+
+    /**
+     * Creates a fleet of ships spread along a patrol circuit around Alcuin
+     * @param circuit The circuit to spread the ships along
+     * @param count   The number of ships
+     * @return The ships
+     */
+    private List<EnemyShip> createShips(PatrolCircuit circuit, int count) {
+        String shipPath = "college/Ships/" + CollegeMetadata.ALCUIN.getFilePath() + "_ship.png";
+        List<EnemyShip> ships = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int offset = circuit.getOffset(i, count);
+            ships.add(new EnemyShip(mockedGameScreen, (circuit.getX(offset) + 32) / PirateGame.PPM,
+                    (circuit.getY(offset) + 32) / PirateGame.PPM, shipPath, CollegeMetadata.ALCUIN));
+        }
+        return ships;
+    }
+
+    /**
+     * @return A patrol circuit around Alcuin
+     */
+    private PatrolCircuit createCircuit() {
+        return mockedGameScreen.getPathFinder().createPatrolCircuit(70, 70, CollegeMetadata.ALCUIN.getX() * PirateGame.PPM,
+                CollegeMetadata.ALCUIN.getY() * PirateGame.PPM, 1000, 8, new Random(1));
+    }
+
+    /**
+     * Ensuring only the leader patrols and the rest of the fleet follow it in order
+     */
+    @Test
+    public void testLeaderAndFollowers() {
+        PatrolCircuit circuit = createCircuit();
+        List<EnemyShip> ships = createShips(circuit, 4);
+        FleetController fleet = new FleetController(mockedGameScreen, ships, circuit);
+
+        Assert.assertSame(ships.get(0), fleet.getLeader());
+        Assert.assertTrue(ships.get(0).getPathManager() instanceof PatrolPath);
+        Assert.assertSame(circuit, ((PatrolPath) ships.get(0).getPathManager()).getCircuit());
+        for (int i = 1; i < 4; i++) {
+            Assert.assertTrue(ships.get(i).getPathManager() instanceof FollowPath);
+            Assert.assertEquals(i - 1, ((FollowPath) ships.get(i).getPathManager()).getSlot());
+        }
+    }
+
+    /**
+     * Ensuring the next ship takes the lead once the leader is sunk
+     */
+    @Test
+    public void testLeaderSunk() {
+        PatrolCircuit circuit = createCircuit();
+        List<EnemyShip> ships = createShips(circuit, 3);
+        FleetController fleet = new FleetController(mockedGameScreen, ships, circuit);
+
+        ships.get(0).setToDestroy = true;
+        fleet.update();
+
+        Assert.assertSame(ships.get(1), fleet.getLeader());
+        Assert.assertTrue(ships.get(1).getPathManager() instanceof PatrolPath);
+        Assert.assertEquals(0, ((FollowPath) ships.get(2).getPathManager()).getSlot());
+    }
+
+    /**
+     * Ensuring ships attacking the player when the leader is sunk carry on attacking, and take up their new place in
+     * the fleet once the attack ends
+     */
+    @Test
+    public void testLeaderSunkWhileAttacking() {
+        PatrolCircuit circuit = createCircuit();
+        List<EnemyShip> ships = createShips(circuit, 3);
+        FleetController fleet = new FleetController(mockedGameScreen, ships, circuit);
+        FollowPath follow = (FollowPath) ships.get(2).getPathManager();
+        AttackPath newLeaderAttack = new AttackPath(ships.get(1).getPathManager(), ships.get(1), mockedGameScreen);
+        AttackPath followerAttack = new AttackPath(follow, ships.get(2), mockedGameScreen);
+        ships.get(1).setPathManager(newLeaderAttack);
+        ships.get(2).setPathManager(followerAttack);
+
+        ships.get(0).setToDestroy = true;
+        fleet.update();
+
+        Assert.assertSame(ships.get(1), fleet.getLeader());
+        Assert.assertSame(newLeaderAttack, ships.get(1).getPathManager());
+        Assert.assertSame(followerAttack, ships.get(2).getPathManager());
+        Assert.assertTrue(newLeaderAttack.getPreviousPath() instanceof PatrolPath);
+        Assert.assertSame(circuit, ((PatrolPath) newLeaderAttack.getPreviousPath()).getCircuit());
+        Assert.assertSame(follow, followerAttack.getPreviousPath());
+        Assert.assertEquals(0, follow.getSlot());
+    }
+
+    /**
+     * Ensuring the formation opens out behind the leader, alternating between the left and right
+     */
+    @Test
+    public void testFormation() {
+        PatrolCircuit circuit = createCircuit();
+        List<EnemyShip> ships = createShips(circuit, 4);
+        FleetController fleet = new FleetController(mockedGameScreen, ships, circuit);
+        EnemyShip leader = fleet.getLeader();
+        // the body angle of a ship heading along +y
+        leader.b2body.setTransform(leader.b2body.getPosition(), 0);
+        float x = leader.b2body.getPosition().x * PirateGame.PPM;
+        float y = leader.b2body.getPosition().y * PirateGame.PPM;
+
+        Vector2 first = ((FollowPath) ships.get(1).getPathManager()).getFormationTarget();
+        Assert.assertEquals(x - FollowPath.FORMATION_SPACING, first.x, 0.01f);
+        Assert.assertEquals(y - FollowPath.FORMATION_SPACING, first.y, 0.01f);
+        Vector2 second = ((FollowPath) ships.get(2).getPathManager()).getFormationTarget();
+        Assert.assertEquals(x + FollowPath.FORMATION_SPACING, second.x, 0.01f);
+        Assert.assertEquals(y - FollowPath.FORMATION_SPACING, second.y, 0.01f);
+        Vector2 third = ((FollowPath) ships.get(3).getPathManager()).getFormationTarget();
+        Assert.assertEquals(x - 2 * FollowPath.FORMATION_SPACING, third.x, 0.01f);
+        Assert.assertEquals(y - 2 * FollowPath.FORMATION_SPACING, third.y, 0.01f);
+    }
+}
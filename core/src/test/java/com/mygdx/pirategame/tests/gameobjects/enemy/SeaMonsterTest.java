@@ -116,7 +116,8 @@ public class SeaMonsterTest {
      */
     @Test
     public void testPlayerInRangeNoPathManager() {
-        SeaMonster seaMonster = new SeaMonster(mockedGameScreen, 13*64 / PirateGame.PPM, 11*64 / PirateGame.PPM);
+        // the sea monster has to start somewhere it fits, which the tile under the player does not
+        SeaMonster seaMonster = new SeaMonster(mockedGameScreen, 16*64 / PirateGame.PPM, 13*64 / PirateGame.PPM);
         // Update to set a path manager and generate a new path
         seaMonster.update(0.001f);
         Assert.assertNotNull(seaMonster.pathManager);
@@ -0,0 +1,109 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.NodeHeap;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the AStarSearch and NodeHeap classes
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class AStarSearchTest {
+
+    /**
+     * Ensuring the heap always returns the lowest key, including after keys are decreased
+     */
+    @Test
+    public void testHeapOrdering() {
+        NodeHeap heap = new NodeHeap(10);
+        heap.push(3, 5, 0);
+        heap.push(7, 2, 0);
+        heap.push(1, 9, 0);
+        heap.push(4, 2, -1);
+
+        Assert.assertTrue(heap.contains(1));
+        // decreasing the key of tile 1 so it is now the lowest
+        heap.push(1, 1, 0);
+
+        Assert.assertEquals(1, heap.pop());
+        // ties are broken on the secondary key
+        Assert.assertEquals(4, heap.pop());
+        Assert.assertEquals(7, heap.pop());
+        Assert.assertEquals(3, heap.pop());
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+    }
+
+    /**
+     * Ensuring a path is found around the wall and every step is valid
+     */
+    @Test
+    public void testPathAroundWall() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        AStarSearch search = new AStarSearch(grid);
+
+        Assert.assertTrue(search.search(0, 9, GridFixtures.openTiles(grid), 100));
+        int[] path = search.getPath();
+
+        Assert.assertEquals(0, path[0]);
+        Assert.assertEquals(9, path[path.length - 1]);
+        for (int i = 1; i < path.length; i++) {
+            int dx = Math.abs(path[i] % 10 - path[i - 1] % 10);
+            int dy = Math.abs(path[i] / 10 - path[i - 1] / 10);
+            Assert.assertTrue(dx <= 1 && dy <= 1);
+            Assert.assertFalse(grid.isBlocked(path[i] % 10, path[i] / 10));
+        }
+        // the route has to pass through the gap at the top of the wall
+        boolean usedGap = false;
+        for (int tile : path) {
+            usedGap |= tile == 5 + 9 * 10;
+        }
+        Assert.assertTrue(usedGap);
+    }
+
+    /**
+     * Ensuring the search gives up once the expansion limit is reached and can be reused afterwards
+     */
+    @Test
+    public void testExpansionLimitAndReuse() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        AStarSearch search = new AStarSearch(grid);
+        long[] clearance = GridFixtures.openTiles(grid);
+
+        Assert.assertFalse(search.search(0, 9, clearance, 5));
+        Assert.assertNull(search.getPath());
+        Assert.assertEquals(5, search.getExpansions());
+
+        Assert.assertTrue(search.search(0, 4, clearance, 100));
+        Assert.assertEquals(5, search.getPath().length);
+    }
+
+    /**
+     * Ensuring a search advanced a few tiles at a time finds the same path as a search run to completion
+     */
+    @Test
+    public void testResumable() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        AStarSearch search = new AStarSearch(grid);
+        long[] clearance = GridFixtures.openTiles(grid);
+
+        Assert.assertTrue(search.search(0, 9, clearance, 100));
+        int[] expected = search.getPath();
+        int expansions = search.getExpansions();
+
+        search.begin(0, 9, clearance);
+        int steps = 0;
+        while (search.step(2) == AStarSearch.Status.SEARCHING) {
+            steps++;
+            Assert.assertTrue(search.getExpansions() <= steps * 2);
+        }
+        Assert.assertEquals(AStarSearch.Status.FOUND, search.getStatus());
+        Assert.assertEquals(expansions, search.getExpansions());
+        Assert.assertArrayEquals(expected, search.getPath());
+        // a finished search is not advanced any further
+        Assert.assertEquals(AStarSearch.Status.FOUND, search.step(10));
+    }
+}
@@ -0,0 +1,111 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.ClusterGraph;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the ClusterGraph class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class ClusterGraphTest {
+
+    /**
+     * Ensuring a coarse route is found around the wall and every leg of it can be refined
+     */
+    @Test
+    public void testRouteAroundWall() {
+        NavGrid grid = GridFixtures.createWalledGrid(64, 40, 60);
+        long[] clearance = GridFixtures.openTiles(grid);
+        ClusterGraph graph = new ClusterGraph(grid, clearance);
+        AStarSearch search = new AStarSearch(grid);
+        int start = 2 + 2 * 64;
+        int goal = 60 + 2 * 64;
+
+        int[] route = graph.findRoute(start, goal, graph.getNodeCount() + 2);
+        Assert.assertNotNull(route);
+        Assert.assertEquals(start, route[0]);
+        Assert.assertEquals(goal, route[route.length - 1]);
+        // the abstract search only needs a fraction of the nodes
+        Assert.assertTrue(graph.getExpansions() < graph.getNodeCount());
+
+        boolean passedGap = false;
+        for (int i = 1; i < route.length; i++) {
+            Assert.assertTrue(search.search(route[i - 1], route[i], clearance, 64 * 64));
+            for (int tile : search.getPath()) {
+                passedGap |= tile % 64 == 40;
+            }
+        }
+        Assert.assertTrue(passedGap);
+    }
+
+    /**
+     * Ensuring routes planned on several threads at once over the same graph match the route planned alone
+     */
+    @Test
+    public void testConcurrentRoutes() throws InterruptedException {
+        NavGrid grid = GridFixtures.createWalledGrid(64, 40, 60);
+        final ClusterGraph graph = new ClusterGraph(grid, GridFixtures.openTiles(grid));
+        final int start = 2 + 2 * 64;
+        final int goal = 60 + 2 * 64;
+        final int[] expected = graph.findRoute(start, goal, graph.getNodeCount() + 2);
+        final AtomicInteger mismatches = new AtomicInteger();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 200; i++) {
+                        // planning the other way between routes, so a shared search state would mix the two
+                        if (!Arrays.equals(expected, graph.findRoute(start, goal, graph.getNodeCount() + 2))
+                                || graph.findRoute(goal, start, graph.getNodeCount() + 2) == null) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, mismatches.get());
+    }
+
+    /**
+     * Ensuring no route is found to an area that is closed off
+     */
+    @Test
+    public void testNoRoute() {
+        NavGrid grid = GridFixtures.createWalledGrid(64, 40, 60);
+        long[] clearance = GridFixtures.openTiles(grid);
+        // closing the gap in the wall
+        for (int y = 60; y < 64; y++) {
+            clearance[(40 + y * 64) >> 6] &= ~(1L << (40 + y * 64));
+        }
+        ClusterGraph graph = new ClusterGraph(grid, clearance);
+
+        Assert.assertNull(graph.findRoute(2 + 2 * 64, 60 + 2 * 64, graph.getNodeCount() + 2));
+    }
+
+    /**
+     * Ensuring tiles are assigned to the right clusters
+     */
+    @Test
+    public void testCluster() {
+        NavGrid grid = GridFixtures.createWalledGrid(64, 40, 60);
+        ClusterGraph graph = new ClusterGraph(grid, GridFixtures.openTiles(grid));
+
+        Assert.assertEquals(0, graph.getCluster(0));
+        Assert.assertEquals(0, graph.getCluster(15 + 15 * 64));
+        Assert.assertEquals(1, graph.getCluster(16));
+        Assert.assertEquals(4, graph.getCluster(16 * 64));
+    }
+}
@@ -0,0 +1,121 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.DStarLite;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the DStarLite class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class DStarLiteTest {
+
+    /**
+     * Sums the cost of a path, checking every step is to a neighbouring tile
+     * @param width The width of the grid
+     * @param path  The tiles along the path
+     * @return The total cost of the path in tiles
+     */
+    private double cost(int width, int[] path) {
+        double cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            int dx = Math.abs(path[i] % width - path[i - 1] % width);
+            int dy = Math.abs(path[i] / width - path[i - 1] / width);
+            Assert.assertTrue(dx <= 1 && dy <= 1 && dx + dy > 0);
+            cost += dx + dy == 2 ? Math.sqrt(2) : 1;
+        }
+        return cost;
+    }
+
+    /**
+     * Ensuring repaired paths avoid the blocked tiles and are as short as searching again from scratch
+     */
+    @Test
+    public void testRepairMatchesAStar() {
+        Random random = new Random(3);
+        for (int run = 0; run < 20; run++) {
+            boolean[] blockedTiles = new boolean[40 * 40];
+            for (int i = 0; i < blockedTiles.length; i++) {
+                blockedTiles[i] = random.nextInt(5) == 0;
+            }
+            int start = 1 + 1 * 40;
+            int goal = 38 + 38 * 40;
+            blockedTiles[start] = false;
+            blockedTiles[goal] = false;
+            NavGrid grid = new NavGrid(40, 40, 64, blockedTiles);
+            DStarLite planner = new DStarLite(grid, GridFixtures.openTiles(grid));
+            AStarSearch search = new AStarSearch(grid);
+
+            boolean found = planner.plan(start, goal, 1600);
+            Assert.assertEquals(search.search(start, goal, GridFixtures.openTiles(grid), 1600), found);
+            if (!found) {
+                continue;
+            }
+            int[] path = planner.getPath();
+            Assert.assertEquals(cost(40, search.getPath()), cost(40, path), 1e-3);
+
+            // moving part of the way along and blocking the next few tiles of the path
+            int moved = path[path.length / 3];
+            int[] blocked = new int[Math.min(3, path.length - path.length / 3 - 2)];
+            for (int i = 0; i < blocked.length; i++) {
+                blocked[i] = path[path.length / 3 + 1 + i];
+            }
+            planner.setBlocked(blocked);
+            found = planner.plan(moved, goal, 1600);
+            Assert.assertEquals(search.search(moved, goal, GridFixtures.openTiles(grid, blocked), 1600), found);
+            if (found) {
+                int[] repaired = planner.getPath();
+                Assert.assertEquals(moved, repaired[0]);
+                Assert.assertEquals(goal, repaired[repaired.length - 1]);
+                for (int tile : repaired) {
+                    for (int b : blocked) {
+                        Assert.assertNotEquals(b, tile);
+                    }
+                }
+                Assert.assertEquals(cost(40, search.getPath()), cost(40, repaired), 1e-3);
+            }
+
+            // freeing the tiles again gives back the original route
+            planner.setBlocked(new int[0]);
+            Assert.assertTrue(planner.plan(moved, goal, 1600));
+            Assert.assertTrue(search.search(moved, goal, GridFixtures.openTiles(grid), 1600));
+            Assert.assertEquals(cost(40, search.getPath()), cost(40, planner.getPath()), 1e-3);
+        }
+    }
+
+    /**
+     * Ensuring a repair expands fewer tiles than searching again from scratch and a new goal starts a new plan
+     */
+    @Test
+    public void testRepairIsIncremental() {
+        // a wall along x = 30 with a gap at the bottom of the grid
+        boolean[] blockedTiles = new boolean[3600];
+        for (int y = 5; y < 60; y++) {
+            blockedTiles[30 + y * 60] = true;
+        }
+        NavGrid grid = new NavGrid(60, 60, 64, blockedTiles);
+        DStarLite planner = new DStarLite(grid, GridFixtures.openTiles(grid));
+        int goal = 55 + 30 * 60;
+
+        Assert.assertTrue(planner.plan(5 + 30 * 60, goal, 3600));
+        int[] path = planner.getPath();
+        int[] blocked = {path[3], path[4]};
+        planner.setBlocked(blocked);
+        Assert.assertTrue(planner.plan(path[2], goal, 3600));
+        Assert.assertEquals(goal, planner.getGoal());
+
+        AStarSearch search = new AStarSearch(grid);
+        Assert.assertTrue(search.search(path[2], goal, GridFixtures.openTiles(grid, blocked), 3600));
+        Assert.assertTrue(planner.getExpansions() * 4 < search.getExpansions());
+
+        Assert.assertTrue(planner.plan(path[2], 5, 3600));
+        Assert.assertEquals(5, planner.getGoal());
+        path = planner.getPath();
+        Assert.assertEquals(5, path[path.length - 1]);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.DestinationTable;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.WaterRegions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the DestinationTable class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class DestinationTableTest {
+
+    /**
+     * Creates a 40x40 grid where every tile with x below 10 is blocked
+     * @return The created grid
+     */
+    private NavGrid createGrid() {
+        boolean[] blocked = new boolean[1600];
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 10; x++) {
+                blocked[x + y * 40] = true;
+            }
+        }
+        return new NavGrid(40, 40, 64, blocked);
+    }
+
+    /**
+     * Ensuring only open tiles within the area are drawn
+     */
+    @Test
+    public void testDrawWithinArea() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        DestinationTable table = new DestinationTable(grid, clearance, 5, 5, 20, 20);
+        Random random = new Random(1);
+
+        // the tiles with x from 11 to 20, as the corner at x = 10 touches the blocked tiles
+        Assert.assertEquals(10 * 16, table.size());
+        for (int i = 0; i < 500; i++) {
+            int tile = table.draw(random);
+            Assert.assertTrue(NavGrid.isSet(clearance, tile));
+            Assert.assertTrue(tile % 40 >= 11 && tile % 40 <= 20);
+            Assert.assertTrue(tile / 40 >= 5 && tile / 40 <= 20);
+        }
+    }
+
+    /**
+     * Ensuring draws from a window land within the window whenever the window has open tiles
+     */
+    @Test
+    public void testDrawWithinWindow() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        DestinationTable table = new DestinationTable(grid, clearance, 0, 0, 39, 39);
+        Random random = new Random(2);
+
+        int inside = 0;
+        for (int i = 0; i < 500; i++) {
+            int tile = table.draw(random, 12, 15, 31, 34);
+            Assert.assertTrue(NavGrid.isSet(clearance, tile));
+            if (tile % 40 >= 12 && tile % 40 <= 31 && tile / 40 >= 15 && tile / 40 <= 34) {
+                inside++;
+            }
+        }
+        // a few draws may settle for a nearby tile once the attempts run out
+        Assert.assertTrue(inside > 490);
+
+        // the window only overlaps buckets of blocked tiles
+        DestinationTable left = new DestinationTable(grid, clearance, 0, 0, 9, 39);
+        Assert.assertEquals(0, left.size());
+        Assert.assertEquals(-1, left.draw(random));
+        Assert.assertEquals(-1, left.draw(random, 0, 0, 5, 5));
+    }
+
+    /**
+     * Ensuring draws for a region only land within the region, and draws with no tiles in the region are rejected
+     */
+    @Test
+    public void testDrawWithinRegion() {
+        NavGrid grid = WaterRegionsTest.createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        WaterRegions regions = new WaterRegions(grid, clearance);
+        DestinationTable table = new DestinationTable(grid, clearance, 0, 0, 39, 39);
+        Random random = new Random(3);
+        int lake = regions.getRegion(25 + 25 * 40);
+        int outside = regions.getRegion(5 + 5 * 40);
+
+        for (int i = 0; i < 500; i++) {
+            // the lake is only a small part of the table
+            Assert.assertEquals(lake, regions.getRegion(table.draw(random, regions, lake)));
+            Assert.assertEquals(outside, regions.getRegion(table.draw(random, 16, 16, 35, 35, regions, outside)));
+        }
+        Assert.assertEquals(0, regions.getRejectedCount());
+
+        // the window only overlaps the bucket from 0 to 15, which has no tiles in the lake
+        Assert.assertEquals(-1, table.draw(random, 0, 0, 10, 10, regions, lake));
+        DestinationTable outer = new DestinationTable(grid, clearance, 0, 0, 15, 15);
+        Assert.assertEquals(-1, outer.draw(random, regions, lake));
+        Assert.assertEquals(2, regions.getRejectedCount());
+    }
+}
@@ -0,0 +1,63 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.FlowField;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FlowField class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class FlowFieldTest {
+
+    /**
+     * Ensuring following the field from any tile reaches the goal at the same cost as searching for a path
+     */
+    @Test
+    public void testFollowReachesGoal() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        long[] clearance = GridFixtures.openTiles(grid);
+        FlowField field = new FlowField(grid, clearance);
+        AStarSearch search = new AStarSearch(grid);
+        field.setGoal(9);
+
+        for (int tile = 0; tile < 100; tile++) {
+            if (grid.isBlocked(tile % 10, tile / 10)) {
+                Assert.assertNull(field.follow(tile, 100));
+                continue;
+            }
+            int[] tiles = field.follow(tile, 100);
+            Assert.assertEquals(9, tiles[tiles.length - 1]);
+
+            Assert.assertTrue(search.search(tile, 9, clearance, 100));
+            int[] path = search.getPath();
+            float cost = 0;
+            for (int i = 1; i < path.length; i++) {
+                boolean diagonal = path[i] % 10 != path[i - 1] % 10 && path[i] / 10 != path[i - 1] / 10;
+                cost += diagonal ? Math.sqrt(2) : 1;
+            }
+            Assert.assertEquals(cost, field.getDistance(tile), 1e-3);
+        }
+    }
+
+    /**
+     * Ensuring the field is only rebuilt when the goal moves to another tile and following it stops after the steps given
+     */
+    @Test
+    public void testRefreshOnlyOnGoalChange() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        FlowField field = new FlowField(grid, GridFixtures.openTiles(grid));
+
+        field.setGoal(9);
+        field.setGoal(9);
+        Assert.assertEquals(1, field.getRefreshes());
+        field.setGoal(0);
+        Assert.assertEquals(2, field.getRefreshes());
+
+        Assert.assertEquals(3, field.follow(9, 2).length);
+        Assert.assertEquals(-1, field.getNextTile(0));
+    }
+}
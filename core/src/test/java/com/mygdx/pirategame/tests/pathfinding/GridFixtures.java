@@ -0,0 +1,58 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.NavGrid;
+
+/**
+ * The grids and clearance classes shared by the path finding tests
+ * @author Dan Wade
+ */
+final class GridFixtures {
+
+    private GridFixtures() {
+    }
+
+    /**
+     * Creates a 10x10 grid with a wall along x = 5 that has a single gap at y = 9
+     * @return The created grid
+     */
+    static NavGrid createWalledGrid() {
+        return createWalledGrid(10, 5, 9);
+    }
+
+    /**
+     * Creates a square grid with a wall running up from y = 0, leaving a gap at the top of the grid
+     * @param size  The width and height of the grid in tiles
+     * @param wallX The x coord of the wall
+     * @param gapY  The y coord the gap in the wall starts at
+     * @return The created grid
+     */
+    static NavGrid createWalledGrid(int size, int wallX, int gapY) {
+        boolean[] blocked = new boolean[size * size];
+        for (int y = 0; y < gapY; y++) {
+            blocked[wallX + y * size] = true;
+        }
+        return new NavGrid(size, size, 64, blocked);
+    }
+
+    /**
+     * Creates a clearance class where every unblocked tile can be travelled through
+     * @param grid    The grid to create the clearance class for
+     * @param removed Tile ids to leave out of the clearance class, as if they were blocked
+     * @return The packed clearance class
+     */
+    static long[] openTiles(NavGrid grid, int... removed) {
+        long[] clearance = new long[(grid.getWidth() * grid.getHeight() + 63) >> 6];
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                if (!grid.isBlocked(x, y)) {
+                    int index = x + y * grid.getWidth();
+                    clearance[index >> 6] |= 1L << index;
+                }
+            }
+        }
+        for (int tile : removed) {
+            clearance[tile >> 6] &= ~(1L << tile);
+        }
+        return clearance;
+    }
+}
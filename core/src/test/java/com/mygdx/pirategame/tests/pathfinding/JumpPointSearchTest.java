@@ -0,0 +1,93 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.JumpPointSearch;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the JumpPointSearch class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class JumpPointSearchTest {
+
+    /**
+     * Checks every step of a path is to a neighbouring open tile and sums the cost of the path
+     * @param grid The grid the path was found on
+     * @param path The tiles along the path
+     * @return The total cost of the path in tiles
+     */
+    private double checkPath(NavGrid grid, int[] path) {
+        int width = grid.getWidth();
+        double cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            int dx = Math.abs(path[i] % width - path[i - 1] % width);
+            int dy = Math.abs(path[i] / width - path[i - 1] / width);
+            Assert.assertTrue(dx <= 1 && dy <= 1 && dx + dy > 0);
+            Assert.assertFalse(grid.isBlocked(path[i] % width, path[i] / width));
+            cost += dx + dy == 2 ? Math.sqrt(2) : 1;
+        }
+        return cost;
+    }
+
+    /**
+     * Ensuring jump point search finds paths of the same length as A* on randomly blocked grids
+     */
+    @Test
+    public void testMatchesAStar() {
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            boolean[] blocked = new boolean[32 * 32];
+            for (int i = 0; i < blocked.length; i++) {
+                blocked[i] = random.nextFloat() < 0.25f;
+            }
+            NavGrid grid = new NavGrid(32, 32, 64, blocked);
+            long[] clearance = GridFixtures.openTiles(grid);
+            AStarSearch aStar = new AStarSearch(grid);
+            JumpPointSearch jumpPoint = new JumpPointSearch(grid);
+
+            int start = random.nextInt(blocked.length);
+            int goal = random.nextInt(blocked.length);
+            if (blocked[start] || blocked[goal]) {
+                continue;
+            }
+            boolean found = aStar.search(start, goal, clearance, blocked.length);
+            Assert.assertEquals(found, jumpPoint.search(start, goal, clearance, blocked.length));
+            if (found) {
+                int[] path = jumpPoint.getPath();
+                Assert.assertEquals(start, path[0]);
+                Assert.assertEquals(goal, path[path.length - 1]);
+                Assert.assertEquals(checkPath(grid, aStar.getPath()), checkPath(grid, path), 1e-3);
+            }
+        }
+    }
+
+    /**
+     * Ensuring open water is crossed with far fewer expansions than A*
+     */
+    @Test
+    public void testFewerExpansions() {
+        boolean[] blocked = new boolean[64 * 64];
+        // a single island in the middle of the map
+        for (int y = 20; y < 40; y++) {
+            for (int x = 28; x < 36; x++) {
+                blocked[x + y * 64] = true;
+            }
+        }
+        NavGrid grid = new NavGrid(64, 64, 64, blocked);
+        long[] clearance = GridFixtures.openTiles(grid);
+        AStarSearch aStar = new AStarSearch(grid);
+        JumpPointSearch jumpPoint = new JumpPointSearch(grid);
+        int start = 2 + 30 * 64;
+        int goal = 60 + 30 * 64;
+
+        Assert.assertTrue(aStar.search(start, goal, clearance, blocked.length));
+        Assert.assertTrue(jumpPoint.search(start, goal, clearance, blocked.length));
+        Assert.assertTrue(jumpPoint.getExpansions() * 4 < aStar.getExpansions());
+        Assert.assertEquals(checkPath(grid, aStar.getPath()), checkPath(grid, jumpPoint.getPath()), 1e-3);
+    }
+}
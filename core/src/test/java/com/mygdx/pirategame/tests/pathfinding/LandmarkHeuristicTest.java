@@ -0,0 +1,83 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.EuclideanHeuristic;
+import com.mygdx.pirategame.pathfinding.FlowField;
+import com.mygdx.pirategame.pathfinding.LandmarkHeuristic;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.OctileHeuristic;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the LandmarkHeuristic class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class LandmarkHeuristicTest {
+
+    /**
+     * Creates a 60x60 grid split by a wall at x = 30 with a gap at the top, so routes across have to go around it
+     * @return The created grid
+     */
+    private NavGrid createGrid() {
+        boolean[] blocked = new boolean[3600];
+        for (int y = 0; y < 54; y++) {
+            blocked[30 + y * 60] = true;
+        }
+        return new NavGrid(60, 60, 64, blocked);
+    }
+
+    /**
+     * Ensuring the estimates never exceed the true cost, and never drop by more than the cost of a move
+     */
+    @Test
+    public void testAdmissibleAndConsistent() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        LandmarkHeuristic heuristic = new LandmarkHeuristic(grid, clearance, 0, 4);
+        Assert.assertEquals(4, heuristic.getLandmarks().length);
+
+        FlowField field = new FlowField(grid, clearance);
+        for (int goal : new int[]{5 + 5 * 60, 45 + 10 * 60, 29 + 58 * 60, 59 + 59 * 60}) {
+            field.setGoal(goal);
+            for (int tile = 0; tile < 3600; tile++) {
+                if (!NavGrid.isSet(clearance, tile)) {
+                    continue;
+                }
+                float estimate = heuristic.estimate(tile, goal);
+                Assert.assertTrue(estimate <= field.getDistance(tile) + 1e-3f);
+                int next = field.getNextTile(tile);
+                if (next != -1) {
+                    float step = field.getDistance(tile) - field.getDistance(next);
+                    Assert.assertTrue(estimate <= step + heuristic.estimate(next, goal) + 1e-3f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensuring routes around the wall expand fewer tiles than the straight line and octile distances, with the same cost
+     */
+    @Test
+    public void testFewerExpansions() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        AStarSearch search = new AStarSearch(grid);
+        int start = 20 + 10 * 60;
+        int goal = 40 + 10 * 60;
+
+        Assert.assertTrue(search.search(start, goal, clearance, new EuclideanHeuristic(60), 3600));
+        int euclidean = search.getExpansions();
+        int length = search.getPath().length;
+        Assert.assertTrue(search.search(start, goal, clearance, new OctileHeuristic(60), 3600));
+        int octile = search.getExpansions();
+        Assert.assertEquals(length, search.getPath().length);
+        Assert.assertTrue(search.search(start, goal, clearance, new LandmarkHeuristic(grid, clearance, 0, 4), 3600));
+        int landmark = search.getExpansions();
+        Assert.assertEquals(length, search.getPath().length);
+
+        Assert.assertTrue(landmark * 3 < octile * 2);
+        Assert.assertTrue(octile <= euclidean);
+    }
+}
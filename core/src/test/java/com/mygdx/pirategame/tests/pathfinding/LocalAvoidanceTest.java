@@ -0,0 +1,117 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.pathfinding.AvoidanceAgent;
+import com.mygdx.pirategame.pathfinding.LocalAvoidance;
+import com.mygdx.pirategame.world.SpatialHash;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Unit tests for the LocalAvoidance class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+@RunWith(PirateGameTest.class)
+public class LocalAvoidanceTest {
+
+    private World world;
+    private SpatialHash<AvoidanceAgent> agents;
+    private LocalAvoidance avoidance;
+
+    /**
+     * Setup an empty world to place the agents in
+     */
+    @Before
+    public void init() {
+        world = new World(new Vector2(0, 0), true);
+        agents = new SpatialHash<>(LocalAvoidance.NEIGHBOUR_RANGE, 16);
+        avoidance = new LocalAvoidance(agents);
+    }
+
+    /**
+     * Creates an agent with a radius of half a unit and adds it to the spatial hash
+     * @param x  The x coord of the agent
+     * @param y  The y coord of the agent
+     * @param vx The x velocity of the agent
+     * @param vy The y velocity of the agent
+     * @return The agent
+     */
+    private AvoidanceAgent createAgent(float x, float y, float vx, float vy) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.position.set(x, y);
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        final Body body = world.createBody(bodyDef);
+        body.setLinearVelocity(vx, vy);
+        AvoidanceAgent agent = new AvoidanceAgent() {
+            @Override
+            public Body getBody() {
+                return body;
+            }
+
+            @Override
+            public float getAvoidanceRadius() {
+                return 0.5f;
+            }
+        };
+        agents.add(agent, x, y);
+        return agent;
+    }
+
+    /**
+     * Ensuring an agent with nothing nearby keeps the velocity it wants
+     */
+    @Test
+    public void testAlone() {
+        AvoidanceAgent agent = createAgent(0, 0, 1, 0);
+        createAgent(LocalAvoidance.NEIGHBOUR_RANGE + 1, 0, -1, 0);
+        agents.build();
+
+        Vector2 velocity = avoidance.avoid(agent, new Vector2(1, 0), 1, 1 / 60f);
+        Assert.assertEquals(1, velocity.x, 0.0001f);
+        Assert.assertEquals(0, velocity.y, 0.0001f);
+    }
+
+    /**
+     * Ensuring agents heading straight at one another turn aside without speeding up
+     */
+    @Test
+    public void testHeadOn() {
+        AvoidanceAgent agent = createAgent(0, 0.01f, 1, 0);
+        AvoidanceAgent other = createAgent(3, 0, -1, 0);
+        agents.build();
+
+        Vector2 velocity = avoidance.avoid(agent, new Vector2(1, 0), 1, 1 / 60f);
+        Vector2 otherVelocity = avoidance.avoid(other, new Vector2(-1, 0), 1, 1 / 60f);
+        Assert.assertTrue(velocity.len() <= 1.0001f);
+        Assert.assertTrue(otherVelocity.len() <= 1.0001f);
+        // passing one another on opposite sides
+        Assert.assertTrue(Math.abs(velocity.y) > 0.1f);
+        Assert.assertTrue(velocity.y * otherVelocity.y < 0);
+        // closest approach within the time horizon is no closer than the radii of the agents combined
+        Vector2 relative = new Vector2(3, -0.01f);
+        Vector2 relativeVelocity = new Vector2(otherVelocity).sub(velocity);
+        float t = Math.max(0, Math.min(LocalAvoidance.TIME_HORIZON, -relative.dot(relativeVelocity) / relativeVelocity.len2()));
+        Assert.assertTrue(relative.mulAdd(relativeVelocity, t).len() >= 0.99f);
+    }
+
+    /**
+     * Ensuring an agent ignores a neighbour that is not in its way
+     */
+    @Test
+    public void testNotInWay() {
+        AvoidanceAgent agent = createAgent(0, 0, 1, 0);
+        createAgent(0, 3, 1, 0);
+        agents.build();
+
+        Vector2 velocity = avoidance.avoid(agent, new Vector2(1, 0), 1, 1 / 60f);
+        Assert.assertEquals(1, velocity.x, 0.0001f);
+        Assert.assertEquals(0, velocity.y, 0.0001f);
+    }
+}
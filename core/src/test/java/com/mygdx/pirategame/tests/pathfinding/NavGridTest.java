@@ -0,0 +1,134 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the NavGrid class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class NavGridTest {
+
+    /**
+     * Creates a 10x10 grid with 64 unit tiles with a single blocked tile at (5, 5)
+     * @return The created grid
+     */
+    private NavGrid createGrid() {
+        boolean[] blocked = new boolean[100];
+        blocked[5 + 5 * 10] = true;
+        return new NavGrid(10, 10, 64, blocked);
+    }
+
+    /**
+     * Ensuring single tiles are read back correctly, including tiles outside of the grid
+     */
+    @Test
+    public void testBlocked() {
+        NavGrid grid = createGrid();
+
+        Assert.assertTrue(grid.isBlocked(5, 5));
+        Assert.assertFalse(grid.isBlocked(4, 5));
+        Assert.assertFalse(grid.isBlocked(-1, 5));
+        Assert.assertFalse(grid.isBlocked(10, 10));
+    }
+
+    /**
+     * Ensuring rectangles of tiles are counted correctly
+     */
+    @Test
+    public void testCountBlocked() {
+        NavGrid grid = createGrid();
+
+        Assert.assertEquals(1, grid.countBlocked(0, 0, 9, 9));
+        Assert.assertEquals(0, grid.countBlocked(0, 0, 4, 9));
+        Assert.assertEquals(1, grid.countBlocked(5, 5, 5, 5));
+        Assert.assertEquals(1, grid.countBlocked(-5, -5, 20, 20));
+    }
+
+    /**
+     * Ensuring the footprint of an object is checked against every tile it covers
+     */
+    @Test
+    public void testTraversable() {
+        NavGrid grid = createGrid();
+
+        // small object within the blocked tile
+        Assert.assertFalse(grid.isTraversable(5 * 64 + 32, 5 * 64 + 32, 1, 1));
+        // small object in the tile next to it
+        Assert.assertTrue(grid.isTraversable(4 * 64 + 32, 5 * 64 + 32, 1, 1));
+        // large object overlapping the blocked tile
+        Assert.assertFalse(grid.isTraversable(4 * 64 + 60, 5 * 64 + 32, 70, 70));
+    }
+
+    /**
+     * Ensuring the clearance class agrees with the footprint check for every tile corner
+     */
+    @Test
+    public void testClearanceClass() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(70, 70);
+
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                Assert.assertEquals(grid.isTraversable(x * 64, y * 64, 70, 70), NavGrid.isSet(clearance, x + y * 10));
+            }
+        }
+        // the clearance class is only built once
+        Assert.assertSame(clearance, grid.getClearanceClass(70, 70));
+    }
+
+    /**
+     * Ensuring the clearance map holds the largest open square at each tile
+     */
+    @Test
+    public void testClearance() {
+        NavGrid grid = createGrid();
+
+        Assert.assertEquals(0, grid.getClearance(5, 5));
+        Assert.assertEquals(1, grid.getClearance(4, 4));
+        Assert.assertEquals(5, grid.getClearance(0, 0));
+        Assert.assertEquals(5, grid.getClearance(0, 5));
+        // squares can run off the top and right of the grid
+        Assert.assertEquals(Short.MAX_VALUE, grid.getClearance(6, 6));
+        Assert.assertEquals(Short.MAX_VALUE, grid.getClearance(-1, 0));
+    }
+
+    /**
+     * Ensuring footprints answered by the clearance map agree with counting the blocked tiles they cover
+     */
+    @Test
+    public void testClearanceMatchesCount() {
+        boolean[] blocked = new boolean[400];
+        Random rnd = new Random(7);
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = rnd.nextInt(6) == 0;
+        }
+        NavGrid grid = new NavGrid(20, 20, 64, blocked);
+
+        float[] sizes = {1, 70, 130, 200};
+        for (int i = 0; i < 2000; i++) {
+            float x = rnd.nextFloat() * 1400 - 40;
+            float y = rnd.nextFloat() * 1400 - 40;
+            float size = sizes[i % sizes.length];
+            // the last sample taken across the footprint sits within 5 units of its edge
+            float last = (float) (Math.ceil(size / 5) - 1) * 5;
+            int x0 = (int) ((x - size / 2) / 64);
+            int y0 = (int) ((y - size / 2) / 64);
+            int x1 = (int) ((x - size / 2 + last) / 64);
+            int y1 = (int) ((y - size / 2 + last) / 64);
+            Assert.assertEquals(grid.countBlocked(x0, y0, x1, y1) == 0, grid.isTraversable(x, y, size, size));
+        }
+    }
+
+    /**
+     * Ensuring a grid cannot be created with the wrong amount of data
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new NavGrid(10, 10, 64, new boolean[5]);
+    }
+}
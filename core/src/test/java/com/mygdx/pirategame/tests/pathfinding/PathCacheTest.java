@@ -0,0 +1,78 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.PathCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the PathCache class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class PathCacheTest {
+
+    private final long[] clearance = new long[1];
+    private final long[] otherClearance = new long[1];
+
+    /**
+     * Ensuring exact and reversed requests are answered and other clearance classes are kept separate
+     */
+    @Test
+    public void testExactAndReverse() {
+        PathCache cache = new PathCache(4);
+        cache.put(clearance, new int[]{1, 2, 3, 4});
+
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4}, cache.get(1, 4, clearance));
+        Assert.assertArrayEquals(new int[]{4, 3, 2, 1}, cache.get(4, 1, clearance));
+        Assert.assertNull(cache.get(1, 4, otherClearance));
+
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(1, cache.getReverseHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Ensuring requests starting part way along a cached path are answered from it, in either direction
+     */
+    @Test
+    public void testSuffixSharing() {
+        PathCache cache = new PathCache(4);
+        cache.put(clearance, new int[]{1, 2, 3, 4, 5});
+
+        Assert.assertArrayEquals(new int[]{3, 4, 5}, cache.get(3, 5, clearance));
+        Assert.assertArrayEquals(new int[]{4, 3, 2, 1}, cache.get(4, 1, clearance));
+        // the cached path does not end at this goal
+        Assert.assertNull(cache.get(2, 4, clearance));
+
+        Assert.assertEquals(2, cache.getSuffixHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Ensuring the least recently used path is evicted once the cache is full
+     */
+    @Test
+    public void testEviction() {
+        PathCache cache = new PathCache(2);
+        cache.put(clearance, new int[]{1, 2});
+        cache.put(clearance, new int[]{3, 4});
+        // using the first path so the second becomes the least recently used
+        Assert.assertNotNull(cache.get(1, 2, clearance));
+        cache.put(clearance, new int[]{5, 6});
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertNotNull(cache.get(1, 2, clearance));
+        Assert.assertNull(cache.get(3, 4, clearance));
+        // the evicted path can no longer be shared either
+        Assert.assertNull(cache.get(4, 4, clearance));
+    }
+
+    /**
+     * Ensuring the cache cannot be created without room for any paths
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new PathCache(0);
+    }
+}
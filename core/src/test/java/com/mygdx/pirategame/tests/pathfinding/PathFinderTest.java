@@ -5,7 +5,10 @@ import com.badlogic.gdx.graphics.GL20;
 import com.mygdx.pirategame.MockClass;
 import com.mygdx.pirategame.PirateGameTest;
 import com.mygdx.pirategame.pathfinding.Checkpoint;
+import com.mygdx.pirategame.pathfinding.DStarLite;
+import com.mygdx.pirategame.pathfinding.LandmarkHeuristic;
 import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.save.GameScreen;
 import com.mygdx.pirategame.tests.FakeGL20;
 import org.junit.Assert;
@@ -111,5 +114,99 @@ public class PathFinderTest {
         Assert.assertFalse(cps == null || cps.isEmpty());
     }
 
+    /**
+     * Ensuring a route across the map planned over the cluster graph is refined into a complete path as it is travelled
+     */
+    @Test
+    public void testHierarchicalPath() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setHierarchical(true);
+
+        List<Checkpoint> cps = pathFinder.getPath(2400, 5600, 5600, 2400, 70, 70);
+        Assert.assertNotNull(cps);
+
+        Checkpoint previous = cps.remove(0);
+        Assert.assertEquals(2400 / 64, previous.getTileX());
+        while (!cps.isEmpty()) {
+            Checkpoint next = cps.remove(0);
+            // every checkpoint should be next to the last one once refined
+            Assert.assertTrue(Math.abs(next.getTileX() - previous.getTileX()) <= 1);
+            Assert.assertTrue(Math.abs(next.getTileY() - previous.getTileY()) <= 1);
+            Assert.assertTrue(pathFinder.isTraversable(next.x, next.y, 70, 70));
+            previous = next;
+        }
+        Assert.assertEquals(5600 / 64, previous.getTileX());
+        Assert.assertEquals(2400 / 64, previous.getTileY());
+    }
+
+    /**
+     * Ensuring every heuristic mode finds a path of the same cost across the map
+     */
+    @Test
+    public void testHeuristicModes() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setPathCache(null);
+
+        double expected = -1;
+        for (PathFinder.HeuristicMode mode : PathFinder.HeuristicMode.values()) {
+            pathFinder.setHeuristicMode(mode);
+            Assert.assertEquals(mode, pathFinder.getHeuristicMode());
+            List<Checkpoint> cps = pathFinder.getPath(2400, 5600, 5600, 2400, 70, 70);
+            Assert.assertNotNull(cps);
+            double cost = 0;
+            for (int i = 1; i < cps.size(); i++) {
+                int dx = Math.abs(cps.get(i).getTileX() - cps.get(i - 1).getTileX());
+                int dy = Math.abs(cps.get(i).getTileY() - cps.get(i - 1).getTileY());
+                cost += dx + dy == 2 ? Math.sqrt(2) : 1;
+            }
+            if (expected == -1) {
+                expected = cost;
+            }
+            Assert.assertEquals(expected, cost, 1e-3);
+        }
+        Assert.assertTrue(pathFinder.getHeuristic(70, 70) instanceof LandmarkHeuristic);
+    }
 
+    /**
+     * Ensuring a path is repaired around an obstacle next to the object and rejoins the rest of the path,
+     * while an obstacle further away than the repair window is left to a new path
+     */
+    @Test
+    public void testRepairPath() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        TilePath path = pathFinder.findPath(2432, 2432, 2304, 1792, 1, 1, false);
+        Assert.assertNotNull(path);
+        int[] before = path.toArray();
+        Assert.assertTrue(before.length > PathFinder.REPAIR_STEPS + 2);
+
+        // an obstacle sitting on the path two tiles ahead of the object
+        int width = path.getGridWidth();
+        int hit = before[2];
+        float obstacleX = (hit % width) * 64;
+        float obstacleY = (hit / width) * 64;
+        DStarLite replanner = pathFinder.createReplanner(1, 1);
+        Assert.assertTrue(pathFinder.repairPath(replanner, path, 2432, 2432, obstacleX, obstacleY, 64, 1, false));
+
+        int[] after = path.toArray();
+        Assert.assertEquals(before[before.length - 1], after[after.length - 1]);
+        int previous = pathFinder.getTile(2432, 2432);
+        for (int tile : after) {
+            Assert.assertFalse(tile == hit);
+            Assert.assertTrue(Math.abs(tile % width - previous % width) <= 1);
+            Assert.assertTrue(Math.abs(tile / width - previous / width) <= 1);
+            previous = tile;
+        }
+        // the tiles after where the repair rejoined the path are left as they were
+        for (int i = 1; i <= before.length - 2 - PathFinder.REPAIR_STEPS - 1; i++) {
+            Assert.assertEquals(before[before.length - i], after[after.length - i]);
+        }
+
+        // an obstacle at the end of a long path is too far from the object to repair around
+        TilePath longPath = pathFinder.findPath(2400, 5600, 5600, 2400, 1, 1, false);
+        Assert.assertNotNull(longPath);
+        int[] longTiles = longPath.toArray();
+        int far = longTiles[longTiles.length - 2];
+        Assert.assertFalse(pathFinder.repairPath(replanner, longPath, 2400, 5600, (far % width) * 64, (far / width) * 64, 64, 1, false));
+        Assert.assertArrayEquals(longTiles, longPath.toArray());
+    }
 }
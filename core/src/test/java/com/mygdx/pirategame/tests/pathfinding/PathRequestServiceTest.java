@@ -0,0 +1,249 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.mygdx.pirategame.MockClass;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.pathfinding.HierarchicalPath;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.ReservationTable;
+import com.mygdx.pirategame.pathfinding.TilePath;
+import com.mygdx.pirategame.save.GameScreen;
+import com.mygdx.pirategame.tests.FakeGL20;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the PathRequestService class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+@RunWith(PirateGameTest.class)
+public class PathRequestServiceTest {
+
+    private static GameScreen mockedGameScreen;
+
+    /**
+     * Setup the test environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+
+        MockClass.mockHudStatic();
+
+        mockedGameScreen = MockClass.mockGameScreen();
+    }
+
+    /**
+     * Records every path handed back to it
+     */
+    private static class RecordingListener implements PathRequestService.Listener {
+        final List<TilePath> paths = new ArrayList<>();
+
+        @Override
+        public void onPathFound(TilePath path) {
+            paths.add(path);
+        }
+    }
+
+    /**
+     * Deliver results until the listener has received a path or the request has been in flight too long
+     */
+    private void waitForPath(PathRequestService service, RecordingListener listener) throws InterruptedException {
+        for (int i = 0; i < 200 && listener.paths.isEmpty(); i++) {
+            Thread.sleep(10);
+            service.deliverResults();
+        }
+    }
+
+    /**
+     * Ensuring paths are only handed back when results are delivered and match the synchronous path finder
+     */
+    @Test
+    public void testPathDelivered() throws InterruptedException {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        PathRequestService service = new PathRequestService(pathFinder, 1);
+        RecordingListener listener = new RecordingListener();
+        Object requester = new Object();
+
+        service.request(requester, 2432, 2432, 2304, 1792, 1, 1, listener);
+        Assert.assertTrue(listener.paths.isEmpty());
+        waitForPath(service, listener);
+
+        Assert.assertEquals(1, listener.paths.size());
+        Assert.assertEquals(pathFinder.getPath(2432, 2432, 2304, 1792, 1, 1).size(), listener.paths.get(0).size());
+        Assert.assertFalse(service.isPending(requester));
+        service.dispose();
+    }
+
+    /**
+     * Ensuring a cancelled request is never handed back, and a new request replaces the old one
+     */
+    @Test
+    public void testCancelled() throws InterruptedException {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        PathRequestService service = new PathRequestService(pathFinder, 1);
+        RecordingListener cancelled = new RecordingListener();
+        RecordingListener replaced = new RecordingListener();
+        RecordingListener latest = new RecordingListener();
+        Object requester = new Object();
+        Object other = new Object();
+
+        service.request(other, 2432, 2432, 2304, 1792, 1, 1, cancelled);
+        service.cancel(other);
+        service.request(requester, 2432, 2432, 2304, 1792, 1, 1, replaced);
+        service.request(requester, 2304, 1792, 2432, 2432, 1, 1, latest);
+        waitForPath(service, latest);
+
+        Assert.assertTrue(cancelled.paths.isEmpty());
+        Assert.assertTrue(replaced.paths.isEmpty());
+        Assert.assertEquals(1, latest.paths.size());
+        Assert.assertEquals(0, service.getPendingCount());
+        service.dispose();
+    }
+
+    /**
+     * Ensuring invalid requests are answered straight away
+     */
+    @Test
+    public void testInvalidStart() {
+        PathRequestService service = new PathRequestService(new PathFinder(mockedGameScreen, 64), 1);
+        RecordingListener listener = new RecordingListener();
+
+        service.request(new Object(), 0, 0, 64, 64, 1, 1, listener);
+
+        Assert.assertEquals(1, listener.paths.size());
+        Assert.assertNull(listener.paths.get(0));
+        service.dispose();
+    }
+
+    /**
+     * Ensuring cooperative requests are searched on the game thread within updates rather than on the workers, and
+     * reserve their tiles so the requests behind them plan around them
+     */
+    @Test
+    public void testCooperative() throws InterruptedException {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        ReservationTable reservations = new ReservationTable(pathFinder.getNavGrid(), 0.4f);
+        pathFinder.setReservationTable(reservations);
+        PathRequestService service = new PathRequestService(pathFinder, 1);
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        Object leader = new Object();
+        Object oncoming = new Object();
+
+        service.requestCooperative(leader, 2432, 2432, 2304, 1792, 1, 1, first);
+        // heading the other way along the same water
+        service.requestCooperative(oncoming, 2304, 1792, 2432, 2432, 1, 1, second);
+        // the workers never pick up cooperative requests
+        Thread.sleep(50);
+        service.deliverResults();
+        Assert.assertTrue(first.paths.isEmpty());
+        Assert.assertEquals(2, service.getPendingCount());
+
+        for (int i = 0; i < 2000 && second.paths.isEmpty(); i++) {
+            service.update();
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(1, first.paths.size());
+        Assert.assertEquals(1, second.paths.size());
+        Assert.assertNotNull(first.paths.get(0));
+        Assert.assertNotNull(second.paths.get(0));
+        Assert.assertTrue(reservations.getReservedCount(leader) > 0);
+        Assert.assertTrue(reservations.getReservedCount(oncoming) > 0);
+        // every tile along its path was free to reserve, none are held by the leader
+        Assert.assertTrue(reservations.getReservedCount(oncoming) >= second.paths.get(0).size());
+
+        // a new request drops the tiles reserved by the path being left
+        service.requestCooperative(leader, 2304, 1792, 2432, 2432, 1, 1, first);
+        Assert.assertEquals(0, reservations.getReservedCount(leader));
+        service.dispose();
+    }
+
+    /**
+     * Ensuring a long route is planned over the cluster graph by the service, on a worker or within a single slice,
+     * and refined into a complete path as it is travelled
+     */
+    @Test
+    public void testHierarchical() throws InterruptedException {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setHierarchical(true);
+        pathFinder.setPathCache(null);
+        PathRequestService workers = new PathRequestService(pathFinder, 1);
+        PathRequestService sliced = new PathRequestService(pathFinder, 0);
+        sliced.setFrameBudget(0);
+        RecordingListener fromWorker = new RecordingListener();
+        RecordingListener fromSlice = new RecordingListener();
+
+        workers.request(new Object(), 2400, 5600, 5600, 2400, 70, 70, fromWorker);
+        waitForPath(workers, fromWorker);
+        // the coarse route takes a single slice rather than the many a search across the map would
+        sliced.request(new Object(), 2400, 5600, 5600, 2400, 70, 70, fromSlice);
+        sliced.update();
+
+        Assert.assertEquals(1, fromWorker.paths.size());
+        Assert.assertEquals(1, fromSlice.paths.size());
+        for (TilePath path : new TilePath[]{fromWorker.paths.get(0), fromSlice.paths.get(0)}) {
+            Assert.assertTrue(path instanceof HierarchicalPath);
+            Assert.assertTrue(((HierarchicalPath) path).getUnrefinedLegs() > 0);
+            int previous = path.getTile(0);
+            path.advance();
+            while (!path.isEmpty()) {
+                int next = path.getTile(0);
+                // every tile should be next to the last one once refined
+                Assert.assertTrue(Math.abs(next % 128 - previous % 128) <= 1);
+                Assert.assertTrue(Math.abs(next / 128 - previous / 128) <= 1);
+                previous = next;
+                path.advance();
+            }
+            Assert.assertEquals(5600 / 64, previous % 128);
+            Assert.assertEquals(2400 / 64, previous / 128);
+        }
+        workers.dispose();
+        sliced.dispose();
+    }
+
+    /**
+     * Ensuring searches without worker threads are spread across updates and still match the synchronous path finder
+     */
+    @Test
+    public void testTimeSliced() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setPathCache(null);
+        PathRequestService service = new PathRequestService(pathFinder, 0);
+        service.setFrameBudget(0);
+        RecordingListener listener = new RecordingListener();
+        RecordingListener cancelled = new RecordingListener();
+        Object requester = new Object();
+        Object other = new Object();
+
+        Assert.assertTrue(service.isTimeSliced());
+        service.request(other, 1792, 3456, 6656, 1024, 70, 70, cancelled);
+        service.request(requester, 1792, 3456, 6656, 1024, 70, 70, listener);
+        service.update();
+        service.cancel(other);
+        // with no budget a single slice is searched each update, the route winds between islands so takes many slices
+        int updates = 1;
+        while (listener.paths.isEmpty() && updates < 10000) {
+            service.update();
+            updates++;
+        }
+
+        Assert.assertTrue(updates > 10);
+        Assert.assertTrue(cancelled.paths.isEmpty());
+        Assert.assertEquals(1, listener.paths.size());
+        Assert.assertEquals(pathFinder.getPath(1792, 3456, 6656, 1024, 70, 70).size(), listener.paths.get(0).size());
+        Assert.assertEquals(0, service.getPendingCount());
+        service.dispose();
+    }
+}
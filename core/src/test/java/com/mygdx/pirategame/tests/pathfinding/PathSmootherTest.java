@@ -0,0 +1,61 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.PathSmoother;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the PathSmoother class and NavGrid line of sight
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class PathSmootherTest {
+
+    /**
+     * Ensuring line of sight is blocked by the wall and open elsewhere
+     */
+    @Test
+    public void testLineOfSight() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        long[] clearance = GridFixtures.openTiles(grid);
+
+        Assert.assertTrue(grid.hasLineOfSight(clearance, 0, 4 + 8 * 10));
+        Assert.assertTrue(grid.hasLineOfSight(clearance, 0 + 9 * 10, 9 + 9 * 10));
+        Assert.assertFalse(grid.hasLineOfSight(clearance, 0, 9));
+        // the line passes between (4, 8) and (5, 8) on its way to the gap
+        Assert.assertFalse(grid.hasLineOfSight(clearance, 3 + 7 * 10, 6 + 9 * 10));
+    }
+
+    /**
+     * Ensuring a path around the wall is cut down to its corners and every corner can see the next
+     */
+    @Test
+    public void testSmoothAroundWall() {
+        NavGrid grid = GridFixtures.createWalledGrid();
+        long[] clearance = GridFixtures.openTiles(grid);
+        AStarSearch search = new AStarSearch(grid);
+        Assert.assertTrue(search.search(0, 9, clearance, 100));
+        int[] tiles = search.getPath();
+
+        int[] corners = PathSmoother.smooth(grid, clearance, tiles);
+        Assert.assertTrue(corners.length < tiles.length);
+        Assert.assertTrue(corners.length >= 3);
+        Assert.assertEquals(tiles[0], corners[0]);
+        Assert.assertEquals(tiles[tiles.length - 1], corners[corners.length - 1]);
+        for (int i = 1; i < corners.length; i++) {
+            Assert.assertTrue(grid.hasLineOfSight(clearance, corners[i - 1], corners[i]));
+        }
+    }
+
+    /**
+     * Ensuring a path across open water is cut down to its start and end
+     */
+    @Test
+    public void testSmoothOpen() {
+        NavGrid grid = new NavGrid(10, 10, 64, new boolean[100]);
+        int[] tiles = {0, 11, 12, 13, 23};
+        Assert.assertArrayEquals(new int[]{0, 23}, PathSmoother.smooth(grid, GridFixtures.openTiles(grid), tiles));
+    }
+}
@@ -0,0 +1,162 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.mygdx.pirategame.MockClass;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PathRequestService;
+import com.mygdx.pirategame.pathfinding.PathTelemetry;
+import com.mygdx.pirategame.pathfinding.TilePath;
+import com.mygdx.pirategame.pathfinding.pathManager.PathManager;
+import com.mygdx.pirategame.pathfinding.pathManager.RandomPath;
+import com.mygdx.pirategame.save.GameScreen;
+import com.mygdx.pirategame.tests.FakeGL20;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.io.StringWriter;
+
+/**
+ * Unit tests for the PathTelemetry class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+@RunWith(PirateGameTest.class)
+public class PathTelemetryTest {
+
+    private static GameScreen mockedGameScreen;
+
+    /**
+     * Setup the test environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+
+        MockClass.mockHudStatic();
+
+        mockedGameScreen = MockClass.mockGameScreen();
+    }
+
+    /**
+     * A requester pathing with a mocked RandomPath
+     */
+    private static class Requester implements PathTelemetry.Requester {
+        private final PathManager pathManager = Mockito.mock(RandomPath.class);
+
+        @Override
+        public PathManager getPathManager() {
+            return pathManager;
+        }
+    }
+
+    /**
+     * Ensuring values fall into buckets doubling in size and percentiles come from the bucket bounds
+     */
+    @Test
+    public void testHistogram() {
+        PathTelemetry.Histogram histogram = new PathTelemetry.Histogram();
+        Assert.assertEquals(0, PathTelemetry.Histogram.getBucket(0));
+        Assert.assertEquals(1, PathTelemetry.Histogram.getBucket(1));
+        Assert.assertEquals(3, PathTelemetry.Histogram.getBucket(7));
+        Assert.assertEquals(4, PathTelemetry.Histogram.getBucket(8));
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.add(i);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(100, histogram.getMax());
+        Assert.assertEquals(50.5, histogram.getMean(), 0.001);
+        // the 50th value falls in the bucket holding 32 to 63
+        Assert.assertEquals(63, histogram.getPercentile(0.5f));
+        Assert.assertEquals(100, histogram.getPercentile(1));
+    }
+
+    /**
+     * Ensuring requests are grouped by the type of requester and the type of its path manager
+     */
+    @Test
+    public void testGrouping() {
+        PathTelemetry telemetry = new PathTelemetry();
+        Requester requester = new Requester();
+        telemetry.record(requester, 10, 5000, PathTelemetry.Result.FOUND);
+        telemetry.record(requester, 20, 7000, PathTelemetry.Result.CAP_HIT);
+        telemetry.record(null, 0, 0, PathTelemetry.Result.INVALID_END);
+
+        PathTelemetry.Stats stats = telemetry.getStats(Requester.class, requester.getPathManager().getClass());
+        Assert.assertEquals(2, stats.getCount());
+        Assert.assertEquals(1, stats.getCount(PathTelemetry.Result.FOUND));
+        Assert.assertEquals(1, stats.getCount(PathTelemetry.Result.CAP_HIT));
+        Assert.assertEquals(20, stats.getExpansions().getMax());
+        Assert.assertEquals(7, stats.getTime().getMax());
+        Assert.assertEquals(1, telemetry.getStats(null, null).getCount(PathTelemetry.Result.INVALID_END));
+        Assert.assertEquals(3, telemetry.getTotal().getCount());
+        Assert.assertEquals(2, telemetry.getAllStats().size());
+
+        StringWriter dump = new StringWriter();
+        telemetry.dump(dump);
+        Assert.assertTrue(dump.toString().startsWith("total: 3 requests"));
+        Assert.assertTrue(dump.toString().contains("Requester / "));
+
+        telemetry.clear();
+        Assert.assertEquals(0, telemetry.getTotal().getCount());
+        Assert.assertTrue(telemetry.getAllStats().isEmpty());
+    }
+
+    /**
+     * Ensuring the path finder records the outcome and cost of each request
+     */
+    @Test
+    public void testPathFinderRecords() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setPathCache(null);
+        PathTelemetry telemetry = new PathTelemetry();
+        pathFinder.setTelemetry(telemetry);
+        Object requester = new Object();
+
+        Assert.assertNotNull(pathFinder.findPath(requester, 2432, 2432, 2304, 1792, 1, 1, false));
+        Assert.assertNull(pathFinder.findPath(requester, 0, 0, 2304, 1792, 1, 1, false));
+        Assert.assertNull(pathFinder.findPath(requester, 2432, 2432, 0, 0, 1, 1, false));
+
+        PathTelemetry.Stats stats = telemetry.getStats(Object.class, null);
+        Assert.assertEquals(3, stats.getCount());
+        Assert.assertEquals(1, stats.getCount(PathTelemetry.Result.FOUND));
+        Assert.assertEquals(1, stats.getCount(PathTelemetry.Result.INVALID_START));
+        Assert.assertEquals(1, stats.getCount(PathTelemetry.Result.INVALID_END));
+        Assert.assertTrue(stats.getExpansions().getMax() > 0);
+    }
+
+    /**
+     * Ensuring requests searched by the path request service are recorded when they are handed back
+     */
+    @Test
+    public void testServiceRecords() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        pathFinder.setPathCache(null);
+        PathTelemetry telemetry = new PathTelemetry();
+        pathFinder.setTelemetry(telemetry);
+        PathRequestService service = new PathRequestService(pathFinder, 0);
+        PathRequestService.Listener listener = new PathRequestService.Listener() {
+            @Override
+            public void onPathFound(TilePath path) {
+            }
+        };
+
+        service.request(new Object(), 2432, 2432, 2304, 1792, 1, 1, listener);
+        service.request(new Object(), 0, 0, 2304, 1792, 1, 1, listener);
+        Assert.assertEquals(1, telemetry.getTotal().getCount(PathTelemetry.Result.INVALID_START));
+        while (service.getPendingCount() > 0) {
+            service.update();
+        }
+
+        Assert.assertEquals(1, telemetry.getTotal().getCount(PathTelemetry.Result.FOUND));
+        Assert.assertTrue(telemetry.getTotal().getExpansions().getMax() > 0);
+        service.dispose();
+    }
+}
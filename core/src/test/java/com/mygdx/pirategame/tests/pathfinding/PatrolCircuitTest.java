@@ -0,0 +1,94 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.mygdx.pirategame.MockClass;
+import com.mygdx.pirategame.PirateGame;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.gameobjects.enemy.CollegeMetadata;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.TilePath;
+import com.mygdx.pirategame.save.GameScreen;
+import com.mygdx.pirategame.tests.FakeGL20;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the PatrolCircuit class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+@RunWith(PirateGameTest.class)
+public class PatrolCircuitTest {
+
+    private static GameScreen mockedGameScreen;
+
+    /**
+     * Setup the test environment
+     */
+    @BeforeClass
+    public static void init() {
+        // Use Mockito to mock the OpenGL methods since we are running headlessly
+        Gdx.gl20 = Mockito.mock(GL20.class);
+        Gdx.gl = new FakeGL20();
+
+        MockClass.mockHudStatic();
+
+        mockedGameScreen = MockClass.mockGameScreen();
+    }
+
+    /**
+     * Ensuring the circuit around each college is a closed loop every step of which a ship can travel
+     */
+    @Test
+    public void testClosedLoop() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        NavGrid grid = pathFinder.getNavGrid();
+        long[] clearance = grid.getClearanceClass(70, 70);
+        for (CollegeMetadata college : CollegeMetadata.values()) {
+            PatrolCircuit circuit = pathFinder.createPatrolCircuit(70, 70, college.getX() * PirateGame.PPM,
+                    college.getY() * PirateGame.PPM, 1000, 8, new Random(1));
+            Assert.assertNotNull(circuit);
+            Assert.assertTrue(circuit.size() > 8);
+            for (int i = 0; i < circuit.size(); i++) {
+                int tile = circuit.getTile(i);
+                int next = circuit.getTile(i + 1);
+                Assert.assertTrue(NavGrid.isSet(clearance, tile));
+                // the last tile neighbours the first
+                Assert.assertTrue(Math.abs(tile % grid.getWidth() - next % grid.getWidth()) <= 1);
+                Assert.assertTrue(Math.abs(tile / grid.getWidth() - next / grid.getWidth()) <= 1);
+                Assert.assertEquals(pathFinder.getWaterRegions(70, 70).getRegion(tile), circuit.getRegion());
+            }
+        }
+    }
+
+    /**
+     * Ensuring a lap sets off from and returns to its offset, and laps from the same offset share their tiles
+     */
+    @Test
+    public void testLap() {
+        PathFinder pathFinder = new PathFinder(mockedGameScreen, 64);
+        PatrolCircuit circuit = pathFinder.createPatrolCircuit(70, 70, CollegeMetadata.ALCUIN.getX() * PirateGame.PPM,
+                CollegeMetadata.ALCUIN.getY() * PirateGame.PPM, 1000, 8, new Random(1));
+        int offset = circuit.getOffset(1, 3);
+
+        TilePath lap = circuit.getLap(offset);
+        Assert.assertEquals(circuit.size() + 1, lap.size());
+        Assert.assertEquals(circuit.getTile(offset), lap.getTile(0));
+        Assert.assertEquals(circuit.getTile(offset), lap.getGoalTile());
+        Assert.assertEquals(circuit.getX(offset), lap.getX(), 0);
+        Assert.assertEquals(circuit.getTile(offset + 1), lap.getTile(1));
+
+        // travelling one lap leaves the next lap from the same offset untouched
+        lap.advance();
+        Assert.assertEquals(circuit.size() + 1, circuit.getLap(offset).size());
+        Assert.assertEquals(circuit.size() * 2 / 3, circuit.getOffset(2, 3));
+    }
+}
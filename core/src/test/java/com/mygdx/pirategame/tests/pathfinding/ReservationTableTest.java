@@ -0,0 +1,119 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.CooperativeSearch;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.OctileHeuristic;
+import com.mygdx.pirategame.pathfinding.ReservationTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ReservationTable and CooperativeSearch classes
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class ReservationTableTest {
+
+    /**
+     * Creates an open 20x20 grid with a clearance class covering every tile
+     * @return The created grid
+     */
+    private NavGrid createOpenGrid() {
+        return new NavGrid(20, 20, 64, new boolean[400]);
+    }
+
+    /**
+     * Ensuring reservations block nearby tiles around the step they were made for, but never block their owner
+     */
+    @Test
+    public void testReserve() {
+        ReservationTable table = new ReservationTable(createOpenGrid(), 0.5f);
+        Object owner = new Object();
+        Object other = new Object();
+        // a straight path along y = 5 reaching x = i at step i
+        table.reserve(owner, new int[]{100, 101, 102, 103, 104});
+
+        Assert.assertTrue(table.isReserved(102, 2, 1, other));
+        Assert.assertTrue(table.isReserved(123, 3, 1, other));
+        // within the slack either side of the step
+        Assert.assertTrue(table.isReserved(102, 3, 1, other));
+        Assert.assertFalse(table.isReserved(102, 2, 1, owner));
+        Assert.assertFalse(table.isReserved(102, 8, 1, other));
+        Assert.assertFalse(table.isReserved(142, 2, 1, other));
+
+        // reserving again replaces the old reservations
+        table.reserve(owner, new int[]{300, 301});
+        Assert.assertFalse(table.isReserved(102, 2, 1, other));
+        table.release(owner);
+        Assert.assertFalse(table.isReserved(300, 0, 1, other));
+        Assert.assertEquals(0, table.getReservedCount(owner));
+    }
+
+    /**
+     * Ensuring reservations are dropped as time passes
+     */
+    @Test
+    public void testExpiry() {
+        ReservationTable table = new ReservationTable(createOpenGrid(), 0.5f);
+        Object owner = new Object();
+        Object other = new Object();
+        table.reserve(owner, new int[]{100, 101, 102, 103, 104});
+
+        table.update(1.2f);
+        Assert.assertEquals(2, table.getStep());
+        // the steps that have passed can no longer be reserved
+        Assert.assertFalse(table.isReserved(100, 0, 0, other));
+        Assert.assertTrue(table.isReserved(103, 3, 0, other));
+
+        // the slot of a passed step is reused for a step entering the window
+        table.update(ReservationTable.WINDOW * 0.5f);
+        Assert.assertFalse(table.isReserved(104, table.getStep(), 0, other));
+        Assert.assertFalse(table.isReserved(104, ReservationTable.WINDOW + 4, 0, other));
+    }
+
+    /**
+     * Ensuring a second object crossing the path of the first is routed so it never comes close to the first
+     */
+    @Test
+    public void testRoutedAround() {
+        NavGrid grid = createOpenGrid();
+        long[] clearance = GridFixtures.openTiles(grid);
+        ReservationTable table = new ReservationTable(grid, 0.5f);
+        Object first = new Object();
+        Object second = new Object();
+        // the first object crosses the grid along y = 10
+        int[] firstPath = new int[20];
+        for (int x = 0; x < 20; x++) {
+            firstPath[x] = x + 10 * 20;
+        }
+        table.reserve(first, firstPath);
+
+        // alone, the second object would cross the first at (10, 10) at the same step
+        AStarSearch plain = new AStarSearch(grid);
+        Assert.assertTrue(plain.search(10, 10 + 19 * 20, clearance, new OctileHeuristic(20), 400));
+        Assert.assertTrue(crosses(table, plain.getPath(), second));
+
+        CooperativeSearch search = new CooperativeSearch(grid);
+        search.setReservations(table, second, 1);
+        Assert.assertTrue(search.search(10, 10 + 19 * 20, clearance, new OctileHeuristic(20), 400));
+        int[] path = search.getPath();
+        Assert.assertEquals(10 + 19 * 20, path[path.length - 1]);
+        Assert.assertFalse(crosses(table, path, second));
+    }
+
+    /**
+     * @return If any tile of the path comes close to a reservation of another object when it is reached
+     */
+    private boolean crosses(ReservationTable table, int[] path, Object owner) {
+        float cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            boolean diagonal = path[i] % 20 != path[i - 1] % 20 && path[i] / 20 != path[i - 1] / 20;
+            cost += diagonal ? (float) Math.sqrt(2) : 1;
+            if (table.isReserved(path[i], Math.round(cost), 1, owner)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.Checkpoint;
+import com.mygdx.pirategame.pathfinding.TilePath;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for the TilePath class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class TilePathTest {
+
+    /**
+     * Ensuring the locations of the tiles are the corners of the tiles, and moving on only moves the cursor
+     */
+    @Test
+    public void testAdvance() {
+        int[] tiles = {3 + 4 * 10, 4 + 5 * 10, 5 + 5 * 10};
+        TilePath path = new TilePath(tiles, 10, 64);
+
+        Assert.assertEquals(3, path.size());
+        Assert.assertEquals(3 * 64, path.getX(), 0);
+        Assert.assertEquals(4 * 64, path.getY(), 0);
+        Assert.assertEquals(5 * 64, path.getX(2), 0);
+        Assert.assertEquals(5 + 5 * 10, path.getGoalTile());
+
+        path.advance();
+        Assert.assertEquals(2, path.size());
+        Assert.assertEquals(4 + 5 * 10, path.getTile(0));
+        Assert.assertEquals(4 * 64, path.getX(), 0);
+        Assert.assertEquals(5 * 64, path.getY(), 0);
+        path.advance();
+        path.advance();
+        Assert.assertTrue(path.isEmpty());
+        // the tiles may be shared with the path cache so are never changed
+        Assert.assertArrayEquals(new int[]{3 + 4 * 10, 4 + 5 * 10, 5 + 5 * 10}, tiles);
+    }
+
+    /**
+     * Ensuring moving past the end of the path is an error
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAdvancePastEnd() {
+        TilePath.EMPTY.advance();
+    }
+
+    /**
+     * Ensuring the checkpoint view matches the path, and removing its first checkpoint moves the path on
+     */
+    @Test
+    public void testCheckpointView() {
+        TilePath path = new TilePath(new int[]{1, 12, 23}, 10, 64);
+        List<Checkpoint> checkpoints = path.asCheckpoints();
+
+        Assert.assertEquals(3, checkpoints.size());
+        Assert.assertEquals(new Checkpoint(64, 0, 64), checkpoints.get(0));
+        Assert.assertEquals(new Checkpoint(2 * 64, 64, 64), checkpoints.get(1));
+
+        Assert.assertEquals(new Checkpoint(64, 0, 64), checkpoints.remove(0));
+        Assert.assertEquals(2, path.size());
+        Assert.assertTrue(checkpoints.remove(new Checkpoint(2 * 64, 64, 64)));
+        Assert.assertEquals(23, path.getTile(0));
+        Assert.assertEquals(1, checkpoints.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.mygdx.pirategame.tests.pathfinding;
+
+import com.mygdx.pirategame.pathfinding.AStarSearch;
+import com.mygdx.pirategame.pathfinding.NavGrid;
+import com.mygdx.pirategame.pathfinding.WaterRegions;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the WaterRegions class
+ * @author Dan Wade
+ * TEST ID: UT_34
+ */
+public class WaterRegionsTest {
+
+    /**
+     * Creates a 40x40 grid with a ring of blocked tiles from 20 to 30 enclosing a lake
+     * @return The created grid
+     */
+    static NavGrid createGrid() {
+        boolean[] blocked = new boolean[1600];
+        for (int i = 20; i <= 30; i++) {
+            blocked[i + 20 * 40] = true;
+            blocked[i + 30 * 40] = true;
+            blocked[20 + i * 40] = true;
+            blocked[30 + i * 40] = true;
+        }
+        return new NavGrid(40, 40, 64, blocked);
+    }
+
+    /**
+     * Ensuring the lake and the water around it are labelled as separate regions
+     */
+    @Test
+    public void testRegions() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        WaterRegions regions = new WaterRegions(grid, clearance);
+
+        Assert.assertEquals(2, regions.getRegionCount());
+        int outside = regions.getRegion(5 + 5 * 40);
+        int lake = regions.getRegion(25 + 25 * 40);
+        Assert.assertNotEquals(WaterRegions.NO_REGION, outside);
+        Assert.assertNotEquals(WaterRegions.NO_REGION, lake);
+        Assert.assertNotEquals(outside, lake);
+        Assert.assertEquals(outside, regions.getRegion(35 + 35 * 40));
+        // the corners from 22 to 30 are clear of the ring
+        Assert.assertEquals(9 * 9, regions.getRegionSize(lake));
+        Assert.assertEquals(WaterRegions.NO_REGION, regions.getRegion(21 + 25 * 40));
+        for (int tile = 0; tile < 1600; tile++) {
+            Assert.assertEquals(NavGrid.isSet(clearance, tile), regions.getRegion(tile) != WaterRegions.NO_REGION);
+        }
+    }
+
+    /**
+     * Ensuring requests into the lake from outside are rejected and counted, while the search agrees they cannot be answered
+     */
+    @Test
+    public void testReachable() {
+        NavGrid grid = createGrid();
+        long[] clearance = grid.getClearanceClass(1, 1);
+        WaterRegions regions = new WaterRegions(grid, clearance);
+
+        Assert.assertTrue(regions.isReachable(5 + 5 * 40, 35 + 35 * 40));
+        Assert.assertTrue(regions.isReachable(22 + 22 * 40, 29 + 29 * 40));
+        Assert.assertEquals(0, regions.getRejectedCount());
+
+        Assert.assertFalse(regions.isReachable(5 + 5 * 40, 25 + 25 * 40));
+        Assert.assertFalse(regions.isReachable(25 + 25 * 40, 5 + 5 * 40));
+        Assert.assertEquals(2, regions.getRejectedCount());
+        Assert.assertFalse(new AStarSearch(grid).search(5 + 5 * 40, 25 + 25 * 40, clearance, 1600));
+
+        // a search can start on a corner in the ring, as it steps straight into the water either side
+        Assert.assertNotEquals(WaterRegions.NO_REGION, regions.getStartRegion(21 + 25 * 40));
+        Assert.assertTrue(regions.isReachable(21 + 25 * 40, 25 + 25 * 40));
+        Assert.assertTrue(regions.isReachable(21 + 25 * 40, 5 + 5 * 40));
+        Assert.assertFalse(regions.isReachable(25 + 25 * 40, 21 + 25 * 40));
+        Assert.assertEquals(3, regions.getRejectedCount());
+    }
+}
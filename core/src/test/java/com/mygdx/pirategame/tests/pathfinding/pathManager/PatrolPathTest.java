@@ -15,10 +15,14 @@ import com.mygdx.pirategame.PirateGameTest;
 import com.mygdx.pirategame.gameobjects.enemy.CollegeMetadata;
 import com.mygdx.pirategame.gameobjects.enemy.EnemyShip;
 import com.mygdx.pirategame.pathfinding.PathFinder;
+import com.mygdx.pirategame.pathfinding.PatrolCircuit;
+import com.mygdx.pirategame.pathfinding.TilePath;
 import com.mygdx.pirategame.pathfinding.pathManager.PatrolPath;
 import com.mygdx.pirategame.save.GameScreen;
 import com.mygdx.pirategame.tests.FakeGL20;
 
+import java.util.Random;
+
 /**
  * testing the patrolPath class
  * @author James McNair
@@ -71,6 +75,34 @@ public class PatrolPathTest {
         new PatrolPath(ship, mockedGameScreen);
     }
 
+    /**
+     * Ensuring a ship with a patrol circuit heads to where it joins the circuit and then travels laps of it
+     */
+    @Test
+    public void testFollowCircuit() {
+        String college = CollegeMetadata.ALCUIN.getFilePath();
+        String shipPath = "college/Ships/" + college + "_ship.png";
+        EnemyShip ship = new EnemyShip(mockedGameScreen, 13 * 64 / PirateGame.PPM, 11 * 64 / PirateGame.PPM, shipPath,
+                CollegeMetadata.ALCUIN);
+        PatrolPath path = new PatrolPath(ship, mockedGameScreen);
+        PathFinder pathFinder = mockedGameScreen.getPathFinder();
+        PatrolCircuit circuit = pathFinder.createPatrolCircuit(70, 70, CollegeMetadata.ALCUIN.getX() * PirateGame.PPM,
+                CollegeMetadata.ALCUIN.getY() * PirateGame.PPM, 1000, 8, new Random(1));
+        int offset = circuit.getOffset(1, 2);
+        path.setCircuit(circuit, offset);
+
+        Vector2 dest = path.generateDestination();
+        Assert.assertEquals(circuit.getX(offset), dest.x, 0);
+        Assert.assertEquals(circuit.getY(offset), dest.y, 0);
+        // the ship is away from the circuit so has to path to it first
+        Assert.assertNull(path.followCircuit(0, 0));
+
+        TilePath lap = path.followCircuit(dest.x + 32, dest.y + 32);
+        Assert.assertNotNull(lap);
+        Assert.assertEquals(circuit.getTile(offset), lap.getTile(0));
+        Assert.assertEquals(circuit.getTile(offset), lap.getGoalTile());
+    }
+
     /**
      * Ensuring the random path generates a random destination
      */
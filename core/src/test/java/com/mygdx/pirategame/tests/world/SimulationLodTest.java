@@ -0,0 +1,129 @@
+package com.mygdx.pirategame.tests.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
+import com.mygdx.pirategame.PirateGameTest;
+import com.mygdx.pirategame.world.SimulationLod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Unit tests for the SimulationLod class
+ * @author Dan Wade
+ * TEST ID: UT_50
+ */
+@RunWith(PirateGameTest.class)
+public class SimulationLodTest {
+
+    private World world;
+    private SimulationLod lod;
+
+    /**
+     * Setup a world to create bodies in and a scheduler ticking the mid band 10 times a second and the far band once
+     */
+    @Before
+    public void init() {
+        world = new World(new Vector2(0, 0), true);
+        lod = new SimulationLod(10, 20, 10, 1);
+        lod.setCentre(0, 0);
+    }
+
+    /**
+     * Dispose of the world and the bodies in it
+     */
+    @After
+    public void dispose() {
+        world.dispose();
+    }
+
+    /**
+     * @param x The x coord of the body
+     * @param y The y coord of the body
+     * @return A body at the position given
+     */
+    private Body createBody(float x, float y) {
+        BodyDef bDef = new BodyDef();
+        bDef.position.set(x, y);
+        bDef.type = BodyDef.BodyType.DynamicBody;
+        return world.createBody(bDef);
+    }
+
+    /**
+     * Ensuring entities are put in the band matching their distance from the centre
+     */
+    @Test
+    public void testBands() {
+        Assert.assertEquals(SimulationLod.Band.NEAR, lod.getBand(3, -4));
+        Assert.assertEquals(SimulationLod.Band.MID, lod.getBand(0, 15));
+        Assert.assertEquals(SimulationLod.Band.FAR, lod.getBand(-30, 0));
+
+        lod.setCentre(-30, 0);
+        Assert.assertEquals(SimulationLod.Band.NEAR, lod.getBand(-30, 0));
+    }
+
+    /**
+     * Ensuring near entities tick every frame and mid entities tick less often with the time since they last ticked
+     */
+    @Test
+    public void testTickRates() {
+        Object near = new Object();
+        Body nearBody = createBody(5, 0);
+        Assert.assertEquals(0.06f, lod.schedule(near, nearBody, 0.06f), 0.0001f);
+        Assert.assertEquals(0.06f, lod.schedule(near, nearBody, 0.06f), 0.0001f);
+
+        Object mid = new Object();
+        Body midBody = createBody(15, 0);
+        Assert.assertEquals(0, lod.schedule(mid, midBody, 0.06f), 0);
+        Assert.assertEquals(0.12f, lod.schedule(mid, midBody, 0.06f), 0.0001f);
+        Assert.assertEquals(0, lod.schedule(mid, midBody, 0.06f), 0);
+        Assert.assertTrue(midBody.isAwake());
+
+        // coming into the near band it ticks straight away, with the time it had waited
+        midBody.setTransform(1, 0, 0);
+        Assert.assertEquals(0.12f, lod.schedule(mid, midBody, 0.06f), 0.0001f);
+        Assert.assertEquals(0.06f, lod.schedule(mid, midBody, 0.06f), 0.0001f);
+    }
+
+    /**
+     * Ensuring far entities have their bodies put to sleep and still tick once a second
+     */
+    @Test
+    public void testFar() {
+        Object far = new Object();
+        Body farBody = createBody(0, 50);
+        farBody.setLinearVelocity(1, 1);
+        Assert.assertEquals(0, lod.schedule(far, farBody, 0.6f), 0);
+        Assert.assertFalse(farBody.isAwake());
+        Assert.assertEquals(0, farBody.getLinearVelocity().len(), 0);
+        Assert.assertEquals(1.2f, lod.schedule(far, farBody, 0.6f), 0.0001f);
+
+        // a destroyed entity no longer has time waiting
+        Assert.assertEquals(0, lod.schedule(far, farBody, 0.6f), 0);
+        lod.forget(far);
+        Assert.assertEquals(0, lod.schedule(far, farBody, 0.6f), 0);
+    }
+
+    /**
+     * Ensuring bands out of order or tick rates that are not positive are rejected
+     */
+    @Test
+    public void testInvalidBands() {
+        try {
+            new SimulationLod(20, 10, 10, 1);
+            Assert.fail("The mid band ended before the near band");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new SimulationLod(10, 20, 0, 1);
+            Assert.fail("The mid band never ticked");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.mygdx.pirategame.tests.world;
+
+import com.mygdx.pirategame.world.SpatialHash;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the SpatialHash class
+ * @author Dan Wade
+ * TEST ID: UT_49
+ */
+public class SpatialHashTest {
+
+    /**
+     * Ensuring a radius query finds exactly the objects within the radius, including across cells
+     */
+    @Test
+    public void testQueryRadius() {
+        SpatialHash<String> hash = new SpatialHash<>(2, 16);
+        hash.add("origin", 0, 0);
+        hash.add("near", 1.5f, 1.5f);
+        hash.add("edge", -3, 0);
+        hash.add("far", 10, 10);
+        hash.build();
+
+        List<String> found = new ArrayList<>();
+        Assert.assertEquals(3, hash.queryRadius(0, 0, 3, found));
+        Assert.assertTrue(found.contains("origin"));
+        Assert.assertTrue(found.contains("near"));
+        Assert.assertTrue(found.contains("edge"));
+
+        found.clear();
+        Assert.assertEquals(1, hash.queryRadius(9, 9, 2, found));
+        Assert.assertEquals("far", found.get(0));
+    }
+
+    /**
+     * Ensuring a rectangle query finds exactly the objects within the rectangle, and type filters skip other objects
+     */
+    @Test
+    public void testQueryRect() {
+        SpatialHash<Object> hash = new SpatialHash<>(2, 16);
+        hash.add("inside", 1, 1);
+        hash.add(7, 4.5f, -0.5f);
+        hash.add("outside", 6, 1);
+        hash.add("below", 1, -3);
+        hash.build();
+
+        List<Object> found = new ArrayList<>();
+        Assert.assertEquals(2, hash.queryRect(0, -1, 5, 2, found));
+        Assert.assertTrue(found.contains("inside"));
+        Assert.assertTrue(found.contains(7));
+
+        List<String> strings = new ArrayList<>();
+        Assert.assertEquals(1, hash.queryRect(0, -1, 5, 2, String.class, strings));
+        Assert.assertEquals("inside", strings.get(0));
+
+        strings.clear();
+        Assert.assertEquals(2, hash.queryRadius(0, 0, 3.5f, String.class, strings));
+        Assert.assertTrue(strings.contains("inside"));
+        Assert.assertTrue(strings.contains("below"));
+    }
+
+    /**
+     * Ensuring a nearest query returns the closest objects in order of distance, within the radius and of the type given
+     */
+    @Test
+    public void testQueryNearest() {
+        SpatialHash<Object> hash = new SpatialHash<>(2, 16);
+        hash.add("third", 5, 0);
+        hash.add("first", 0.5f, 0);
+        hash.add(1, 1, 1);
+        hash.add("second", 0, -3);
+        hash.add("distant", 40, 40);
+        hash.build();
+
+        List<Object> found = new ArrayList<>();
+        Assert.assertEquals(3, hash.queryNearest(0, 0, 3, 100, found));
+        Assert.assertEquals("first", found.get(0));
+        Assert.assertEquals(1, found.get(1));
+        Assert.assertEquals("second", found.get(2));
+
+        List<String> strings = new ArrayList<>();
+        Assert.assertEquals(3, hash.queryNearest(0, 0, 3, 100, String.class, strings));
+        Assert.assertEquals("first", strings.get(0));
+        Assert.assertEquals("second", strings.get(1));
+        Assert.assertEquals("third", strings.get(2));
+
+        // only what is within the radius is returned, however many are asked for
+        strings.clear();
+        Assert.assertEquals(2, hash.queryNearest(0, 0, 10, 4, String.class, strings));
+
+        Assert.assertEquals("distant", hash.queryNearest(39, 39, 100, String.class));
+        Assert.assertEquals(1, hash.queryNearest(1.2f, 1.2f, 100, Integer.class).intValue());
+        Assert.assertNull(hash.queryNearest(20, 20, 5, String.class));
+    }
+
+    /**
+     * Ensuring a query covering more cells than there are buckets still finds every object
+     */
+    @Test
+    public void testLargeQuery() {
+        SpatialHash<Integer> hash = new SpatialHash<>(1, 4);
+        for (int i = 0; i < 50; i++) {
+            hash.add(i, i, -i);
+        }
+        hash.build();
+
+        List<Integer> found = new ArrayList<>();
+        Assert.assertEquals(50, hash.queryRadius(0, 0, 100, found));
+    }
+
+    /**
+     * Ensuring the hash can be cleared and filled again, and cannot be queried until it is built
+     */
+    @Test
+    public void testRebuild() {
+        SpatialHash<String> hash = new SpatialHash<>(2, 16);
+        hash.add("old", 0, 0);
+        hash.build();
+        hash.clear();
+        hash.add("new", 0, 0);
+        try {
+            hash.queryRadius(0, 0, 1, new ArrayList<String>());
+            Assert.fail("The hash was queried before it was built");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        hash.build();
+
+        List<String> found = new ArrayList<>();
+        Assert.assertEquals(1, hash.queryRadius(0, 0, 1, found));
+        Assert.assertEquals("new", found.get(0));
+        Assert.assertEquals(1, hash.size());
+    }
+}